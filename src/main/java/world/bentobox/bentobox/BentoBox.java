@@ -15,10 +15,13 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.api.configuration.Config;
 import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
+import world.bentobox.bentobox.api.flags.FlagDecisionCache;
 import world.bentobox.bentobox.api.localization.TextVariables;
+import world.bentobox.bentobox.api.placeholders.PlaceholderCache;
 import world.bentobox.bentobox.api.user.Notifier;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.commands.BentoBoxCommand;
+import world.bentobox.bentobox.database.Database;
 import world.bentobox.bentobox.database.DatabaseSetup;
 import world.bentobox.bentobox.hooks.DynmapHook;
 import world.bentobox.bentobox.hooks.MultiverseCoreHook;
@@ -172,6 +175,12 @@ public class BentoBox extends JavaPlugin {
             hooksManager.registerHook(new PlaceholderAPIHook());
             // Setup the Placeholders manager
             placeholdersManager = new PlaceholdersManager(this);
+            // Placeholder value cache
+            if (settings.isPlaceholderCache()) {
+                PlaceholderCache placeholderCache = new PlaceholderCache(settings.getPlaceholderCacheExpiry());
+                placeholdersManager.setCache(placeholderCache);
+                getServer().getPluginManager().registerEvents(placeholderCache, this);
+            }
 
             // Enable addons
             addonsManager.enableAddons();
@@ -261,10 +270,18 @@ public class BentoBox extends JavaPlugin {
         // Island Delete Manager
         islandDeletionManager = new IslandDeletionManager(this);
         manager.registerEvents(islandDeletionManager, this);
+        // Protection check cache
+        if (settings.isProtectionCache()) {
+            FlagDecisionCache decisionCache = new FlagDecisionCache(settings.getProtectionCacheExpiry());
+            flagsManager.setDecisionCache(decisionCache);
+            manager.registerEvents(decisionCache, this);
+        }
     }
 
     @Override
     public void onDisable() {
+        // Write the saves that are waiting, and write the saves made from now on straight away
+        Database.flushAll();
         if (addonsManager != null) {
             addonsManager.disableAddons();
         }
@@ -275,6 +292,9 @@ public class BentoBox extends JavaPlugin {
         if (islandsManager != null) {
             islandsManager.shutdown();
         }
+        if (islandDeletionManager != null) {
+            islandDeletionManager.shutdown();
+        }
         // Close all async database tasks
         shutdown = true;
     }
@@ -1,6 +1,8 @@
 package world.bentobox.bentobox;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.bukkit.Material;
@@ -110,11 +112,53 @@ public class Settings implements ConfigObject {
     @ConfigEntry(path = "general.database.mongodb-connection-uri", since = "1.14.0")
     private String mongodbConnectionUri = "";
 
+    @ConfigComment("Time in ticks that saves are collected for before they are written to the database.")
+    @ConfigComment("An object that is saved many times during this time is only written once.")
+    @ConfigComment("Set to 0 to write every save straight away.")
+    @ConfigEntry(path = "general.database.save-window", since = "1.14.0")
+    private int databaseSaveWindow = 20;
+
+    @ConfigComment("Number of connections kept to MariaDB, MySQL and PostgreSQL databases.")
+    @ConfigComment("With more than one connection, loading data does not wait for saving to finish.")
+    @ConfigComment("Set to 1 to share a single connection.")
+    @ConfigEntry(path = "general.database.pool.size", since = "1.14.0")
+    private int databasePoolSize = 4;
+
+    @ConfigComment("Time in seconds that checking if a connection is still alive may take.")
+    @ConfigComment("Connections that are no longer alive, e.g. because the database server closed them, are replaced.")
+    @ConfigEntry(path = "general.database.pool.validation-timeout", since = "1.14.0")
+    private int databaseValidationTimeout = 5;
+
+    @ConfigComment("Time in seconds after which an unused connection is closed.")
+    @ConfigComment("Keep this lower than the time the database server keeps idle connections, e.g. wait_timeout for MySQL.")
+    @ConfigEntry(path = "general.database.pool.idle-timeout", since = "1.14.0")
+    private int databaseIdleTimeout = 600;
+
     @ConfigComment("Allow FTB Autonomous Activator to work (will allow a pseudo player [CoFH] to place and break blocks and hang items)")
     @ConfigComment("Add other fake player names here if required")
     @ConfigEntry(path = "general.fakeplayers", experimental = true)
     private Set<String> fakePlayers = new HashSet<>();
 
+    @ConfigComment("Cache the outcome of protection checks for each player.")
+    @ConfigComment("Cached outcomes are cleared when island ranks or flags change, and when the player goes to another island or world.")
+    @ConfigComment("Changes to the permissions of a player are taken into account after the expiry time below.")
+    @ConfigEntry(path = "general.protection-cache.enable", since = "1.14.0")
+    private boolean protectionCache = true;
+
+    @ConfigComment("Time in seconds that a cached protection check outcome is kept.")
+    @ConfigEntry(path = "general.protection-cache.expiry", since = "1.14.0")
+    private int protectionCacheExpiry = 5;
+
+    @ConfigComment("Cache the values of placeholders for each player.")
+    @ConfigComment("Cached values are cleared when an island or team event involves the player or their island.")
+    @ConfigEntry(path = "general.placeholder-cache.enable", since = "1.14.0")
+    private boolean placeholderCache = true;
+
+    @ConfigComment("Time in seconds that the value of each placeholder is kept, by placeholder name (without the gamemode prefix).")
+    @ConfigComment("Placeholders that are not listed are worked out every time.")
+    @ConfigEntry(path = "general.placeholder-cache.expiry", since = "1.14.0")
+    private Map<String, Integer> placeholderCacheExpiry = getDefaultPlaceholderCacheExpiry();
+
     /* PANELS */
 
     @ConfigComment("Toggle whether panels should be closed or not when the player clicks anywhere outside of the inventory view.")
@@ -258,6 +302,21 @@ public class Settings implements ConfigObject {
     @ConfigEntry(path = "island.deletion.keep-previous-island-on-reset", since = "1.13.0")
     private boolean keepPreviousIslandOnReset = false;
 
+    @ConfigComment("Number of islands that are deleted at the same time when purging.")
+    @ConfigComment("Each island is still deleted at the delete-speed, so greater values make purges finish sooner.")
+    @ConfigEntry(path = "island.deletion.purge-pipelines", since = "1.14.0")
+    private int purgePipelines = 4;
+
+    @ConfigComment("Maximum number of chunks that all island deletions together can regenerate in one tick.")
+    @ConfigComment("This stops many deletions running at the same time from lagging the server.")
+    @ConfigEntry(path = "island.deletion.max-chunks-per-tick", since = "1.14.0")
+    private int deleteChunksPerTick = 4;
+
+    @ConfigComment("Maximum number of milliseconds that island deletions can spend writing blocks in one tick.")
+    @ConfigComment("Chunks are regenerated a few blocks at a time until this time is up, and carry on the next tick.")
+    @ConfigEntry(path = "island.deletion.max-millis-per-tick", since = "1.14.0")
+    private int deleteMillisPerTick = 5;
+
     /* WEB */
     @ConfigComment("Toggle whether BentoBox can connect to GitHub to get data about updates and addons.")
     @ConfigComment("Disabling this will result in the deactivation of the update checker and of some other")
@@ -676,6 +735,60 @@ public class Settings implements ConfigObject {
         this.keepPreviousIslandOnReset = keepPreviousIslandOnReset;
     }
 
+    /**
+     * Returns the number of islands that are deleted at the same time when purging.
+     * @return the number of islands
+     * @since 1.14.0
+     */
+    public int getPurgePipelines() {
+        return purgePipelines;
+    }
+
+    /**
+     * Sets the number of islands that are deleted at the same time when purging.
+     * @param purgePipelines the number of islands
+     * @since 1.14.0
+     */
+    public void setPurgePipelines(int purgePipelines) {
+        this.purgePipelines = purgePipelines;
+    }
+
+    /**
+     * Returns the maximum number of chunks that all island deletions together can regenerate in one tick.
+     * @return the number of chunks
+     * @since 1.14.0
+     */
+    public int getDeleteChunksPerTick() {
+        return deleteChunksPerTick;
+    }
+
+    /**
+     * Sets the maximum number of chunks that all island deletions together can regenerate in one tick.
+     * @param deleteChunksPerTick the number of chunks
+     * @since 1.14.0
+     */
+    public void setDeleteChunksPerTick(int deleteChunksPerTick) {
+        this.deleteChunksPerTick = deleteChunksPerTick;
+    }
+
+    /**
+     * Returns the maximum number of milliseconds that island deletions can spend writing blocks in one tick.
+     * @return the number of milliseconds
+     * @since 1.14.0
+     */
+    public int getDeleteMillisPerTick() {
+        return deleteMillisPerTick;
+    }
+
+    /**
+     * Sets the maximum number of milliseconds that island deletions can spend writing blocks in one tick.
+     * @param deleteMillisPerTick the number of milliseconds
+     * @since 1.14.0
+     */
+    public void setDeleteMillisPerTick(int deleteMillisPerTick) {
+        this.deleteMillisPerTick = deleteMillisPerTick;
+    }
+
     /**
      * Returns a MongoDB client connection URI to override default connection options.
      *
@@ -713,4 +826,145 @@ public class Settings implements ConfigObject {
     public void setPanelFillerMaterial(Material panelFillerMaterial) {
         this.panelFillerMaterial = panelFillerMaterial;
     }
+
+    /**
+     * @return true if protection check outcomes should be cached
+     * @since 1.14.0
+     */
+    public boolean isProtectionCache() {
+        return protectionCache;
+    }
+
+    /**
+     * @param protectionCache true if protection check outcomes should be cached
+     * @since 1.14.0
+     */
+    public void setProtectionCache(boolean protectionCache) {
+        this.protectionCache = protectionCache;
+    }
+
+    /**
+     * @return time in seconds that a cached protection check outcome is kept
+     * @since 1.14.0
+     */
+    public int getProtectionCacheExpiry() {
+        return protectionCacheExpiry;
+    }
+
+    /**
+     * @param protectionCacheExpiry time in seconds that a cached protection check outcome is kept
+     * @since 1.14.0
+     */
+    public void setProtectionCacheExpiry(int protectionCacheExpiry) {
+        this.protectionCacheExpiry = protectionCacheExpiry;
+    }
+
+    /**
+     * @return time in ticks that saves are collected for before they are written to the database
+     * @since 1.14.0
+     */
+    public int getDatabaseSaveWindow() {
+        return databaseSaveWindow;
+    }
+
+    /**
+     * @param databaseSaveWindow time in ticks that saves are collected for before they are written to the database
+     * @since 1.14.0
+     */
+    public void setDatabaseSaveWindow(int databaseSaveWindow) {
+        this.databaseSaveWindow = databaseSaveWindow;
+    }
+
+    /**
+     * @return number of connections kept to SQL databases
+     * @since 1.14.0
+     */
+    public int getDatabasePoolSize() {
+        return databasePoolSize;
+    }
+
+    /**
+     * @param databasePoolSize number of connections kept to SQL databases
+     * @since 1.14.0
+     */
+    public void setDatabasePoolSize(int databasePoolSize) {
+        this.databasePoolSize = databasePoolSize;
+    }
+
+    /**
+     * @return time in seconds that checking if a connection is still alive may take
+     * @since 1.14.0
+     */
+    public int getDatabaseValidationTimeout() {
+        return databaseValidationTimeout;
+    }
+
+    /**
+     * @param databaseValidationTimeout time in seconds that checking if a connection is still alive may take
+     * @since 1.14.0
+     */
+    public void setDatabaseValidationTimeout(int databaseValidationTimeout) {
+        this.databaseValidationTimeout = databaseValidationTimeout;
+    }
+
+    /**
+     * @return time in seconds after which an unused database connection is closed
+     * @since 1.14.0
+     */
+    public int getDatabaseIdleTimeout() {
+        return databaseIdleTimeout;
+    }
+
+    /**
+     * @param databaseIdleTimeout time in seconds after which an unused database connection is closed
+     * @since 1.14.0
+     */
+    public void setDatabaseIdleTimeout(int databaseIdleTimeout) {
+        this.databaseIdleTimeout = databaseIdleTimeout;
+    }
+
+    private static Map<String, Integer> getDefaultPlaceholderCacheExpiry() {
+        Map<String, Integer> expiry = new HashMap<>();
+        expiry.put("world_islands", 10);
+        expiry.put("island_owner", 30);
+        expiry.put("island_members_max", 10);
+        expiry.put("island_members_list", 30);
+        expiry.put("island_visitors_count", 2);
+        expiry.put("visited_island_owner", 5);
+        expiry.put("visited_island_members_max", 10);
+        expiry.put("visited_island_members_list", 10);
+        return expiry;
+    }
+
+    /**
+     * @return true if the values of placeholders should be cached
+     * @since 1.14.0
+     */
+    public boolean isPlaceholderCache() {
+        return placeholderCache;
+    }
+
+    /**
+     * @param placeholderCache true if the values of placeholders should be cached
+     * @since 1.14.0
+     */
+    public void setPlaceholderCache(boolean placeholderCache) {
+        this.placeholderCache = placeholderCache;
+    }
+
+    /**
+     * @return time in seconds that the value of each placeholder is kept, by placeholder name
+     * @since 1.14.0
+     */
+    public Map<String, Integer> getPlaceholderCacheExpiry() {
+        return placeholderCacheExpiry;
+    }
+
+    /**
+     * @param placeholderCacheExpiry time in seconds that the value of each placeholder is kept, by placeholder name
+     * @since 1.14.0
+     */
+    public void setPlaceholderCacheExpiry(Map<String, Integer> placeholderCacheExpiry) {
+        this.placeholderCacheExpiry = placeholderCacheExpiry;
+    }
 }
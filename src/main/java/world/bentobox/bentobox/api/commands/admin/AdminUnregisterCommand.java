@@ -1,6 +1,7 @@
 package world.bentobox.bentobox.api.commands.admin;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -80,7 +81,7 @@ public class AdminUnregisterCommand extends ConfirmableCommand {
             getPlayers().clearHomeLocations(getWorld(), m);
         });
         // Remove all island players that reference this island
-        oldIsland.getMembers().clear();
+        oldIsland.setMembers(new HashMap<>());
         getIslands().save(oldIsland);
         user.sendMessage("commands.admin.unregister.unregistered-island", "[xyz]", Util.xyz(oldIsland.getCenter().toVector()),
                 TextVariables.NAME, targetName);
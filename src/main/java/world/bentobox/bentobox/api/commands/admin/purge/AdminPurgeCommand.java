@@ -1,18 +1,20 @@
 package world.bentobox.bentobox.api.commands.admin.purge;
 
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 
-import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.commands.CompositeCommand;
 import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent;
 import world.bentobox.bentobox.api.localization.TextVariables;
@@ -22,7 +24,12 @@ import world.bentobox.bentobox.database.objects.Island;
 public class AdminPurgeCommand extends CompositeCommand implements Listener {
 
     private int count;
+    /**
+     * Centers of the purged islands whose chunks are being deleted right now
+     */
+    private Set<Location> inFlight = new HashSet<>();
     private boolean inPurge;
+    private boolean searching;
     private boolean toBeConfirmed;
     private Iterator<String> it;
     private User user;
@@ -47,7 +54,7 @@ public class AdminPurgeCommand extends CompositeCommand implements Listener {
 
     @Override
     public boolean canExecute(User user, String label, List<String> args) {
-        if (inPurge) {
+        if (inPurge || searching) {
             user.sendMessage("commands.admin.purge.purge-in-progress", TextVariables.LABEL, this.getTopLabel());
             return false;
         }
@@ -75,14 +82,28 @@ public class AdminPurgeCommand extends CompositeCommand implements Listener {
                 user.sendMessage("commands.admin.purge.days-one-or-more");
                 return false;
             }
-            islands = getOldIslands(days);
-            user.sendMessage("commands.admin.purge.purgable-islands", TextVariables.NUMBER, String.valueOf(islands.size()));
-            if (!islands.isEmpty()) {
-                toBeConfirmed = true;
-                user.sendMessage("commands.admin.purge.confirm", TextVariables.LABEL, this.getTopLabel());
-                return false;
-            }
+            // Islands can only be read on the main thread
+            Map<String, UUID> owners = getPurgeableOwners();
+            // Looking up when owners last logged in can read every player's data, so do it off the main thread
+            searching = true;
+            Bukkit.getScheduler().runTaskAsynchronously(getPlugin(), () -> {
+                Map<String, Long> oldIslands = getOldIslands(owners, days);
+                Bukkit.getScheduler().runTask(getPlugin(), () -> {
+                    searching = false;
+                    long now = System.currentTimeMillis();
+                    oldIslands.forEach((id, lastLogin) -> getPlugin().log("Will purge "
+                            + getPlugin().getPlayers().getName(owners.get(id)) + " last logged in "
+                            + (int)daysAway(now, lastLogin) + " days ago. " + new Date(lastLogin)));
+                    islands = new HashSet<>(oldIslands.keySet());
+                    user.sendMessage("commands.admin.purge.purgable-islands", TextVariables.NUMBER, String.valueOf(islands.size()));
+                    if (!islands.isEmpty()) {
+                        toBeConfirmed = true;
+                        user.sendMessage("commands.admin.purge.confirm", TextVariables.LABEL, this.getTopLabel());
+                    }
+                });
+            });
         } catch(Exception e) {
+            searching = false;
             user.sendMessage("commands.admin.purge.number-error");
             return false;
         }
@@ -94,55 +115,83 @@ public class AdminPurgeCommand extends CompositeCommand implements Listener {
         user.sendMessage("commands.admin.purge.see-console-for-status", TextVariables.LABEL, this.getTopLabel());
         it = islands.iterator();
         count = 0;
-        // Delete first island
-        deleteIsland();
+        inFlight.clear();
+        // Delete the first islands
+        deleteIslands();
     }
 
-    private void deleteIsland() {
-        if (it.hasNext()) {
+    /**
+     * Starts deleting islands until as many are being deleted as the settings allow
+     */
+    private void deleteIslands() {
+        int pipelines = Math.max(1, getSettings().getPurgePipelines());
+        while (inPurge && inFlight.size() < pipelines && it.hasNext()) {
             getIslands().getIslandById(it.next()).ifPresent(i -> {
+                Location center = i.getCenter();
+                inFlight.add(center);
                 getIslands().deleteIsland(i, true, null);
+                if (!i.isDeleted()) {
+                    // The deletion was cancelled
+                    inFlight.remove(center);
+                    return;
+                }
                 count++;
                 String percentage = String.format("%.1f", (((float) count)/getPurgeableIslandsCount() * 100));
                 getPlugin().log(count + " islands purged out of " + getPurgeableIslandsCount() + " (" + percentage + " %)");
             });
-        } else {
+        }
+        if (inPurge && inFlight.isEmpty() && !it.hasNext()) {
             user.sendMessage("commands.admin.purge.completed");
             inPurge = false;
         }
-
     }
 
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     void onIslandDeleted(IslandDeletedEvent e) {
-        if (inPurge) {
-            deleteIsland();
+        // Only the deletions of purged islands free up a pipeline
+        if (inPurge && inFlight.remove(e.getDeletedIslandInfo().getLocation())) {
+            deleteIslands();
+        }
+    }
+
+    /**
+     * Gets the owners of the islands in this world that are purged if their owners have been away too long.
+     * This reads the islands, so it must be called on the main thread.
+     * @return owner of each island, by island unique id
+     */
+    Map<String, UUID> getPurgeableOwners() {
+        Map<String, UUID> result = new HashMap<>();
+        for (Island i : getPlugin().getIslands().getIslands()) {
+            if (i.isSpawn() || i.getPurgeProtected() || !i.getWorld().equals(this.getWorld()) || !i.isOwned()
+                    || i.getMembers().size() != 1) {
+                continue;
+            }
+            result.put(i.getUniqueId(), i.getOwner());
         }
+        return result;
     }
 
-    Set<String> getOldIslands(int days) {
-        getPlugin().getIslands().getIslands().stream()
-        .filter(i -> !i.isSpawn())
-        .filter(i -> !i.getPurgeProtected())
-        .filter(i -> i.getWorld().equals(this.getWorld()))
-        .filter(Island::isOwned)
-        .filter(i -> i.getMembers().size() == 1)
-        .filter(i -> ((double)(System.currentTimeMillis() - Bukkit.getOfflinePlayer(i.getOwner()).getLastPlayed()) / 1000 / 3600 / 24) > days)
-        .forEach(i -> {
-            Date date = new Date(Bukkit.getOfflinePlayer(i.getOwner()).getLastPlayed());
-            BentoBox.getInstance().log("Will purge " +
-                    BentoBox.getInstance().getPlayers().getName(i.getOwner()) +
-                    " last logged in " + (int)((double)(System.currentTimeMillis() - Bukkit.getOfflinePlayer(i.getOwner()).getLastPlayed()) / 1000 / 3600 / 24) + " days ago. " + date);
+    /**
+     * Finds the islands whose owners have not logged in for a number of days, in one pass.
+     * This can be called from any thread.
+     * @param owners - owner of each island, by island unique id, see {@link #getPurgeableOwners()}
+     * @param days - number of days
+     * @return when the owner last logged in, by unique id of the islands to purge
+     */
+    Map<String, Long> getOldIslands(Map<String, UUID> owners, int days) {
+        long now = System.currentTimeMillis();
+        Map<String, Long> result = new HashMap<>();
+        owners.forEach((id, owner) -> {
+            long lastLogin = getPlugin().getPlayers().getLastLogin(owner);
+            if (daysAway(now, lastLogin) > days) {
+                result.put(id, lastLogin);
+            }
         });
-        return getPlugin().getIslands().getIslands().stream()
-                .filter(i -> !i.isSpawn())
-                .filter(i -> !i.getPurgeProtected())
-                .filter(i -> i.getWorld().equals(this.getWorld()))
-                .filter(Island::isOwned)
-                .filter(i -> i.getMembers().size() == 1)
-                .filter(i -> ((double)(System.currentTimeMillis() - Bukkit.getOfflinePlayer(i.getOwner()).getLastPlayed()) / 1000 / 3600 / 24) > days)
-                .map(Island::getUniqueId)
-                .collect(Collectors.toSet());
+        return result;
+    }
+
+    private double daysAway(long now, long lastLogin) {
+        return (double)(now - lastLogin) / 1000 / 3600 / 24;
     }
 
     /**
@@ -157,6 +206,7 @@ public class AdminPurgeCommand extends CompositeCommand implements Listener {
      */
     void stop() {
         inPurge = false;
+        inFlight.clear();
     }
 
     /**
@@ -1,7 +1,8 @@
 package world.bentobox.bentobox.api.commands.island;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -38,6 +39,11 @@ public class IslandCreateCommand extends CompositeCommand {
 
     @Override
     public boolean canExecute(User user, String label, List<String> args) {
+        // Check if an island is already being made
+        if (getIslands().isCreating(user.getUniqueId())) {
+            user.sendMessage("commands.island.create.creating-island");
+            return false;
+        }
         // Check if the island is reserved
         @Nullable
         Island island = getIslands().getIsland(getWorld(), user);
@@ -87,21 +93,22 @@ public class IslandCreateCommand extends CompositeCommand {
 
     private boolean makeIsland(User user, String name) {
         user.sendMessage("commands.island.create.creating-island");
-        try {
-            NewIsland.builder()
-            .player(user)
-            .addon(getAddon())
-            .reason(Reason.CREATE)
-            .name(name)
-            .build();
-        } catch (IOException e) {
-            getPlugin().logError("Could not create island for player. " + e.getMessage());
-            user.sendMessage(e.getMessage());
-            return false;
-        }
-        if (getSettings().isResetCooldownOnCreate()) {
-            getParent().getSubCommand("reset").ifPresent(resetCommand -> resetCommand.setCooldown(user.getUniqueId(), getSettings().getResetCooldown()));
-        }
-        return true;
+        // The island may be made later, if a free spot has to be looked for
+        CompletableFuture<Island> created = NewIsland.builder()
+                .player(user)
+                .addon(getAddon())
+                .reason(Reason.CREATE)
+                .name(name)
+                .buildAsync();
+        created.whenComplete((island, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                getPlugin().logError("Could not create island for player. " + cause.getMessage());
+                user.sendMessage(cause.getMessage());
+            } else if (getSettings().isResetCooldownOnCreate()) {
+                getParent().getSubCommand("reset").ifPresent(resetCommand -> resetCommand.setCooldown(user.getUniqueId(), getSettings().getResetCooldown()));
+            }
+        });
+        return !created.isCompletedExceptionally();
     }
 }
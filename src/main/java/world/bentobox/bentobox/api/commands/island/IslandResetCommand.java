@@ -1,7 +1,8 @@
 package world.bentobox.bentobox.api.commands.island;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
@@ -55,6 +56,11 @@ public class IslandResetCommand extends ConfirmableCommand {
         if (getSettings().getResetCooldown() > 0 && checkCooldown(user)) {
             return false;
         }
+        // Check if a new island is already being made
+        if (getIslands().isCreating(user.getUniqueId())) {
+            user.sendMessage("commands.island.create.creating-island");
+            return false;
+        }
         if (!getIslands().hasIsland(getWorld(), user.getUniqueId())) {
             user.sendMessage("general.errors.no-island");
             return false;
@@ -140,23 +146,25 @@ public class IslandResetCommand extends ConfirmableCommand {
         // Reset the homes of the player
         getPlayers().clearHomeLocations(getWorld(), user.getUniqueId());
 
-        // Create new island and then delete the old one
-        try {
-            Builder builder = NewIsland.builder()
-                    .player(user)
-                    .reason(Reason.RESET)
-                    .addon(getAddon())
-                    .oldIsland(oldIsland)
-                    .name(name);
-            if (noPaste) builder.noPaste();
-            builder.build();
-        } catch (IOException e) {
-            getPlugin().logError("Could not create island for player. " + e.getMessage());
-            user.sendMessage(e.getMessage());
-            return false;
-        }
-        setCooldown(user.getUniqueId(), getSettings().getResetCooldown());
-        return true;
+        // Create new island and then delete the old one. It may be made later, if a free spot has to be looked for.
+        Builder builder = NewIsland.builder()
+                .player(user)
+                .reason(Reason.RESET)
+                .addon(getAddon())
+                .oldIsland(oldIsland)
+                .name(name);
+        if (noPaste) builder.noPaste();
+        CompletableFuture<Island> created = builder.buildAsync();
+        created.whenComplete((island, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                getPlugin().logError("Could not create island for player. " + cause.getMessage());
+                user.sendMessage(cause.getMessage());
+            } else {
+                setCooldown(user.getUniqueId(), getSettings().getResetCooldown());
+            }
+        });
+        return !created.isCompletedExceptionally();
     }
 
     /**
@@ -0,0 +1,291 @@
+package world.bentobox.bentobox.api.flags;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A map keyed by flags that keeps the value of each registered flag in an array slot indexed by
+ * {@link Flag#getOrdinal()}. Flags that are not registered, and null values, are kept in a plain {@link HashMap}.
+ * <p>
+ * It behaves like a {@link HashMap}, so it can be serialized and handed out like one. It is not thread-safe, but
+ * reads do not change it, so it can be read from other threads as long as it is only changed on the main thread.
+ * @param <V> value type
+ * @author tastybento
+ * @since 1.14.0
+ */
+public abstract class AbstractFlagMap<V> extends AbstractMap<Flag, V> {
+
+    /**
+     * Incremented each time the ordinal of a flag changes. A map lays out its slots again when it is next changed,
+     * or when {@link #relayout()} is called, if this has changed.
+     */
+    private static final AtomicInteger ordinalChanges = new AtomicInteger();
+
+    private Flag[] keys = new Flag[0];
+    private int size;
+    private int layout = ordinalChanges.get();
+    /**
+     * Entries that do not have a slot
+     */
+    private final Map<Flag, V> others = new HashMap<>();
+    private Set<Entry<Flag, V>> entrySet;
+
+    /**
+     * Called by {@link Flag#setOrdinal(int)} when the ordinal of a flag changes
+     */
+    static void ordinalChanged() {
+        ordinalChanges.incrementAndGet();
+    }
+
+    /**
+     * Get the value in a slot
+     * @param slot - slot
+     * @return boxed value
+     */
+    protected abstract V value(int slot);
+
+    /**
+     * Set the value in a slot
+     * @param slot - slot
+     * @param value - value, not null
+     */
+    protected abstract void value(int slot, @NonNull V value);
+
+    /**
+     * Make the value array at least this long
+     * @param length - length
+     */
+    protected abstract void grow(int length);
+
+    /**
+     * Get the slot that holds the value of this flag
+     * @param key - flag
+     * @return slot or -1 if the value of this flag is not in a slot
+     */
+    protected int slot(@Nullable Object key) {
+        if (!(key instanceof Flag)) {
+            return -1;
+        }
+        int o = ((Flag) key).getOrdinal();
+        if (o >= 0 && o < keys.length && key.equals(keys[o])) {
+            return o;
+        }
+        if (o < 0 || layout != ordinalChanges.get()) {
+            // The flag is not registered, or was in another slot when the slots were laid out, so look for it by ID
+            for (int i = 0; i < keys.length; i++) {
+                if (key.equals(keys[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Make a slot for a flag that does not have one
+     * @param flag - flag
+     * @return slot or -1 if this flag cannot have a slot
+     */
+    private int claim(@NonNull Flag flag) {
+        int o = flag.getOrdinal();
+        if (o < 0 || (o < keys.length && keys[o] != null)) {
+            return -1;
+        }
+        if (o >= keys.length) {
+            int length = Math.max(o + 1, keys.length * 2);
+            keys = Arrays.copyOf(keys, length);
+            grow(length);
+        }
+        keys[o] = flag;
+        size++;
+        return o;
+    }
+
+    /**
+     * Puts every entry in the slot that matches the current ordinal of its flag, if any ordinals have changed since
+     * the slots were laid out. Entries are found without this, but more slowly. It changes the map, so it must be
+     * called on the main thread.
+     */
+    public void relayout() {
+        if (layout == ordinalChanges.get()) {
+            return;
+        }
+        layout = ordinalChanges.get();
+        List<Entry<Flag, V>> entries = new ArrayList<>(size());
+        for (Entry<Flag, V> en : entrySet()) {
+            entries.add(new SimpleEntry<>(en));
+        }
+        clear();
+        entries.forEach(en -> put(en.getKey(), en.getValue()));
+    }
+
+    @Override
+    public V get(Object key) {
+        int slot = slot(key);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        return others.isEmpty() ? null : others.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slot(key) >= 0 || (!others.isEmpty() && others.containsKey(key));
+    }
+
+    @Override
+    public V put(Flag key, V value) {
+        relayout();
+        if (value != null) {
+            int slot = slot(key);
+            if (slot >= 0) {
+                V old = value(slot);
+                value(slot, value);
+                return old;
+            }
+            slot = claim(key);
+            if (slot >= 0) {
+                value(slot, value);
+                return others.isEmpty() ? null : others.remove(key);
+            }
+        }
+        V old = removeSlot(slot(key));
+        V other = others.put(key, value);
+        return old == null ? other : old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int slot = slot(key);
+        if (slot >= 0) {
+            return removeSlot(slot);
+        }
+        return others.isEmpty() ? null : others.remove(key);
+    }
+
+    private V removeSlot(int slot) {
+        if (slot < 0) {
+            return null;
+        }
+        V old = value(slot);
+        keys[slot] = null;
+        size--;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+        others.clear();
+    }
+
+    @Override
+    public int size() {
+        return size + others.size();
+    }
+
+    @Override
+    public Set<Entry<Flag, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<Flag, V>>() {
+                @Override
+                public Iterator<Entry<Flag, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return AbstractFlagMap.this.size();
+                }
+
+                @Override
+                public void clear() {
+                    AbstractFlagMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private class EntryIterator implements Iterator<Entry<Flag, V>> {
+        private int next = -1;
+        private int last = -1;
+        private Iterator<Entry<Flag, V>> rest;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            do {
+                next++;
+            } while (next < keys.length && keys[next] == null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length || (rest == null ? !others.isEmpty() : rest.hasNext());
+        }
+
+        @Override
+        public Entry<Flag, V> next() {
+            if (next < keys.length) {
+                last = next;
+                advance();
+                return new SlotEntry(last);
+            }
+            last = -1;
+            if (rest == null) {
+                rest = others.entrySet().iterator();
+            }
+            if (!rest.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return rest.next();
+        }
+
+        @Override
+        public void remove() {
+            if (last >= 0) {
+                removeSlot(last);
+                last = -1;
+            } else if (rest != null) {
+                rest.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private class SlotEntry extends SimpleEntry<Flag, V> {
+        private static final long serialVersionUID = 1L;
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            super(keys[slot], value(slot));
+            this.slot = slot;
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (value == null) {
+                throw new NullPointerException("Flag values in slots cannot be null");
+            }
+            AbstractFlagMap.this.value(slot, value);
+            return super.setValue(value);
+        }
+    }
+}
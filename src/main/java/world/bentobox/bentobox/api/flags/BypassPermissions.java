@@ -0,0 +1,143 @@
+package world.bentobox.bentobox.api.flags;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Table of the bypass permission nodes of each game mode and flag.
+ * <p>
+ * Protection checks happen on almost every event, so the permission nodes are built once,
+ * when game modes and flags are registered, instead of being concatenated for every check.
+ * Nodes that were not built in advance are built and stored the first time they are asked for.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public final class BypassPermissions {
+
+    /**
+     * Permission prefix with the dot, e.g. "bskyblock.", by game mode permission prefix
+     */
+    private static final Map<@NonNull String, @NonNull String> PREFIXES = new ConcurrentHashMap<>();
+    /**
+     * Nodes by permission prefix with the dot
+     */
+    private static final Map<@NonNull String, @NonNull Nodes> NODES = new ConcurrentHashMap<>();
+
+    /**
+     * The nodes for one permission prefix
+     */
+    private static class Nodes {
+        private final String prefix;
+        private final String protect;
+        private final String ban;
+        private final String lock;
+        /**
+         * Everywhere and island bypass nodes by flag ID
+         */
+        private final Map<@NonNull String, @NonNull String[]> flags = new ConcurrentHashMap<>();
+
+        private Nodes(String prefix) {
+            this.prefix = prefix;
+            protect = (prefix + "mod.bypassprotect").intern();
+            ban = (prefix + "mod.bypassban").intern();
+            lock = (prefix + "mod.bypasslock").intern();
+        }
+
+        private String[] get(String id) {
+            // String.valueOf gives the same node as a string concatenation would if there is no ID
+            return flags.computeIfAbsent(String.valueOf(id), this::build);
+        }
+
+        private String[] build(String id) {
+            return new String[] {
+                    (prefix + "mod.bypass." + id + ".everywhere").intern(),
+                    (prefix + "mod.bypass." + id + ".island").intern()
+            };
+        }
+    }
+
+    private BypassPermissions() {}
+
+    private static Nodes getNodes(String prefix) {
+        // String.valueOf gives the same nodes as a string concatenation would if there is no prefix
+        return NODES.computeIfAbsent(String.valueOf(prefix), Nodes::new);
+    }
+
+    /**
+     * Get the permission prefix followed by a dot, e.g. "bskyblock." for "bskyblock"
+     * @param permissionPrefix - permission prefix of the game mode
+     * @return permission prefix with a dot
+     */
+    @NonNull
+    public static String prefix(@NonNull String permissionPrefix) {
+        return PREFIXES.computeIfAbsent(String.valueOf(permissionPrefix), p -> (p + ".").intern());
+    }
+
+    /**
+     * Builds the nodes of these flags for this permission prefix
+     * @param prefix - permission prefix, including the dot, e.g. "bskyblock."
+     * @param flags - flags
+     */
+    public static void register(@NonNull String prefix, @NonNull Collection<Flag> flags) {
+        Nodes nodes = getNodes(prefix);
+        flags.forEach(f -> nodes.get(f.getID()));
+    }
+
+    /**
+     * Builds the nodes of this flag for every permission prefix registered so far
+     * @param flag - flag
+     */
+    public static void register(@NonNull Flag flag) {
+        NODES.values().forEach(n -> n.get(flag.getID()));
+    }
+
+    /**
+     * @param prefix - permission prefix, including the dot, e.g. "bskyblock."
+     * @return the node to bypass all protections, e.g. "bskyblock.mod.bypassprotect"
+     */
+    @NonNull
+    public static String getBypassProtect(@NonNull String prefix) {
+        return getNodes(prefix).protect;
+    }
+
+    /**
+     * @param prefix - permission prefix, including the dot, e.g. "bskyblock."
+     * @return the node to bypass island bans, e.g. "bskyblock.mod.bypassban"
+     */
+    @NonNull
+    public static String getBypassBan(@NonNull String prefix) {
+        return getNodes(prefix).ban;
+    }
+
+    /**
+     * @param prefix - permission prefix, including the dot, e.g. "bskyblock."
+     * @return the node to bypass island locks, e.g. "bskyblock.mod.bypasslock"
+     */
+    @NonNull
+    public static String getBypassLock(@NonNull String prefix) {
+        return getNodes(prefix).lock;
+    }
+
+    /**
+     * @param prefix - permission prefix, including the dot, e.g. "bskyblock."
+     * @param flag - flag
+     * @return the node to bypass this flag everywhere, e.g. "bskyblock.mod.bypass.BREAK_BLOCKS.everywhere"
+     */
+    @NonNull
+    public static String getBypassEverywhere(@NonNull String prefix, @NonNull Flag flag) {
+        return getNodes(prefix).get(flag.getID())[0];
+    }
+
+    /**
+     * @param prefix - permission prefix, including the dot, e.g. "bskyblock."
+     * @param flag - flag
+     * @return the node to bypass this flag on islands, e.g. "bskyblock.mod.bypass.BREAK_BLOCKS.island"
+     */
+    @NonNull
+    public static String getBypassIsland(@NonNull String prefix, @NonNull Flag flag) {
+        return getNodes(prefix).get(flag.getID())[1];
+    }
+}
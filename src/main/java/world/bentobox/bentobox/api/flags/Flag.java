@@ -131,6 +131,10 @@ public class Flag implements Comparable<Flag> {
     private final Addon addon;
     private final int cooldown;
     private final Mode mode;
+    /**
+     * Index of this flag in the flags manager, or -1 if it is not registered
+     */
+    private int ordinal = -1;
 
     private Flag(Builder builder) {
         this.id = builder.id;
@@ -175,6 +179,16 @@ public class Flag implements Comparable<Flag> {
      * If world is not a game world, then the result will always be false!
      */
     public boolean isSetForWorld(World world) {
+        WorldFlagTable table = ordinal < 0 ? null : BentoBox.getInstance().getIWM().getFlagTable(world);
+        if (table != null) {
+            if (!type.equals(Type.WORLD_SETTING) && !type.equals(Type.PROTECTION)) {
+                return setting;
+            }
+            int s = table.get(ordinal);
+            if (s != WorldFlagTable.UNKNOWN) {
+                return s == WorldFlagTable.SET;
+            }
+        }
         WorldSettings ws = BentoBox.getInstance().getIWM().getWorldSettings(world);
         if (ws == null) return false;
         if (type.equals(Type.WORLD_SETTING) || type.equals(Type.PROTECTION)) {
@@ -183,7 +197,11 @@ public class Flag implements Comparable<Flag> {
                 // Save config file
                 BentoBox.getInstance().getIWM().getAddon(world).ifPresent(GameModeAddon::saveWorldSettings);
             }
-            return ws.getWorldFlags().get(getID());
+            boolean result = ws.getWorldFlags().get(getID());
+            if (table != null) {
+                table.put(ordinal, result);
+            }
+            return result;
         }
         return setting;
     }
@@ -200,6 +218,8 @@ public class Flag implements Comparable<Flag> {
             .getWorldSettings(world)
             .getWorldFlags()
             .put(getID(), setting);
+            putInTable(world, setting);
+            FlagDecisionCache.invalidateAll();
             // Save config file
             BentoBox.getInstance().getIWM().getAddon(world).ifPresent(GameModeAddon::saveWorldSettings);
         }
@@ -212,6 +232,7 @@ public class Flag implements Comparable<Flag> {
      */
     public void setDefaultSetting(boolean defaultSetting) {
         this.setting = defaultSetting;
+        FlagDecisionCache.invalidateAll();
     }
 
     /**
@@ -226,10 +247,41 @@ public class Flag implements Comparable<Flag> {
             return;
         }
         ws.getWorldFlags().put(getID(), defaultSetting);
+        putInTable(world, defaultSetting);
+        FlagDecisionCache.invalidateAll();
         // Save config file
         BentoBox.getInstance().getIWM().getAddon(world).ifPresent(GameModeAddon::saveWorldSettings);
     }
 
+    private void putInTable(World world, boolean setting) {
+        WorldFlagTable table = ordinal < 0 ? null : BentoBox.getInstance().getIWM().getFlagTable(world);
+        if (table != null) {
+            table.put(ordinal, setting);
+        }
+    }
+
+    /**
+     * Get the index of this flag in the flags manager. Registered flags are numbered from 0 up, so the index
+     * can be used to store something for each flag in an array.
+     * @return the ordinal, or -1 if this flag is not registered
+     * @since 1.14.0
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Set the index of this flag in the flags manager. Only the flags manager should call this.
+     * @param ordinal the ordinal, or -1 if this flag is not registered
+     * @since 1.14.0
+     */
+    public void setOrdinal(int ordinal) {
+        if (this.ordinal != ordinal) {
+            this.ordinal = ordinal;
+            AbstractFlagMap.ordinalChanged();
+        }
+    }
+
     /**
      * @return the type
      */
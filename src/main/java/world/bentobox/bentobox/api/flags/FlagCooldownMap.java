@@ -0,0 +1,57 @@
+package world.bentobox.bentobox.api.flags;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * The times at which the flag cooldowns of an island end, kept as primitive longs in an array indexed by
+ * {@link Flag#getOrdinal()}.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class FlagCooldownMap extends AbstractFlagMap<Long> {
+
+    private long[] times = new long[0];
+
+    public FlagCooldownMap() {
+        // Empty
+    }
+
+    /**
+     * @param map - map to copy
+     */
+    public FlagCooldownMap(@NonNull Map<Flag, Long> map) {
+        putAll(map);
+    }
+
+    /**
+     * Get the time at which the cooldown of a flag ends
+     * @param flag - flag
+     * @return time in milliseconds, or 0 if the flag has no cooldown
+     */
+    public long getTime(@NonNull Flag flag) {
+        int slot = slot(flag);
+        if (slot >= 0) {
+            return times[slot];
+        }
+        Long time = get(flag);
+        return time == null ? 0 : time;
+    }
+
+    @Override
+    protected Long value(int slot) {
+        return times[slot];
+    }
+
+    @Override
+    protected void value(int slot, @NonNull Long value) {
+        times[slot] = value;
+    }
+
+    @Override
+    protected void grow(int length) {
+        times = Arrays.copyOf(times, length);
+    }
+}
@@ -0,0 +1,198 @@
+package world.bentobox.bentobox.api.flags;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.ServerCommandEvent;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.common.collect.ImmutableSet;
+
+import world.bentobox.bentobox.api.flags.FlagListener.Why;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * Caches the outcome of protection checks done by {@link FlagListener} for each player.
+ * <p>
+ * A player only has cached outcomes for one island (or for the world outside islands) at a time,
+ * so they are dropped when the player goes somewhere else. All outcomes are dropped when an island's
+ * owner, ranks or flags change, or when a world setting changes. A player's outcomes are dropped when they
+ * are opped or deopped, or run a command. All outcomes are dropped when a command of a common permissions
+ * plugin is run. Outcomes also expire after a while so that permission changes made in other ways are
+ * taken into account.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class FlagDecisionCache implements Listener {
+
+    /**
+     * Incremented each time cached outcomes may have become wrong
+     */
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Commands of common permissions plugins, which can change the permissions of any player
+     */
+    private static final Set<String> PERMISSION_COMMANDS = ImmutableSet.of("lp", "luckperms", "perm", "perms",
+            "permission", "permissions", "pex", "permissionsex", "manuadd", "manudel", "manuaddp", "manudelp",
+            "manuaddsub", "manudelsub", "mangaddp", "mangdelp", "manpromote", "mandemote", "upc", "zperms");
+
+    private final Map<@NonNull UUID, @NonNull Decisions> cache = new ConcurrentHashMap<>();
+    private final long expiry;
+
+    /**
+     * Outcomes for one player at one place
+     */
+    private static class Decisions {
+        private final Island island;
+        private final World world;
+        private final boolean op;
+        private final int generation;
+        private final long expires;
+        private final Map<@NonNull Flag, @NonNull Why> whys = new ConcurrentHashMap<>();
+
+        private Decisions(@Nullable Island island, @NonNull World world, boolean op, int generation, long expires) {
+            this.island = island;
+            this.world = world;
+            this.op = op;
+            this.generation = generation;
+            this.expires = expires;
+        }
+
+        private boolean isValid(@Nullable Island island, @NonNull World world, boolean op, int generation, long now) {
+            return this.island == island && this.world == world && this.op == op && this.generation == generation
+                    && now < expires;
+        }
+    }
+
+    /**
+     * @param expiry - time in seconds that an outcome is kept
+     */
+    public FlagDecisionCache(int expiry) {
+        this.expiry = expiry * 1000L;
+    }
+
+    /**
+     * Makes all cached outcomes invalid. Call this whenever island owners, island ranks, island flags, world settings
+     * or permissions change.
+     */
+    public static void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Removes the cached outcomes of this player
+     * @param uuid - player's UUID
+     */
+    public void invalidate(@NonNull UUID uuid) {
+        cache.remove(uuid);
+    }
+
+    /**
+     * Get the cached outcome
+     * @param user - user
+     * @param island - island at the location, or null if there is none
+     * @param world - world of the location
+     * @param flag - flag
+     * @return outcome or null if there is none
+     */
+    @Nullable
+    Why get(@NonNull User user, @Nullable Island island, @NonNull World world, @NonNull Flag flag) {
+        Decisions d = cache.get(user.getUniqueId());
+        if (d == null || !d.isValid(island, world, user.isOp(), generation.get(), System.currentTimeMillis())) {
+            return null;
+        }
+        return d.whys.get(flag);
+    }
+
+    /**
+     * Caches an outcome
+     * @param user - user
+     * @param island - island at the location, or null if there is none
+     * @param world - world of the location
+     * @param flag - flag
+     * @param why - outcome
+     */
+    void put(@NonNull User user, @Nullable Island island, @NonNull World world, @NonNull Flag flag, @NonNull Why why) {
+        int gen = generation.get();
+        long now = System.currentTimeMillis();
+        Decisions d = cache.get(user.getUniqueId());
+        boolean op = user.isOp();
+        if (d == null || !d.isValid(island, world, op, gen, now)) {
+            d = new Decisions(island, world, op, gen, now + expiry);
+            cache.put(user.getUniqueId(), d);
+        }
+        d.whys.put(flag, why);
+    }
+
+    /**
+     * @return number of players with cached outcomes
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent e) {
+        invalidate(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        invalidate(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent e) {
+        invalidate(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerCommand(PlayerCommandPreprocessEvent e) {
+        if (isPermissionCommand(e.getMessage())) {
+            invalidateAll();
+        } else {
+            invalidate(e.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerCommand(ServerCommandEvent e) {
+        if (isPermissionCommand(e.getCommand())) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Checks if a command line runs a command of a permissions plugin
+     * @param commandLine - command line, with or without a leading slash
+     * @return true if it does
+     */
+    static boolean isPermissionCommand(@NonNull String commandLine) {
+        String label = commandLine.trim();
+        if (label.startsWith("/")) {
+            label = label.substring(1);
+        }
+        int space = label.indexOf(' ');
+        if (space >= 0) {
+            label = label.substring(0, space);
+        }
+        // Commands can be prefixed by the name of their plugin, e.g. luckperms:lp
+        label = label.substring(label.indexOf(':') + 1);
+        return PERMISSION_COMMANDS.contains(label.toLowerCase(Locale.ENGLISH));
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
@@ -16,6 +17,7 @@ import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.managers.FlagsManager;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
 import world.bentobox.bentobox.util.Util;
@@ -153,54 +155,73 @@ public abstract class FlagListener implements Listener {
         }
 
         // Protection flag
-
-        // Ops or "bypass everywhere" moderators can do anything
-        if (user.hasPermission(getIWM().getPermissionPrefix(loc.getWorld()) + "mod.bypassprotect")
-                || user.hasPermission(getIWM().getPermissionPrefix(loc.getWorld()) + "mod.bypass." + flag.getID() + ".everywhere")) {
-            if (user.isOp()) {
-                report(user, e, loc, flag,  Why.OP);
-            } else {
-                report(user, e, loc, flag,  Why.BYPASS_EVERYWHERE);
+        FlagDecisionCache cache = getDecisionCache();
+        Why why = cache == null ? null : cache.get(user, island.orElse(null), loc.getWorld(), flag);
+        if (why == null) {
+            why = checkProtection(user, island.orElse(null), loc.getWorld(), flag);
+            if (cache != null) {
+                cache.put(user, island.orElse(null), loc.getWorld(), flag, why);
             }
+        }
+        report(user, e, loc, flag, why);
+        switch (why) {
+        case NOT_ALLOWED_ON_ISLAND:
+            noGo(e, flag, silent, island.map(Island::isSpawn).orElse(false) ? "protection.spawn-protected" : "protection.protected");
+            return false;
+        case NOT_ALLOWED_IN_WORLD:
+            noGo(e, flag, silent, "protection.world-protected");
+            return false;
+        default:
             return true;
         }
+    }
+
+    /**
+     * Works out why a protection or world setting flag is allowed or not
+     * @param user - user
+     * @param island - island at the location, or null if there is none
+     * @param world - world of the location
+     * @param flag - flag
+     * @return the reason
+     */
+    @NonNull
+    private Why checkProtection(@NonNull User user, @Nullable Island island, @NonNull World world, @NonNull Flag flag) {
+        // Ops or "bypass everywhere" moderators can do anything
+        String prefix = getIWM().getPermissionPrefix(world);
+        if (user.hasPermission(BypassPermissions.getBypassProtect(prefix))
+                || user.hasPermission(BypassPermissions.getBypassEverywhere(prefix, flag))) {
+            return user.isOp() ? Why.OP : Why.BYPASS_EVERYWHERE;
+        }
 
         // Handle World Settings
         if (flag.getType().equals(Flag.Type.WORLD_SETTING)) {
-            if (flag.isSetForWorld(loc.getWorld())) {
-                report(user, e, loc, flag,  Why.ALLOWED_IN_WORLD);
-                return true;
-            }
-            report(user, e, loc, flag,  Why.NOT_ALLOWED_IN_WORLD);
-            noGo(e, flag, silent, "protection.world-protected");
-            return false;
+            return flag.isSetForWorld(world) ? Why.ALLOWED_IN_WORLD : Why.NOT_ALLOWED_IN_WORLD;
         }
 
         // Check if the plugin is set in User (required for testing)
         User.setPlugin(plugin);
 
-        if (island.isPresent()) {
+        if (island != null) {
             // If it is not allowed on the island, "bypass island" moderators can do anything
-            if (island.get().isAllowed(user, flag)) {
-                report(user, e, loc, flag,  Why.RANK_ALLOWED);
-                return true;
-            } else if (user.hasPermission(getIWM().getPermissionPrefix(loc.getWorld()) + "mod.bypass." + flag.getID() + ".island")) {
-                report(user, e, loc, flag,  Why.BYPASS_ISLAND);
-                return true;
+            if (island.isAllowed(user, flag)) {
+                return Why.RANK_ALLOWED;
+            } else if (user.hasPermission(BypassPermissions.getBypassIsland(prefix, flag))) {
+                return Why.BYPASS_ISLAND;
             }
-            report(user, e, loc, flag,  Why.NOT_ALLOWED_ON_ISLAND);
-            noGo(e, flag, silent, island.get().isSpawn() ? "protection.spawn-protected" : "protection.protected");
-            return false;
+            return Why.NOT_ALLOWED_ON_ISLAND;
         }
         // The player is in the world, but not on an island, so general world settings apply
-        if (flag.isSetForWorld(loc.getWorld())) {
-            report(user, e, loc, flag,  Why.ALLOWED_IN_WORLD);
-            return true;
-        } else {
-            report(user, e, loc, flag,  Why.NOT_ALLOWED_IN_WORLD);
-            noGo(e, flag, silent, "protection.world-protected");
-            return false;
-        }
+        return flag.isSetForWorld(world) ? Why.ALLOWED_IN_WORLD : Why.NOT_ALLOWED_IN_WORLD;
+    }
+
+    /**
+     * Get the cache of protection check outcomes
+     * @return the cache or null if it is not used
+     */
+    @Nullable
+    private FlagDecisionCache getDecisionCache() {
+        FlagsManager flagsManager = plugin.getFlagsManager();
+        return flagsManager == null ? null : flagsManager.getDecisionCache();
     }
 
     private void report(@Nullable User user, @NonNull Event e, @NonNull Location loc, @NonNull Flag flag, @NonNull Why why) {
@@ -0,0 +1,61 @@
+package world.bentobox.bentobox.api.flags;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * The ranks of the flags of an island, kept as primitive ints in an array indexed by {@link Flag#getOrdinal()}.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class FlagRankMap extends AbstractFlagMap<Integer> {
+
+    private int[] ranks = new int[0];
+
+    public FlagRankMap() {
+        // Empty
+    }
+
+    /**
+     * @param map - map to copy
+     */
+    public FlagRankMap(@NonNull Map<Flag, Integer> map) {
+        putAll(map);
+    }
+
+    /**
+     * Get the rank of a flag, setting it to the default rank if it has not been set
+     * @param flag - flag
+     * @param defaultRank - rank to set if the flag has none
+     * @return rank
+     */
+    public int getOrPut(@NonNull Flag flag, int defaultRank) {
+        int slot = slot(flag);
+        if (slot >= 0) {
+            return ranks[slot];
+        }
+        Integer rank = get(flag);
+        if (rank != null) {
+            return rank;
+        }
+        put(flag, defaultRank);
+        return defaultRank;
+    }
+
+    @Override
+    protected Integer value(int slot) {
+        return ranks[slot];
+    }
+
+    @Override
+    protected void value(int slot, @NonNull Integer value) {
+        ranks[slot] = value;
+    }
+
+    @Override
+    protected void grow(int length) {
+        ranks = Arrays.copyOf(ranks, length);
+    }
+}
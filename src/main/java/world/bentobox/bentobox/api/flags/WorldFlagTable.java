@@ -0,0 +1,98 @@
+package world.bentobox.bentobox.api.flags;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.api.configuration.WorldSettings;
+
+/**
+ * The world settings of the flags of a game mode, indexed by {@link Flag#getOrdinal()}, so that
+ * {@link Flag#isSetForWorld(org.bukkit.World)} is a bit test.
+ * <p>
+ * Each flag takes two bits: whether its setting is known, and the setting. Settings are filled in the
+ * first time they are asked for. The table is emptied if the game mode's world settings or world flags
+ * are replaced, e.g. when the game mode reloads its config, or if flags are added to them.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class WorldFlagTable {
+
+    /**
+     * The setting of the flag has not been looked up yet
+     */
+    public static final int UNKNOWN = 0;
+    public static final int NOT_SET = 1;
+    public static final int SET = 3;
+
+    private final GameModeAddon gameMode;
+    private volatile AtomicLongArray cells = new AtomicLongArray(4);
+    private WorldSettings worldSettings;
+    private Map<String, Boolean> worldFlags;
+    private int size;
+
+    public WorldFlagTable(@NonNull GameModeAddon gameMode) {
+        this.gameMode = gameMode;
+    }
+
+    /**
+     * Empties the table if the world settings of the game mode have changed since the table was filled in
+     */
+    public void check() {
+        WorldSettings ws = gameMode.getWorldSettings();
+        Map<String, Boolean> flags = ws == null ? null : ws.getWorldFlags();
+        if (ws != worldSettings || flags != worldFlags || (flags != null && flags.size() != size)) {
+            reset(ws, flags);
+        }
+    }
+
+    private synchronized void reset(@Nullable WorldSettings ws, @Nullable Map<String, Boolean> flags) {
+        worldSettings = ws;
+        worldFlags = flags;
+        size = flags == null ? 0 : flags.size();
+        cells = new AtomicLongArray(cells.length());
+    }
+
+    /**
+     * Get the setting of a flag
+     * @param ordinal - ordinal of the flag
+     * @return {@link #SET}, {@link #NOT_SET} or {@link #UNKNOWN}
+     */
+    public int get(int ordinal) {
+        AtomicLongArray c = cells;
+        int word = ordinal >>> 5;
+        if (ordinal < 0 || word >= c.length()) {
+            return UNKNOWN;
+        }
+        return (int) (c.get(word) >>> ((ordinal & 31) << 1)) & 3;
+    }
+
+    /**
+     * Puts the setting of a flag in the table. Call this after the world flags have been set.
+     * @param ordinal - ordinal of the flag
+     * @param setting - setting
+     */
+    public synchronized void put(int ordinal, boolean setting) {
+        if (ordinal < 0) {
+            return;
+        }
+        int word = ordinal >>> 5;
+        if (word >= cells.length()) {
+            AtomicLongArray grown = new AtomicLongArray(Math.max(word + 1, cells.length() * 2));
+            for (int i = 0; i < cells.length(); i++) {
+                grown.set(i, cells.get(i));
+            }
+            cells = grown;
+        }
+        int shift = (ordinal & 31) << 1;
+        long mask = 3L << shift;
+        long value = (long) (setting ? SET : NOT_SET) << shift;
+        cells.set(word, (cells.get(word) & ~mask) | value);
+        if (worldFlags != null) {
+            size = worldFlags.size();
+        }
+    }
+}
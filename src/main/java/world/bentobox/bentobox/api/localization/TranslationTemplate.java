@@ -0,0 +1,268 @@
+package world.bentobox.bentobox.api.localization;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.bukkit.ChatColor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.util.Util;
+
+/**
+ * A translation that is ready to be sent. Its prefixes have been put in and its color codes have been
+ * translated, and it is split into text and the variables, such as {@link TextVariables#NAME}, that can be
+ * replaced in it. Rendering it only puts in the variables.
+ * <p>
+ * Templates are cached by the {@link world.bentobox.bentobox.managers.LocalesManager} until the locales are reloaded.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class TranslationTemplate {
+
+    private static final String COLOR_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRr";
+
+    /**
+     * Translation with its prefixes put in, before anything else was done to it
+     */
+    private final String raw;
+    /**
+     * Text parts with their colors translated, or null where the part is a variable
+     */
+    private final String[] parts;
+    /**
+     * Variable of each part, or null where the part is text
+     */
+    private final String[] tokens;
+    /**
+     * Whether each text part ends with a color code, so a space at the start of the next part has to be stripped
+     */
+    private final boolean[] codeAtEnd;
+    private final Set<String> variables;
+    /**
+     * The text if no variables are replaced
+     */
+    private final String text;
+    /**
+     * True if the text is used as it is, without replacing variables, placeholders or colors
+     */
+    private final boolean literal;
+    private final boolean placeholders;
+    /**
+     * True if the translation has color codes that are already translated
+     */
+    private final boolean sectionSign;
+
+    private TranslationTemplate(String raw, String[] parts, String[] tokens, String text, boolean literal) {
+        this.raw = raw;
+        this.parts = new String[parts.length];
+        this.tokens = tokens;
+        this.codeAtEnd = new boolean[parts.length];
+        for (int p = 0; p < parts.length; p++) {
+            if (parts[p] != null) {
+                String translated = ChatColor.translateAlternateColorCodes('&', parts[p]);
+                this.parts[p] = Util.stripSpaceAfterColorCodes(translated);
+                codeAtEnd[p] = endsWithCode(translated);
+            }
+        }
+        this.text = text;
+        this.literal = literal;
+        this.variables = new HashSet<>();
+        for (String token : tokens) {
+            if (token != null) {
+                variables.add(token);
+            }
+        }
+        this.placeholders = raw.indexOf('%') >= 0;
+        this.sectionSign = raw.indexOf(ChatColor.COLOR_CHAR) >= 0;
+    }
+
+    /**
+     * Makes a template that is always rendered as this text, e.g. a prefix
+     * @param text - text
+     * @return template
+     */
+    @NonNull
+    public static TranslationTemplate of(@NonNull String text) {
+        return new TranslationTemplate(text, new String[0], new String[0], text, true);
+    }
+
+    /**
+     * Compiles a translation whose prefixes have been put in
+     * @param translation - translation
+     * @return template
+     */
+    @NonNull
+    public static TranslationTemplate compile(@NonNull String translation) {
+        List<String> parts = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        int i = translation.indexOf('[');
+        while (i >= 0) {
+            int end = i + 1;
+            while (end < translation.length() && isVariableChar(translation.charAt(end))) {
+                end++;
+            }
+            if (end < translation.length() && end > i + 1 && translation.charAt(end) == ']') {
+                if (i > start) {
+                    parts.add(translation.substring(start, i));
+                    tokens.add(null);
+                }
+                parts.add(null);
+                tokens.add(translation.substring(i, end + 1));
+                start = end + 1;
+            }
+            i = translation.indexOf('[', end);
+        }
+        if (start < translation.length()) {
+            parts.add(translation.substring(start));
+            tokens.add(null);
+        }
+        return new TranslationTemplate(translation, parts.toArray(new String[0]), tokens.toArray(new String[0]),
+                Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', translation)), false);
+    }
+
+    private static boolean isVariableChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    /**
+     * Renders the template. Only the variables are replaced, in a single pass, unless placeholders have to be replaced,
+     * in which case it is translated in full with {@link #translate(UnaryOperator, String...)}.
+     * @param placeholders - replaces placeholders, or null if placeholders cannot be replaced
+     * @param variables - variables to insert, in pairs, for example "[name]", "tastybento"
+     * @return the text to send
+     */
+    @NonNull
+    public String render(@Nullable UnaryOperator<String> placeholders, String... variables) {
+        if (literal) {
+            return text;
+        }
+        if (sectionSign || (placeholders != null && hasPlaceholders(variables))) {
+            return translate(placeholders, variables);
+        }
+        for (int i = 0; i + 1 < variables.length; i += 2) {
+            if ((!this.variables.contains(variables[i]) && raw.contains(variables[i]))
+                    || variables[i + 1].indexOf('[') >= 0 || variables[i + 1].indexOf(ChatColor.COLOR_CHAR) >= 0) {
+                // Not a variable that this template knows about, or a value that could be changed by the
+                // variables after it or by the colors around it
+                return translate(placeholders, variables);
+            }
+        }
+        if (this.variables.isEmpty()) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length() + 16 * this.variables.size());
+        // True if the builder ends with a color code whose following space has not been stripped yet
+        boolean code = false;
+        for (int p = 0; p < parts.length; p++) {
+            if (parts[p] != null) {
+                code = append(sb, parts[p], code, codeAtEnd[p]);
+                continue;
+            }
+            String value = getValue(tokens[p], variables);
+            if (value == null) {
+                code = append(sb, tokens[p], code, false);
+            } else if (value.indexOf('&') < 0) {
+                code = append(sb, value, code, false);
+            } else {
+                String translated = ChatColor.translateAlternateColorCodes('&', value);
+                code = append(sb, Util.stripSpaceAfterColorCodes(translated), code, endsWithCode(translated));
+            }
+        }
+        return sb.toString();
+    }
+
+    private boolean hasPlaceholders(String[] variables) {
+        if (placeholders) {
+            return true;
+        }
+        for (int i = 1; i < variables.length; i += 2) {
+            if (variables[i].indexOf('%') >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getValue(String token, String[] variables) {
+        for (int i = 0; i + 1 < variables.length; i += 2) {
+            if (token.equals(variables[i])) {
+                return variables[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends a part whose colors have been translated, as if the colors of the whole text were translated:
+     * a color code that is split between the builder and the part is translated, and a space after a color code
+     * at the end of the builder is stripped.
+     * @param sb - builder
+     * @param s - part
+     * @param code - true if the builder ends with a color code whose following space has not been stripped
+     * @param codeAtEnd - true if the part ends with a color code whose following space has not been stripped
+     * @return true if the builder now ends with a color code whose following space has not been stripped
+     */
+    private static boolean append(StringBuilder sb, String s, boolean code, boolean codeAtEnd) {
+        if (s.isEmpty()) {
+            return code;
+        }
+        int len = sb.length();
+        int start = 0;
+        if (len > 0 && sb.charAt(len - 1) == '&' && COLOR_CODES.indexOf(s.charAt(0)) >= 0) {
+            // The part finishes a color code
+            sb.setCharAt(len - 1, ChatColor.COLOR_CHAR);
+            sb.append(Character.toLowerCase(s.charAt(0)));
+            start = 1;
+            if (s.length() == 1) {
+                return true;
+            }
+            if (isSpace(s.charAt(1))) {
+                start = 2;
+            }
+        } else if (code && isSpace(s.charAt(0))) {
+            start = 1;
+        }
+        if (start >= s.length()) {
+            return false;
+        }
+        sb.append(s, start, s.length());
+        return codeAtEnd;
+    }
+
+    private static boolean endsWithCode(String translated) {
+        return translated.length() > 1 && translated.charAt(translated.length() - 2) == ChatColor.COLOR_CHAR;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Translates the template in full: replaces the variables one after the other, then the placeholders,
+     * then translates the colors
+     * @param placeholders - replaces placeholders, or null if placeholders cannot be replaced
+     * @param variables - variables to insert, in pairs, for example "[name]", "tastybento"
+     * @return the text to send
+     */
+    @NonNull
+    public String translate(@Nullable UnaryOperator<String> placeholders, String... variables) {
+        if (literal) {
+            return text;
+        }
+        String translation = raw;
+        if (variables.length > 1) {
+            for (int i = 0; i < variables.length; i += 2) {
+                translation = translation.replace(variables[i], variables[i + 1]);
+            }
+        }
+        if (placeholders != null) {
+            translation = placeholders.apply(translation);
+        }
+        return Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', translation));
+    }
+}
@@ -0,0 +1,146 @@
+package world.bentobox.bentobox.api.placeholders;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.api.events.IslandBaseEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
+import world.bentobox.bentobox.api.user.User;
+
+/**
+ * Caches the values of placeholders for each player.
+ * <p>
+ * Each placeholder is kept for its own time, and only placeholders that have a time are cached.
+ * The values of a player are dropped when an island or team event involves the player or their island,
+ * and all values are dropped when an island is made or deleted, because the number of islands changes.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class PlaceholderCache implements Listener {
+
+    /**
+     * Island events after which every value could be wrong
+     */
+    private static final Set<Reason> ALL = EnumSet.of(Reason.CREATED, Reason.DELETED, Reason.RESETTED, Reason.REGISTERED, Reason.UNREGISTERED);
+
+    private final Map<@NonNull UUID, Map<@NonNull String, @NonNull Value>> cache = new ConcurrentHashMap<>();
+    /**
+     * Time in milliseconds that each placeholder is kept
+     */
+    private final Map<@NonNull String, @NonNull Long> ttls = new HashMap<>();
+
+    /**
+     * A value and when it expires
+     */
+    private static class Value {
+        private final String text;
+        private final long expires;
+
+        private Value(String text, long expires) {
+            this.text = text;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * @param ttls - time in seconds that each placeholder is kept, by placeholder name, e.g. "island_owner"
+     */
+    public PlaceholderCache(@NonNull Map<String, Integer> ttls) {
+        ttls.forEach((placeholder, ttl) -> {
+            if (ttl != null && ttl > 0) {
+                this.ttls.put(placeholder, ttl * 1000L);
+            }
+        });
+    }
+
+    /**
+     * Makes a replacer that caches the values of this one
+     * @param key - key that is unique to this placeholder, e.g. the addon's name and the placeholder
+     * @param placeholder - name of the placeholder, used to look up its time
+     * @param replacer - replacer that works out the values
+     * @return replacer that caches the values, or the same replacer if this placeholder is not cached
+     */
+    @NonNull
+    public PlaceholderReplacer cached(@NonNull String key, @NonNull String placeholder, @NonNull PlaceholderReplacer replacer) {
+        Long ttl = ttls.get(placeholder);
+        if (ttl == null) {
+            return replacer;
+        }
+        return user -> get(user, key, ttl, replacer);
+    }
+
+    @NonNull
+    private String get(@Nullable User user, String key, long ttl, PlaceholderReplacer replacer) {
+        if (user == null || user.getUniqueId() == null) {
+            return replacer.onReplace(user);
+        }
+        long now = System.currentTimeMillis();
+        Map<String, Value> values = cache.computeIfAbsent(user.getUniqueId(), k -> new ConcurrentHashMap<>());
+        Value v = values.get(key);
+        if (v != null && now < v.expires) {
+            return v.text;
+        }
+        String text = replacer.onReplace(user);
+        if (text != null) {
+            values.put(key, new Value(text, now + ttl));
+        }
+        return text;
+    }
+
+    /**
+     * Removes the cached values of this player
+     * @param uuid - player's UUID
+     */
+    public void invalidate(@NonNull UUID uuid) {
+        cache.remove(uuid);
+    }
+
+    /**
+     * Removes all cached values
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * @return number of players with cached values
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        invalidate(e.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Team events are island events too
+     * @param e - event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onIslandEvent(IslandBaseEvent e) {
+        if (e instanceof IslandEvent && ALL.contains(((IslandEvent) e).getReason())) {
+            invalidateAll();
+            return;
+        }
+        if (e.getPlayerUUID() != null) {
+            invalidate(e.getPlayerUUID());
+        }
+        if (e.getIsland() != null) {
+            e.getIsland().getMembers().keySet().forEach(this::invalidate);
+        }
+    }
+}
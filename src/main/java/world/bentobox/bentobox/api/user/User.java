@@ -6,6 +6,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.math.NumberUtils;
@@ -29,7 +30,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.events.OfflineMessageEvent;
-import world.bentobox.bentobox.util.Util;
+import world.bentobox.bentobox.api.localization.TranslationTemplate;
 
 /**
  * Combines {@link Player}, {@link OfflinePlayer} and {@link CommandSender} to provide convenience methods related to
@@ -368,46 +369,48 @@ public class User {
     }
 
     private String translate(String addonPrefix, String reference, String[] variables) {
+        TranslationTemplate template = plugin.getLocalesManager().getTemplate(this, addonPrefix + reference, () -> compile(addonPrefix, reference));
+        if (template == null) {
+            // If no translation has been found, return the reference for debug purposes.
+            return reference;
+        }
+        UnaryOperator<String> placeholders = player == null ? null : t -> plugin.getPlaceholdersManager().replacePlaceholders(player, t);
+        return template.render(placeholders, variables);
+    }
+
+    /**
+     * Gets the translation and puts in the prefixes
+     * @param addonPrefix - addon prefix
+     * @param reference - reference
+     * @return compiled translation, or null if there is no translation
+     */
+    @Nullable
+    private TranslationTemplate compile(String addonPrefix, String reference) {
         String translation = plugin.getLocalesManager().get(this, addonPrefix + reference);
 
         if (translation == null) {
             translation = plugin.getLocalesManager().get(this, reference);
             if (translation == null) {
-                // If no translation has been found, return the reference for debug purposes.
-                return reference;
+                return null;
             }
         }
 
         // If this is a prefix, just gather and return the translation
         if (reference.startsWith("prefixes.")) {
-            return translation;
-        } else {
-            // Replace the prefixes
-            for (String prefix : plugin.getLocalesManager().getAvailablePrefixes(this)) {
-                String prefixTranslation = getTranslation("prefixes." + prefix);
-                // Replace the [gamemode] text variable
-                prefixTranslation = prefixTranslation.replace("[gamemode]", addon != null ? addon.getDescription().getName() : "[gamemode]");
-                // Replace the [friendly_name] text variable
-                prefixTranslation = prefixTranslation.replace("[friendly_name]", getWorld() != null ? plugin.getIWM().getFriendlyName(getWorld()) : "[friendly_name]");
-
-                // Replace the prefix in the actual message
-                translation = translation.replace("[prefix_" + prefix + "]", prefixTranslation);
-            }
-
-            // Then replace variables
-            if (variables.length > 1) {
-                for (int i = 0; i < variables.length; i += 2) {
-                    translation = translation.replace(variables[i], variables[i + 1]);
-                }
-            }
-
-            // Then replace Placeholders, this will only work if this is a player
-            if (player != null) {
-                translation = plugin.getPlaceholdersManager().replacePlaceholders(player, translation);
-            }
-
-            return Util.stripSpaceAfterColorCodes(ChatColor.translateAlternateColorCodes('&', translation));
+            return TranslationTemplate.of(translation);
+        }
+        // Replace the prefixes
+        for (String prefix : plugin.getLocalesManager().getAvailablePrefixes(this)) {
+            String prefixTranslation = getTranslation("prefixes." + prefix);
+            // Replace the [gamemode] text variable
+            prefixTranslation = prefixTranslation.replace("[gamemode]", addon != null ? addon.getDescription().getName() : "[gamemode]");
+            // Replace the [friendly_name] text variable
+            prefixTranslation = prefixTranslation.replace("[friendly_name]", getWorld() != null ? plugin.getIWM().getFriendlyName(getWorld()) : "[friendly_name]");
+
+            // Replace the prefix in the actual message
+            translation = translation.replace("[prefix_" + prefix + "]", prefixTranslation);
         }
+        return TranslationTemplate.compile(translation);
     }
 
     /**
@@ -630,4 +633,14 @@ public class User {
     public void setAddon(Addon addon) {
         this.addon = addon;
     }
+
+    /**
+     * Get the addon context of this user
+     * @return the addon executing the command, or null if none
+     * @since 1.14.0
+     */
+    @Nullable
+    public Addon getAddon() {
+        return addon;
+    }
 }
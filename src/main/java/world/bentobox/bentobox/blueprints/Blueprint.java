@@ -11,6 +11,7 @@ import org.eclipse.jdt.annotation.NonNull;
 
 import com.google.gson.annotations.Expose;
 
+import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
 import world.bentobox.bentobox.blueprints.dataobjects.BlueprintEntity;
 
@@ -46,6 +47,10 @@ public class Blueprint {
     private int zSize;
     @Expose
     private Vector bedrock;
+    /**
+     * Made the first time the blueprint is pasted and kept until its blocks are set again
+     */
+    private BlueprintPastePlan pastePlan;
     /**
      * @return the name
      */
@@ -122,6 +127,7 @@ public class Blueprint {
      */
     public void setAttached(Map<Vector, BlueprintBlock> attached) {
         this.attached = attached;
+        this.pastePlan = null;
     }
     /**
      * @return the entities
@@ -150,6 +156,20 @@ public class Blueprint {
      */
     public void setBlocks(Map<Vector, BlueprintBlock> blocks) {
         this.blocks = blocks;
+        this.pastePlan = null;
+    }
+    /**
+     * Gets the plan for pasting this blueprint's blocks, making it if this is the first time
+     * @param plugin - BentoBox
+     * @return the paste plan
+     * @since 1.14.0
+     */
+    @NonNull
+    public BlueprintPastePlan getPastePlan(@NonNull BentoBox plugin) {
+        if (pastePlan == null) {
+            pastePlan = new BlueprintPastePlan(plugin, this);
+        }
+        return pastePlan;
     }
     /**
      * @return the xSize
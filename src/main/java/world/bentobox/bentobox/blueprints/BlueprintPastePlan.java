@@ -0,0 +1,288 @@
+package world.bentobox.bentobox.blueprints;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+
+/**
+ * A blueprint made ready for pasting.
+ * <p>
+ * The block data of every block is parsed once, when the plan is made, and the plan is kept by the blueprint.
+ * The blocks are put in chunk order, and in section order within each chunk, so that a paste waits for each chunk
+ * to load once and writes all of its blocks before moving on. Which chunk a block is in depends on where in a chunk
+ * the blueprint is pasted, so the order is worked out for each such place the first time it is used.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class BlueprintPastePlan {
+
+    private static final String MINECRAFT = "minecraft:";
+
+    private static final Map<String, String> BLOCK_CONVERSION = ImmutableMap.of("sign", "oak_sign", "wall_sign", "oak_wall_sign");
+
+    private final Part blocks;
+    private final Part attached;
+
+    /**
+     * Makes the paste plan of a blueprint
+     * @param plugin - BentoBox
+     * @param blueprint - blueprint
+     */
+    BlueprintPastePlan(@NonNull BentoBox plugin, @NonNull Blueprint blueprint) {
+        blocks = new Part(plugin, blueprint, blueprint.getBlocks());
+        attached = new Part(plugin, blueprint, blueprint.getAttached());
+    }
+
+    /**
+     * @return the blocks, which are pasted first
+     */
+    @NonNull
+    public Part getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * @return the attached blocks, which are pasted after all the other blocks
+     */
+    @NonNull
+    public Part getAttached() {
+        return attached;
+    }
+
+    /**
+     * A map of blocks from the blueprint, with the block data parsed
+     */
+    public static class Part {
+        private final int size;
+        private final int[] x;
+        private final int[] y;
+        private final int[] z;
+        private final BlockData[] data;
+        /**
+         * Blocks that have a sign, inventory, spawner or banner to set once they are placed, or null
+         */
+        private final BlueprintBlock[] states;
+        /**
+         * The orders of the blocks, indexed by where in a chunk the blueprint is pasted
+         */
+        private final Layout[] layouts = new Layout[256];
+
+        private Part(BentoBox plugin, Blueprint blueprint, @Nullable Map<Vector, BlueprintBlock> map) {
+            size = map == null ? 0 : map.size();
+            x = new int[size];
+            y = new int[size];
+            z = new int[size];
+            data = new BlockData[size];
+            states = new BlueprintBlock[size];
+            if (map == null) {
+                return;
+            }
+            int i = 0;
+            for (Entry<Vector, BlueprintBlock> en : map.entrySet()) {
+                BlueprintBlock bpBlock = en.getValue();
+                x[i] = en.getKey().getBlockX();
+                y[i] = en.getKey().getBlockY();
+                z[i] = en.getKey().getBlockZ();
+                // Set the block data - default is AIR
+                try {
+                    data[i] = Bukkit.createBlockData(bpBlock.getBlockData());
+                } catch (Exception e) {
+                    data[i] = convertBlockData(plugin, blueprint, bpBlock);
+                }
+                if (bpBlock.getSignLines() != null || bpBlock.getInventory() != null
+                        || bpBlock.getCreatureSpawner() != null || bpBlock.getBannerPatterns() != null) {
+                    states[i] = bpBlock;
+                }
+                i++;
+            }
+        }
+
+        /**
+         * @return number of blocks
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param i - index of block
+         * @return x offset of the block from the paste location
+         */
+        public int getX(int i) {
+            return x[i];
+        }
+
+        /**
+         * @param i - index of block
+         * @return y offset of the block from the paste location
+         */
+        public int getY(int i) {
+            return y[i];
+        }
+
+        /**
+         * @param i - index of block
+         * @return z offset of the block from the paste location
+         */
+        public int getZ(int i) {
+            return z[i];
+        }
+
+        /**
+         * @param i - index of block
+         * @return the parsed block data. It is shared by all pastes, so it must not be changed.
+         */
+        @NonNull
+        public BlockData getBlockData(int i) {
+            return data[i];
+        }
+
+        /**
+         * @param i - index of block
+         * @return the blueprint block if it has a sign, inventory, spawner or banner to set, otherwise null
+         */
+        @Nullable
+        public BlueprintBlock getState(int i) {
+            return states[i];
+        }
+
+        /**
+         * Gets the order to paste the blocks in, chunk by chunk
+         * @param blockX - x coordinate of the paste location
+         * @param blockZ - z coordinate of the paste location
+         * @return the layout
+         */
+        @NonNull
+        public Layout getLayout(int blockX, int blockZ) {
+            int offsetX = blockX & 15;
+            int offsetZ = blockZ & 15;
+            int key = offsetX | (offsetZ << 4);
+            if (layouts[key] == null) {
+                layouts[key] = new Layout(this, offsetX, offsetZ);
+            }
+            return layouts[key];
+        }
+    }
+
+    /**
+     * The blocks of a {@link Part} in chunk order, then section order, then y, z and x order.
+     * Chunk coordinates are counted from the chunk of the paste location.
+     */
+    public static class Layout {
+        private final int[] order;
+        private final int[] chunkX;
+        private final int[] chunkZ;
+        /**
+         * Index in the order of the first block of each chunk, and the size of the part at the end
+         */
+        private final int[] chunkStart;
+
+        private Layout(Part part, int offsetX, int offsetZ) {
+            Integer[] sorted = new Integer[part.size];
+            for (int i = 0; i < part.size; i++) {
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, Comparator.<Integer>comparingInt(i -> (offsetX + part.x[i]) >> 4)
+                    .thenComparingInt(i -> (offsetZ + part.z[i]) >> 4)
+                    .thenComparingInt(i -> part.y[i] >> 4)
+                    .thenComparingInt(i -> part.y[i])
+                    .thenComparingInt(i -> part.z[i])
+                    .thenComparingInt(i -> part.x[i]));
+            order = new int[part.size];
+            int[] startX = new int[part.size];
+            int[] startZ = new int[part.size];
+            int[] start = new int[part.size + 1];
+            int chunks = 0;
+            for (int n = 0; n < part.size; n++) {
+                int i = sorted[n];
+                order[n] = i;
+                int cx = (offsetX + part.x[i]) >> 4;
+                int cz = (offsetZ + part.z[i]) >> 4;
+                if (chunks == 0 || cx != startX[chunks - 1] || cz != startZ[chunks - 1]) {
+                    startX[chunks] = cx;
+                    startZ[chunks] = cz;
+                    start[chunks++] = n;
+                }
+            }
+            start[chunks] = part.size;
+            chunkX = Arrays.copyOf(startX, chunks);
+            chunkZ = Arrays.copyOf(startZ, chunks);
+            chunkStart = Arrays.copyOf(start, chunks + 1);
+        }
+
+        /**
+         * @param n - place in the order
+         * @return index of the block in the part
+         */
+        public int get(int n) {
+            return order[n];
+        }
+
+        /**
+         * @return number of chunks
+         */
+        public int getChunks() {
+            return chunkX.length;
+        }
+
+        /**
+         * @param chunk - chunk number
+         * @return x coordinate of the chunk, counted from the chunk of the paste location
+         */
+        public int getChunkX(int chunk) {
+            return chunkX[chunk];
+        }
+
+        /**
+         * @param chunk - chunk number
+         * @return z coordinate of the chunk, counted from the chunk of the paste location
+         */
+        public int getChunkZ(int chunk) {
+            return chunkZ[chunk];
+        }
+
+        /**
+         * @param chunk - chunk number
+         * @return place in the order after the last block of the chunk
+         */
+        public int getChunkEnd(int chunk) {
+            return chunkStart[chunk + 1];
+        }
+    }
+
+    /**
+     * Tries to convert the BlockData to a newer version, and logs a warning if it fails to do so.
+     * @return the converted BlockData or a default AIR BlockData.
+     * @since 1.6.0
+     */
+    private static BlockData convertBlockData(BentoBox plugin, Blueprint blueprint, BlueprintBlock block) {
+        BlockData blockData = Bukkit.createBlockData(Material.AIR);
+        try {
+            for (Entry<String, String> en : BLOCK_CONVERSION.entrySet()) {
+                if (block.getBlockData().startsWith(MINECRAFT + en.getKey())) {
+                    blockData = Bukkit.createBlockData(block.getBlockData().replace(MINECRAFT + en.getKey(), MINECRAFT + en.getValue()));
+                    break;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // This may happen if the block type is no longer supported by the server
+            plugin.logWarning("Blueprint references materials not supported on this server version.");
+            plugin.logWarning("Load blueprint manually, check and save to fix for this server version.");
+            plugin.logWarning("Blueprint: " + blueprint.getName() + "; Failed block data: " + block.getBlockData());
+        }
+        return blockData;
+    }
+}
@@ -10,9 +10,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -21,7 +23,6 @@ import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.CreatureSpawner;
-import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.Sign;
 import org.bukkit.block.data.type.WallSign;
 import org.bukkit.entity.LivingEntity;
@@ -33,8 +34,6 @@ import org.bukkit.util.Vector;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
-import com.google.common.collect.ImmutableMap;
-
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
@@ -68,10 +67,6 @@ public class BlueprintPaster {
      */
     private static long chunkLoadTime = 0;
 
-    private static final String MINECRAFT = "minecraft:";
-
-    private static final Map<String, String> BLOCK_CONVERSION = ImmutableMap.of("sign", "oak_sign", "wall_sign", "oak_wall_sign");
-
     private BentoBox plugin;
     // The minimum block position (x,y,z)
     private Location pos1;
@@ -80,6 +75,7 @@ public class BlueprintPaster {
     private PasteState pasteState;
     private BukkitTask pastingTask;
     private BlueprintClipboard clipboard;
+    private BlockCursor blockCursor;
 
     /**
      * The Blueprint to paste.
@@ -151,12 +147,11 @@ public class BlueprintPaster {
      * The main pasting method
      */
     private void paste() {
-        // Iterators for the various maps to paste
-        Map<Vector, BlueprintBlock> blocks = blueprint.getBlocks() == null ? Collections.emptyMap() : blueprint.getBlocks();
-        Map<Vector, BlueprintBlock> attached = blueprint.getAttached() == null ? Collections.emptyMap() : blueprint.getAttached();
+        // The blocks are parsed and put in chunk order once per blueprint
+        BlueprintPastePlan plan = blueprint.getPastePlan(plugin);
+        BlueprintPastePlan.Part blocks = plan.getBlocks();
+        BlueprintPastePlan.Part attached = plan.getAttached();
         Map<Vector, List<BlueprintEntity>> entities = blueprint.getEntities() == null ? Collections.emptyMap() : blueprint.getEntities();
-        Iterator<Entry<Vector, BlueprintBlock>> it = blocks.entrySet().iterator();
-        Iterator<Entry<Vector, BlueprintBlock>> it2 = attached.entrySet().iterator();
         Iterator<Entry<Vector, List<BlueprintEntity>>> it3 = entities.entrySet().iterator();
 
         // Initial state & speed
@@ -184,6 +179,7 @@ public class BlueprintPaster {
                 pasteState = PasteState.CHUNK_LOADING;
                 // Load chunk
                 Util.getChunkAtAsync(location).thenRun(() -> {
+                    blockCursor = new BlockCursor(blocks);
                     pasteState = PasteState.BLOCKS;
                     long duration = System.currentTimeMillis() - timer;
                     if (duration > chunkLoadTime) {
@@ -191,26 +187,23 @@ public class BlueprintPaster {
                     }
                 });
             }
-            while (pasteState.equals(PasteState.BLOCKS) && count < pasteSpeed && it.hasNext()) {
-                pasteBlock(location, it.next());
-                count++;
-            }
-            while (pasteState.equals(PasteState.ATTACHMENTS) && count < pasteSpeed && it2.hasNext()) {
-                pasteBlock(location, it2.next());
-                count++;
+            if (pasteState.equals(PasteState.BLOCKS) || pasteState.equals(PasteState.ATTACHMENTS)) {
+                count += blockCursor.paste(pasteSpeed);
             }
             while (pasteState.equals(PasteState.ENTITIES) && count < pasteSpeed && it3.hasNext()) {
                 pasteEntity(location, it3.next());
                 count++;
             }
             // STATE SHIFT
-            if (pasteState.equals(PasteState.BLOCKS) && !it.hasNext()) {
+            if (pasteState.equals(PasteState.BLOCKS) && !blockCursor.hasNext()) {
                 // Blocks done
                 // Next paste attachments
+                blockCursor = new BlockCursor(attached);
                 pasteState = PasteState.ATTACHMENTS;
             }
-            else if (pasteState.equals(PasteState.ATTACHMENTS) && !it2.hasNext()) {
+            else if (pasteState.equals(PasteState.ATTACHMENTS) && !blockCursor.hasNext()) {
                 // Attachments done. Next paste entities
+                blockCursor = null;
                 pasteState = PasteState.ENTITIES;
                 if (entities.size() != 0) {
                     owner.ifPresent(user -> user.sendMessage("commands.island.create.pasting.entities", TextVariables.NUMBER, String.valueOf(entities.size())));
@@ -239,47 +232,89 @@ public class BlueprintPaster {
         }, 0L, 1L);
     }
 
-    private void pasteBlock(Location location, Entry<Vector, BlueprintBlock> entry) {
-        World world = location.getWorld();
-        Location pasteTo = location.clone().add(entry.getKey());
-        BlueprintBlock bpBlock = entry.getValue();
-        Util.getChunkAtAsync(pasteTo).thenRun(() -> {
-            Block block = pasteTo.getBlock();
-            // Set the block data - default is AIR
-            BlockData bd;
-            try {
-                bd = Bukkit.createBlockData(bpBlock.getBlockData());
-            } catch (Exception e) {
-                bd = convertBlockData(world, bpBlock);
-            }
-            block.setBlockData(bd, false);
-            setBlockState(block, bpBlock);
-            // pos1 and pos2 update
-            updatePos(block.getLocation());
-        });
-    }
-
     /**
-     * Tries to convert the BlockData to a newer version, and logs a warning if it fails to do so.
-     * @return the converted BlockData or a default AIR BlockData.
-     * @since 1.6.0
+     * Pastes the blocks of a part of the paste plan chunk by chunk. Each chunk is loaded once, and the next chunk
+     * is loaded while the blocks of this one are written.
      */
-    private BlockData convertBlockData(World world, BlueprintBlock block) {
-        BlockData blockData = Bukkit.createBlockData(Material.AIR);
-        try {
-            for (Entry<String, String> en : BLOCK_CONVERSION.entrySet()) {
-                if (block.getBlockData().startsWith(MINECRAFT + en.getKey())) {
-                    blockData = Bukkit.createBlockData(block.getBlockData().replace(MINECRAFT + en.getKey(), MINECRAFT + en.getValue()));
-                    break;
+    private class BlockCursor {
+        private final BlueprintPastePlan.Part part;
+        private final BlueprintPastePlan.Layout layout;
+        private final World world;
+        private final int baseX;
+        private final int baseY;
+        private final int baseZ;
+        /**
+         * Chunk that is being pasted
+         */
+        private int chunk;
+        /**
+         * Place in the layout of the next block to paste
+         */
+        private int next;
+        private boolean loaded;
+        private CompletableFuture<Chunk> load;
+        private CompletableFuture<Chunk> nextLoad;
+
+        private BlockCursor(BlueprintPastePlan.Part part) {
+            this.part = part;
+            this.world = location.getWorld();
+            this.baseX = location.getBlockX();
+            this.baseY = location.getBlockY();
+            this.baseZ = location.getBlockZ();
+            this.layout = part.getLayout(baseX, baseZ);
+            if (layout.getChunks() > 0) {
+                load = load(0);
+            }
+        }
+
+        private CompletableFuture<Chunk> load(int c) {
+            return Util.getChunkAtAsync(world, (baseX >> 4) + layout.getChunkX(c), (baseZ >> 4) + layout.getChunkZ(c));
+        }
+
+        private boolean hasNext() {
+            return next < part.size();
+        }
+
+        /**
+         * Pastes blocks until the most allowed have been pasted or the next chunk has not loaded yet
+         * @param max - most blocks to paste
+         * @return number of blocks pasted
+         */
+        private int paste(int max) {
+            int count = 0;
+            while (count < max && hasNext()) {
+                if (!loaded) {
+                    if (!load.isDone()) {
+                        return count;
+                    }
+                    loaded = true;
+                    if (chunk + 1 < layout.getChunks()) {
+                        nextLoad = load(chunk + 1);
+                    }
+                }
+                pasteBlock(layout.get(next++));
+                count++;
+                if (next == layout.getChunkEnd(chunk)) {
+                    // Move on to the next chunk
+                    chunk++;
+                    loaded = false;
+                    load = nextLoad;
+                    nextLoad = null;
                 }
             }
-        } catch (IllegalArgumentException e) {
-            // This may happen if the block type is no longer supported by the server
-            plugin.logWarning("Blueprint references materials not supported on this server version.");
-            plugin.logWarning("Load blueprint manually, check and save to fix for this server version.");
-            plugin.logWarning("World: " + world.getName() + "; Failed block data: " + block.getBlockData());
+            return count;
+        }
+
+        private void pasteBlock(int i) {
+            Block block = world.getBlockAt(baseX + part.getX(i), baseY + part.getY(i), baseZ + part.getZ(i));
+            block.setBlockData(part.getBlockData(i), false);
+            BlueprintBlock bpBlock = part.getState(i);
+            if (bpBlock != null) {
+                setBlockState(block, bpBlock);
+            }
+            // pos1 and pos2 update
+            updatePos(block.getX(), block.getY(), block.getZ());
         }
-        return blockData;
     }
 
     private void pasteEntity(Location location, Entry<Vector, List<BlueprintEntity>> entry) {
@@ -362,32 +397,34 @@ public class BlueprintPaster {
 
     /**
      * Tracks the minimum and maximum block positions
-     * @param l - location of block pasted
+     * @param x - x coordinate of block pasted
+     * @param y - y coordinate of block pasted
+     * @param z - z coordinate of block pasted
      */
-    private void updatePos(Location l) {
+    private void updatePos(int x, int y, int z) {
         if (pos1 == null) {
-            pos1 = l.clone();
+            pos1 = new Location(location.getWorld(), x, y, z);
         }
         if (pos2 == null) {
-            pos2 = l.clone();
+            pos2 = new Location(location.getWorld(), x, y, z);
         }
-        if (l.getBlockX() < pos1.getBlockX()) {
-            pos1.setX(l.getBlockX());
+        if (x < pos1.getBlockX()) {
+            pos1.setX(x);
         }
-        if (l.getBlockX() > pos2.getBlockX()) {
-            pos2.setX(l.getBlockX());
+        if (x > pos2.getBlockX()) {
+            pos2.setX(x);
         }
-        if (l.getBlockY() < pos1.getBlockY()) {
-            pos1.setY(l.getBlockY());
+        if (y < pos1.getBlockY()) {
+            pos1.setY(y);
         }
-        if (l.getBlockY() > pos2.getBlockY()) {
-            pos2.setY(l.getBlockY());
+        if (y > pos2.getBlockY()) {
+            pos2.setY(y);
         }
-        if (l.getBlockZ() < pos1.getBlockZ()) {
-            pos1.setZ(l.getBlockZ());
+        if (z < pos1.getBlockZ()) {
+            pos1.setZ(z);
         }
-        if (l.getBlockZ() > pos2.getBlockZ()) {
-            pos2.setZ(l.getBlockZ());
+        if (z > pos2.getBlockZ()) {
+            pos2.setZ(z);
         }
     }
 
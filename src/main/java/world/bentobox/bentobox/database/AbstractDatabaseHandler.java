@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
@@ -130,6 +131,17 @@ public abstract class AbstractDatabaseHandler<T> {
      */
     public abstract List<T> loadObjects() throws InstantiationException, IllegalAccessException, InvocationTargetException, ClassNotFoundException, IntrospectionException, NoSuchMethodException;
 
+    /**
+     * Loads all the records in this table and hands them to the consumer one by one, on the calling thread.
+     * Records are handed over in the same order each time the table is loaded.
+     * Databases that can, decode the records on other threads and do not hold all of them in memory at once.
+     * @param consumer - receives each object
+     * @since 1.14.0
+     */
+    public void loadObjects(Consumer<T> consumer) throws InstantiationException, IllegalAccessException, InvocationTargetException, ClassNotFoundException, IntrospectionException, NoSuchMethodException {
+        loadObjects().forEach(consumer);
+    }
+
     /**
      * Creates a <T> filled with values from the corresponding
      * database file
@@ -3,15 +3,24 @@ package world.bentobox.bentobox.database;
 import java.beans.IntrospectionException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
+import world.bentobox.bentobox.database.objects.DataObject;
 
 /**
  * Handy class to store and load Java POJOs in the Database
@@ -24,6 +33,33 @@ public class Database<T> {
     private AbstractDatabaseHandler<T> handler;
     private Logger logger;
     private static DatabaseSetup databaseSetup = DatabaseSetup.getDatabase();
+    /**
+     * Every database that has been made, so that their pending saves can be written when the plugin is disabled
+     */
+    private static final Set<Database<?>> DATABASES = Collections.newSetFromMap(new WeakHashMap<>());
+    /**
+     * True once the plugin has started to disable. Saves are written straight away from then on.
+     */
+    private static volatile boolean disabling;
+    private final BentoBox plugin;
+    /**
+     * Number of ticks that saves are collected for before they are written, or 0 to write them straight away
+     */
+    private final int saveWindow;
+    /**
+     * Objects waiting to be saved, by uniqueId
+     */
+    private final Map<String, PendingSave<T>> dirty = new LinkedHashMap<>();
+    @Nullable
+    private BukkitTask flushTask;
+
+    /**
+     * The latest instance of an object that has to be saved and the future of the save
+     */
+    private static class PendingSave<T> {
+        private T instance;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+    }
 
     /**
      * Construct a database
@@ -32,7 +68,10 @@ public class Database<T> {
      */
     public Database(BentoBox plugin, Class<T> type)  {
         this.logger = plugin.getLogger();
+        this.plugin = plugin;
+        this.saveWindow = plugin.getSettings() == null ? 0 : plugin.getSettings().getDatabaseSaveWindow();
         handler = databaseSetup.getHandler(type);
+        register();
     }
 
     /**
@@ -42,7 +81,16 @@ public class Database<T> {
      */
     public Database(Addon addon, Class<T> type)  {
         this.logger = addon.getLogger();
+        this.plugin = BentoBox.getInstance();
+        this.saveWindow = plugin == null || plugin.getSettings() == null ? 0 : plugin.getSettings().getDatabaseSaveWindow();
         handler = databaseSetup.getHandler(type);
+        register();
+    }
+
+    private void register() {
+        synchronized (DATABASES) {
+            DATABASES.add(this);
+        }
     }
 
     /**
@@ -62,6 +110,23 @@ public class Database<T> {
         return result;
     }
 
+    /**
+     * Load all the objects and hand them to the consumer one by one, on the calling thread.
+     * Unlike {@link #loadObjects()}, databases that can, decode the objects on other threads and do not
+     * hold all of them in memory at once.
+     * @param consumer - receives each object
+     * @since 1.14.0
+     */
+    public void loadObjects(@NonNull Consumer<T> consumer) {
+        try {
+            handler.loadObjects(consumer);
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | ClassNotFoundException | IntrospectionException
+                | NoSuchMethodException | SecurityException e) {
+            logger.severe(() -> "Could not load objects from database! Error: " + e.getMessage());
+        }
+    }
+
     /**
      * Loads the config object
      * @param uniqueId - unique id of the object
@@ -69,6 +134,13 @@ public class Database<T> {
      */
     @Nullable
     public T loadObject(String uniqueId) {
+        // An object that is waiting to be saved is newer than the one in the database
+        synchronized (dirty) {
+            PendingSave<T> pending = dirty.get(uniqueId);
+            if (pending != null) {
+                return pending.instance;
+            }
+        }
         T result = null;
         try {
             result = handler.loadObject(uniqueId);
@@ -84,11 +156,30 @@ public class Database<T> {
 
     /**
      * Save object async. Saving may be done sync, depending on the underlying database.
+     * <p>
+     * Saves of the same object made within the save window are coalesced: the object is
+     * serialized and written once, when the window ends, and all the saves share the same future.
      * @param instance to save
      * @return true if no immediate errors. If async, errors may occur later.
      * @since 1.13.0
      */
     public CompletableFuture<Boolean> saveObjectAsync(T instance) {
+        if (saveWindow <= 0 || disabling || !(instance instanceof DataObject) || !plugin.isEnabled() || plugin.isShutdown()) {
+            return save(instance);
+        }
+        String uniqueId = ((DataObject)instance).getUniqueId();
+        synchronized (dirty) {
+            // Only the latest instance is saved
+            PendingSave<T> pending = dirty.computeIfAbsent(uniqueId, k -> new PendingSave<>());
+            pending.instance = instance;
+            if (flushTask == null) {
+                flushTask = Bukkit.getScheduler().runTaskLater(plugin, this::flush, saveWindow);
+            }
+            return pending.future;
+        }
+    }
+
+    private CompletableFuture<Boolean> save(T instance) {
         try {
             return handler.saveObject(instance);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException
@@ -98,6 +189,40 @@ public class Database<T> {
         }
     }
 
+    /**
+     * Writes all the objects that are waiting to be saved, once each.
+     * Has to run on the main thread because objects are serialized when they are written.
+     * @since 1.14.0
+     */
+    public void flush() {
+        List<PendingSave<T>> toSave;
+        synchronized (dirty) {
+            if (flushTask != null) {
+                flushTask.cancel();
+                flushTask = null;
+            }
+            toSave = new ArrayList<>(dirty.values());
+            dirty.clear();
+        }
+        for (PendingSave<T> pending : toSave) {
+            save(pending.instance).whenComplete((r, e) -> pending.future.complete(e == null ? r : Boolean.FALSE));
+        }
+    }
+
+    /**
+     * Drops the pending save of this object, if any, because the object is being deleted
+     * @param uniqueId - uniqueId of object
+     */
+    private void undirty(String uniqueId) {
+        PendingSave<T> pending;
+        synchronized (dirty) {
+            pending = dirty.remove(uniqueId);
+        }
+        if (pending != null) {
+            pending.future.complete(true);
+        }
+    }
+
     /**
      * Save object. Saving may be done async or sync, depending on the underlying database.
      * @param instance to save
@@ -118,6 +243,11 @@ public class Database<T> {
      * @return true if it exists
      */
     public boolean objectExists(String name) {
+        synchronized (dirty) {
+            if (dirty.containsKey(name)) {
+                return true;
+            }
+        }
         return handler.objectExists(name);
     }
 
@@ -127,6 +257,7 @@ public class Database<T> {
      * @since 1.1
      */
     public void deleteID(String uniqueId) {
+        undirty(uniqueId);
         handler.deleteID(uniqueId);
     }
 
@@ -135,6 +266,9 @@ public class Database<T> {
      * @param object - object to delete
      */
     public void deleteObject(T object) {
+        if (object instanceof DataObject) {
+            undirty(((DataObject)object).getUniqueId());
+        }
         try {
             handler.deleteObject(object);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
@@ -147,9 +281,21 @@ public class Database<T> {
      * Close the database
      */
     public void close() {
+        flush();
         handler.close();
     }
 
-
-
+    /**
+     * Writes the pending saves of every database, and makes all saves from now on be written straight away.
+     * Called when the plugin starts to disable, because scheduled flushes will not run after that.
+     * @since 1.14.0
+     */
+    public static void flushAll() {
+        disabling = true;
+        List<Database<?>> databases;
+        synchronized (DATABASES) {
+            databases = new ArrayList<>(DATABASES);
+        }
+        databases.forEach(Database::flush);
+    }
 }
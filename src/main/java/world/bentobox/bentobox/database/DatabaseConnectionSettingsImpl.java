@@ -14,6 +14,24 @@ public class DatabaseConnectionSettingsImpl {
      */
     private boolean useSSL;
 
+    /**
+     * Maximum number of connections kept to the database. If this is 1, a single connection is shared.
+     * @since 1.14.0
+     */
+    private int maxConnections = 1;
+
+    /**
+     * Time in seconds that checking if a connection is still alive may take
+     * @since 1.14.0
+     */
+    private int validationTimeout = 5;
+
+    /**
+     * Time in seconds after which an unused pooled connection is closed
+     * @since 1.14.0
+     */
+    private int idleTimeout = 600;
+
     /**
      * Hosts database settings
      * @param host - database host
@@ -31,6 +49,27 @@ public class DatabaseConnectionSettingsImpl {
         this.useSSL = useSSL;
     }
 
+    /**
+     * Hosts database settings
+     * @param host - database host
+     * @param port - port
+     * @param databaseName - database name
+     * @param username - username
+     * @param password - password
+     * @param useSSL - whether to use SSL
+     * @param maxConnections - maximum number of connections kept to the database
+     * @param validationTimeout - time in seconds that checking if a connection is still alive may take
+     * @param idleTimeout - time in seconds after which an unused pooled connection is closed
+     * @since 1.14.0
+     */
+    public DatabaseConnectionSettingsImpl(String host, int port, String databaseName, String username, String password, boolean useSSL,
+            int maxConnections, int validationTimeout, int idleTimeout) {
+        this(host, port, databaseName, username, password, useSSL);
+        this.maxConnections = maxConnections;
+        this.validationTimeout = validationTimeout;
+        this.idleTimeout = idleTimeout;
+    }
+
     /**
      * @return the host
      */
@@ -117,4 +156,52 @@ public class DatabaseConnectionSettingsImpl {
     public void setUseSSL(boolean useSSL) {
         this.useSSL = useSSL;
     }
+
+    /**
+     * @return the maximum number of connections kept to the database
+     * @since 1.14.0
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @param maxConnections the maximum number of connections kept to the database
+     * @since 1.14.0
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * @return the time in seconds that checking if a connection is still alive may take
+     * @since 1.14.0
+     */
+    public int getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    /**
+     * @param validationTimeout the time in seconds that checking if a connection is still alive may take
+     * @since 1.14.0
+     */
+    public void setValidationTimeout(int validationTimeout) {
+        this.validationTimeout = validationTimeout;
+    }
+
+    /**
+     * @return the time in seconds after which an unused pooled connection is closed
+     * @since 1.14.0
+     */
+    public int getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * @param idleTimeout the time in seconds after which an unused pooled connection is closed
+     * @since 1.14.0
+     */
+    public void setIdleTimeout(int idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
 }
@@ -0,0 +1,144 @@
+package world.bentobox.bentobox.database;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.BentoBox;
+
+/**
+ * Decodes database records on a pool of worker threads and hands the objects to a consumer
+ * on the thread that adds the records, in the order the records were added.
+ * <p>
+ * Only a limited number of records are decoded ahead of the consumer, so loading a large table
+ * does not hold all of its objects in memory before they are used. All loaders share one pool of threads,
+ * which stop when they have not been used for a while.
+ * <p>
+ * The server's worlds must not be read from other threads, so the worlds are looked up when a loader is made,
+ * and decoders get them from {@link #getWorld(String)}.
+ * @author tastybento
+ *
+ * @param <S> the type of the records, e.g. a file or a JSON string
+ * @param <T> the type of the objects
+ * @since 1.14.0
+ */
+public class ParallelLoader<S, T> implements AutoCloseable {
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final int THREADS = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 8));
+    private static final ThreadPoolExecutor EXECUTOR = makeExecutor();
+    /**
+     * Worlds by name, set while a worker thread decodes a record
+     */
+    private static final ThreadLocal<Map<String, World>> decodingWorlds = new ThreadLocal<>();
+
+    private final Function<S, T> decoder;
+    private final Consumer<T> consumer;
+    private final int window = THREADS * 64;
+    private final Map<String, World> worlds;
+    private final Deque<Future<T>> pending = new ArrayDeque<>();
+
+    /**
+     * Makes a loader. This looks up the server's worlds, so it must be called on the main thread.
+     * @param decoder - decodes a record into an object, or returns null if it cannot be decoded.
+     * It is called from worker threads, so it must be thread-safe.
+     * @param consumer - receives the objects in the order the records were added
+     */
+    public ParallelLoader(@NonNull Function<S, @Nullable T> decoder, @NonNull Consumer<T> consumer) {
+        this.decoder = decoder;
+        this.consumer = consumer;
+        Map<String, World> map = new HashMap<>();
+        if (Bukkit.getServer() != null) {
+            Bukkit.getServer().getWorlds().forEach(w -> map.put(w.getName(), w));
+        }
+        this.worlds = Collections.unmodifiableMap(map);
+    }
+
+    private static ThreadPoolExecutor makeExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "BentoBox Database Loader " + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Gets a world by name. While a record is being decoded on a worker thread, this only finds the worlds that
+     * were loaded when the loader was made. Everywhere else, the server is asked.
+     * @param name - world name
+     * @return world, or null if there is no world with this name
+     */
+    @Nullable
+    public static World getWorld(@NonNull String name) {
+        Map<String, World> map = decodingWorlds.get();
+        return map == null ? Bukkit.getServer().getWorld(name) : map.get(name);
+    }
+
+    /**
+     * Adds a record to decode. Objects decoded earlier are handed to the consumer when enough records are waiting.
+     * @param source - record
+     */
+    public void add(S source) {
+        pending.add(EXECUTOR.submit(() -> {
+            decodingWorlds.set(worlds);
+            try {
+                return decoder.apply(source);
+            } finally {
+                decodingWorlds.remove();
+            }
+        }));
+        if (pending.size() >= window) {
+            next();
+        }
+    }
+
+    /**
+     * Waits for all the records to be decoded and hands the objects to the consumer
+     */
+    public void finish() {
+        while (!pending.isEmpty()) {
+            next();
+        }
+    }
+
+    private void next() {
+        try {
+            T object = pending.poll().get();
+            if (object != null) {
+                consumer.accept(object);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.clear();
+        } catch (ExecutionException e) {
+            BentoBox.getInstance().logError("Could not load object " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Stops decoding the records that are still waiting. The threads are kept for other loaders.
+     */
+    @Override
+    public void close() {
+        pending.forEach(f -> f.cancel(true));
+        pending.clear();
+    }
+}
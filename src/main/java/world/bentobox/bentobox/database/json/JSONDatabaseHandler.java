@@ -12,15 +12,19 @@ import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
+import world.bentobox.bentobox.database.ParallelLoader;
 import world.bentobox.bentobox.database.objects.DataObject;
 
 public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
@@ -43,7 +47,15 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
     public List<T> loadObjects() {
         // In this case, all the objects of a specific type are being loaded.
         List<T> list = new ArrayList<>();
+        loadObjects(list::add);
+        return list;
+    }
 
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.AbstractDatabaseHandler#loadObjects(java.util.function.Consumer)
+     */
+    @Override
+    public void loadObjects(Consumer<T> consumer) {
         // The path is the simple name of the class
         String path = dataObject.getSimpleName();
 
@@ -55,24 +67,32 @@ public class JSONDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
             // Nothing there...
             tableFolder.mkdirs();
         }
+        File[] files = Objects.requireNonNull(tableFolder.listFiles((dir, name) ->  name.toLowerCase(Locale.ENGLISH).endsWith(JSON)));
+        // Sort the files so that they are always loaded in the same order
+        Arrays.sort(files);
         // Load each object from the file system, filtered, non-null
-        for (File file: Objects.requireNonNull(tableFolder.listFiles((dir, name) ->  name.toLowerCase(Locale.ENGLISH).endsWith(JSON)))) {
-            try (FileReader reader = new FileReader(file)){
-                T object = getGson().fromJson(reader, dataObject);
-                if (object != null) {
-                    list.add(object);
-                } else {
-                    plugin.logError("JSON file created a null object: " + file.getPath());
-                    reader.close(); // NOSONAR Required to keep OS file handlers low and not rely on GC
-                }
-            } catch (FileNotFoundException e) {
-                plugin.logError("Could not load file '" + file.getName() + "': File not found.");
-
-            } catch (Exception e) {
-                plugin.logError("Could not load objects " + file.getName() + " " + e.getMessage());
+        try (ParallelLoader<File, T> loader = new ParallelLoader<>(this::loadFile, consumer)) {
+            for (File file : files) {
+                loader.add(file);
             }
+            loader.finish();
         }
-        return list;
+    }
+
+    @Nullable
+    private T loadFile(File file) {
+        try (FileReader reader = new FileReader(file)){
+            T object = getGson().fromJson(reader, dataObject);
+            if (object == null) {
+                plugin.logError("JSON file created a null object: " + file.getPath());
+            }
+            return object;
+        } catch (FileNotFoundException e) {
+            plugin.logError("Could not load file '" + file.getName() + "': File not found.");
+        } catch (Exception e) {
+            plugin.logError("Could not load objects " + file.getName() + " " + e.getMessage());
+        }
+        return null;
     }
 
     @Override
@@ -2,7 +2,6 @@ package world.bentobox.bentobox.database.json.adapters;
 
 import java.io.IOException;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 
@@ -11,6 +10,8 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
+import world.bentobox.bentobox.database.ParallelLoader;
+
 public class LocationTypeAdapter extends TypeAdapter<Location> {
 
     @Override
@@ -36,7 +37,7 @@ public class LocationTypeAdapter extends TypeAdapter<Location> {
             return null;
         }
         in.beginArray();
-        World world = Bukkit.getServer().getWorld(in.nextString());
+        World world = ParallelLoader.getWorld(in.nextString());
         double x = in.nextDouble();
         double y = in.nextDouble();
         double z = in.nextDouble();
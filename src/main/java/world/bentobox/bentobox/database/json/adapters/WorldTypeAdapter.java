@@ -2,7 +2,6 @@ package world.bentobox.bentobox.database.json.adapters;
 
 import java.io.IOException;
 
-import org.bukkit.Bukkit;
 import org.bukkit.World;
 
 import com.google.gson.TypeAdapter;
@@ -10,6 +9,8 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
+import world.bentobox.bentobox.database.ParallelLoader;
+
 public class WorldTypeAdapter extends TypeAdapter<World> {
 
     @Override
@@ -28,6 +29,6 @@ public class WorldTypeAdapter extends TypeAdapter<World> {
             reader.nextNull();
             return null;
         }
-        return Bukkit.getServer().getWorld(reader.nextString());
+        return ParallelLoader.getWorld(reader.nextString());
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package world.bentobox.bentobox.database.objects;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -10,7 +11,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -32,6 +35,9 @@ import world.bentobox.bentobox.api.commands.CompositeCommand;
 import world.bentobox.bentobox.api.configuration.WorldSettings;
 import world.bentobox.bentobox.api.events.island.IslandEvent;
 import world.bentobox.bentobox.api.flags.Flag;
+import world.bentobox.bentobox.api.flags.FlagCooldownMap;
+import world.bentobox.bentobox.api.flags.FlagDecisionCache;
+import world.bentobox.bentobox.api.flags.FlagRankMap;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.logs.LogEntry;
 import world.bentobox.bentobox.api.user.User;
@@ -42,6 +48,7 @@ import world.bentobox.bentobox.database.objects.adapters.LogEntryListAdapter;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.RanksManager;
+import world.bentobox.bentobox.managers.island.IslandOccupancy;
 import world.bentobox.bentobox.util.Pair;
 import world.bentobox.bentobox.util.Util;
 
@@ -121,7 +128,7 @@ public class Island implements DataObject {
      * {@link RanksManager#OWNER_RANK OWNER}.
      */
     @Expose
-    private Map<UUID, Integer> members = new HashMap<>();
+    private volatile Map<UUID, Integer> members = new HashMap<>();
 
     //// State ////
     @Expose
@@ -130,9 +137,13 @@ public class Island implements DataObject {
     private boolean purgeProtected = false;
 
     //// Protection flags ////
+    /**
+     * Flag ranks. This is a {@link FlagRankMap} unless the database has put another map here,
+     * see {@link #flags()}.
+     */
     @Adapter(FlagSerializer.class)
     @Expose
-    private Map<Flag, Integer> flags = new HashMap<>();
+    private Map<Flag, Integer> flags = new FlagRankMap();
 
     //// Island History ////
     @Adapter(LogEntryListAdapter.class)
@@ -155,7 +166,7 @@ public class Island implements DataObject {
      */
     @Adapter(FlagSerializer3.class)
     @Expose
-    private Map<Flag, Long> cooldowns = new HashMap<>();
+    private Map<Flag, Long> cooldowns = new FlagCooldownMap();
 
     /**
      * Commands and the rank required to use them for this island
@@ -270,7 +281,8 @@ public class Island implements DataObject {
      * @return {@code true} if the target is successfully unbanned, {@code false} otherwise.
      */
     public boolean unban(@NonNull UUID issuer, @NonNull UUID target) {
-        if (members.remove(target) != null) {
+        if (members.containsKey(target)) {
+            changeMembers(m -> m.remove(target));
             log(new LogEntry.Builder("UNBAN").data("player", target.toString()).data("issuer", issuer.toString()).build());
             return true;
         }
@@ -301,8 +313,7 @@ public class Island implements DataObject {
      * @return flag value
      */
     public int getFlag(@NonNull Flag flag) {
-        flags.putIfAbsent(flag, flag.getDefaultRank());
-        return flags.get(flag);
+        return flags().getOrPut(flag, flag.getDefaultRank());
     }
 
     /**
@@ -312,6 +323,40 @@ public class Island implements DataObject {
         return flags;
     }
 
+    /**
+     * Copies the flag ranks and cooldowns into a {@link FlagRankMap} and a {@link FlagCooldownMap} if the database
+     * loader has set maps of its own. This is done on the main thread when the island is loaded, so that reading
+     * the flags from another thread does not change them.
+     * @since 1.14.0
+     */
+    public void convertFlagMaps() {
+        flags();
+        cooldowns();
+    }
+
+    /**
+     * Gets the flag ranks as a {@link FlagRankMap}. Database loaders set the field directly with a map of their own,
+     * so that map is copied the first time it is changed, if {@link #convertFlagMaps()} has not been called.
+     * @return the flag ranks
+     */
+    private FlagRankMap flags() {
+        if (!(flags instanceof FlagRankMap)) {
+            flags = new FlagRankMap(flags == null ? Collections.<Flag, Integer>emptyMap() : flags);
+        }
+        return (FlagRankMap) flags;
+    }
+
+    /**
+     * Same as {@link #flags()}, for the cooldowns
+     * @return the cooldowns
+     */
+    private FlagCooldownMap cooldowns() {
+        if (!(cooldowns instanceof FlagCooldownMap)) {
+            cooldowns = new FlagCooldownMap(cooldowns == null ? Collections.<Flag, Long>emptyMap() : cooldowns);
+        }
+        return (FlagCooldownMap) cooldowns;
+    }
+
     /**
      * @return the levelHandicap
      */
@@ -325,6 +370,10 @@ public class Island implements DataObject {
      * {@link RanksManager#TRUSTED_RANK TRUSTED}, {@link RanksManager#MEMBER_RANK MEMBER}, {@link RanksManager#SUB_OWNER_RANK SUB_OWNER},
      * {@link RanksManager#OWNER_RANK OWNER}, etc.
      *
+     * <p>
+     * The members are read from other threads without locking, so do not change this map.
+     * Use {@link #setRank(UUID, int)}, {@link #removeMember(UUID)} or {@link #setMembers(Map)} instead.
+     *
      * @return the members - key is the UUID, value is the RanksManager enum, e.g. {@link RanksManager#MEMBER_RANK}.
      * @see #getMemberSet()
      */
@@ -619,8 +668,8 @@ public class Island implements DataObject {
      */
     @NonNull
     public List<Player> getVisitors() {
-        return Bukkit.getOnlinePlayers().stream()
-                .filter(player -> onIsland(player.getLocation()) && getRank(User.getInstance(player)) == RanksManager.VISITOR_RANK)
+        return occupants()
+                .filter(player -> getRank(User.getInstance(player)) == RanksManager.VISITOR_RANK)
                 .collect(Collectors.toList());
     }
 
@@ -633,7 +682,7 @@ public class Island implements DataObject {
      * @see #getVisitors()
      */
     public boolean hasVisitors() {
-        return Bukkit.getOnlinePlayers().stream().anyMatch(player -> onIsland(player.getLocation()) && getRank(User.getInstance(player)) == RanksManager.VISITOR_RANK);
+        return occupants().anyMatch(player -> getRank(User.getInstance(player)) == RanksManager.VISITOR_RANK);
     }
 
     /**
@@ -643,9 +692,7 @@ public class Island implements DataObject {
      */
     @NonNull
     public List<Player> getPlayersOnIsland() {
-        return Bukkit.getOnlinePlayers().stream()
-                .filter(player -> onIsland(player.getLocation()))
-                .collect(Collectors.toList());
+        return occupants().collect(Collectors.toList());
     }
 
     /**
@@ -657,7 +704,24 @@ public class Island implements DataObject {
      * @see #getPlayersOnIsland()
      */
     public boolean hasPlayersOnIsland() {
-        return Bukkit.getOnlinePlayers().stream().anyMatch(player -> onIsland(player.getLocation()));
+        return occupants().findAny().isPresent();
+    }
+
+    /**
+     * Get the online players inside the island's protection range.
+     * The players are found using the island occupancy index, and only checked against their location,
+     * instead of checking every online player.
+     * @return stream of players on this island
+     */
+    private Stream<Player> occupants() {
+        BentoBox plugin = BentoBox.getInstance();
+        IslandOccupancy occupancy = plugin == null || plugin.getIslands() == null ? null : plugin.getIslands().getOccupancy();
+        if (occupancy == null) {
+            return Bukkit.getOnlinePlayers().stream().map(Player.class::cast).filter(player -> onIsland(player.getLocation()));
+        }
+        return occupancy.getOccupants(this).stream()
+                .map(Bukkit::getPlayer)
+                .filter(player -> player != null && onIsland(player.getLocation()));
     }
 
     /**
@@ -723,7 +787,7 @@ public class Island implements DataObject {
      * @param playerUUID - uuid of player
      */
     public void removeMember(UUID playerUUID) {
-        members.remove(playerUUID);
+        changeMembers(m -> m.remove(playerUUID));
     }
 
     /**
@@ -749,14 +813,16 @@ public class Island implements DataObject {
      * @param value - Use RanksManager settings, e.g. RanksManager.MEMBER
      */
     public void setFlag(Flag flag, int value){
-        flags.put(flag, value);
+        flags().put(flag, value);
+        FlagDecisionCache.invalidateAll();
     }
 
     /**
      * @param flags the flags to set
      */
     public void setFlags(Map<Flag, Integer> flags) {
-        this.flags = flags;
+        this.flags = new FlagRankMap(flags);
+        FlagDecisionCache.invalidateAll();
     }
 
     /**
@@ -785,6 +851,18 @@ public class Island implements DataObject {
      */
     public void setMembers(Map<UUID, Integer> members) {
         this.members = members;
+        FlagDecisionCache.invalidateAll();
+    }
+
+    /**
+     * Changes a copy of the members and then replaces the members with it,
+     * so the members can be read from other threads while they are changed
+     * @param change - change to make to the members
+     */
+    private void changeMembers(Consumer<Map<UUID, Integer>> change) {
+        Map<UUID, Integer> copy = new HashMap<>(members);
+        change.accept(copy);
+        setMembers(copy);
     }
 
     /**
@@ -807,6 +885,7 @@ public class Island implements DataObject {
         }
 
         this.owner = owner;
+        FlagDecisionCache.invalidateAll();
         if (owner == null) {
             log(new LogEntry.Builder("UNOWNED").build());
             return;
@@ -872,7 +951,7 @@ public class Island implements DataObject {
         if (uuid == null) {
             return; // Defensive code
         }
-        members.put(uuid, rank);
+        changeMembers(m -> m.put(uuid, rank));
     }
 
     /**
@@ -880,6 +959,7 @@ public class Island implements DataObject {
      */
     public void setRanks(Map<UUID, Integer> ranks) {
         members = ranks;
+        FlagDecisionCache.invalidateAll();
     }
 
     /**
@@ -897,7 +977,7 @@ public class Island implements DataObject {
         spawn = isSpawn;
         if (isSpawn) {
             setOwner(null);
-            members.clear();
+            setMembers(new HashMap<>());
             setFlagsDefaults();
             setFlag(Flags.LOCK, RanksManager.VISITOR_RANK);
         }
@@ -1025,7 +1105,8 @@ public class Island implements DataObject {
      */
     public void setSettingsFlag(Flag flag, boolean state) {
         if (flag.getType().equals(Flag.Type.SETTING) || flag.getType().equals(Flag.Type.WORLD_SETTING)) {
-            flags.put(flag, state ? 1 : -1);
+            flags().put(flag, state ? 1 : -1);
+            FlagDecisionCache.invalidateAll();
         }
     }
 
@@ -1053,7 +1134,9 @@ public class Island implements DataObject {
      * @param rank rank value
      */
     public void removeRank(Integer rank) {
-        members.values().removeIf(rank::equals);
+        if (members.containsValue(rank)) {
+            changeMembers(m -> m.values().removeIf(rank::equals));
+        }
     }
 
     /**
@@ -1158,10 +1241,11 @@ public class Island implements DataObject {
      * @since 1.6.0
      */
     public boolean isCooldown(Flag flag) {
-        if (cooldowns.containsKey(flag) && cooldowns.get(flag) > System.currentTimeMillis()) {
+        FlagCooldownMap c = cooldowns();
+        if (c.getTime(flag) > System.currentTimeMillis()) {
             return true;
         }
-        cooldowns.remove(flag);
+        c.remove(flag);
         return false;
     }
 
@@ -1170,7 +1254,7 @@ public class Island implements DataObject {
      * @param flag - Flag to cooldown
      */
     public void setCooldown(Flag flag) {
-        cooldowns.put(flag, flag.getCooldown() * 1000 + System.currentTimeMillis());
+        cooldowns().put(flag, flag.getCooldown() * 1000 + System.currentTimeMillis());
     }
 
     /**
@@ -1184,7 +1268,7 @@ public class Island implements DataObject {
      * @param cooldowns the cooldowns to set
      */
     public void setCooldowns(Map<Flag, Long> cooldowns) {
-        this.cooldowns = cooldowns;
+        this.cooldowns = new FlagCooldownMap(cooldowns);
     }
 
     /**
@@ -0,0 +1,146 @@
+package world.bentobox.bentobox.database.objects;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.annotations.Expose;
+
+/**
+ * Stores which island cells of a world have been handed out to new islands.
+ * Cells are numbered in the order they are handed out, spiraling out from the world's first island.
+ * @author tastybento
+ * @since 1.14.0
+ */
+@Table(name = "IslandCells")
+public class IslandCells implements DataObject {
+
+    @Expose
+    private String uniqueId = ""; // world name
+    /**
+     * Island distance and lattice origin the cells were numbered with
+     */
+    @Expose
+    private int distance;
+    @Expose
+    private int x;
+    @Expose
+    private int z;
+    /**
+     * First cell that has never been handed out
+     */
+    @Expose
+    private long next;
+    /**
+     * Cells whose islands were deleted and whose blocks were regenerated
+     */
+    @Expose
+    private List<Long> free = new ArrayList<>();
+    /**
+     * Cells that were handed out but do not have an island yet
+     */
+    @Expose
+    private List<Long> reserved = new ArrayList<>();
+
+    public IslandCells() {}
+
+    public IslandCells(String worldName, int distance, int x, int z) {
+        this.uniqueId = worldName;
+        this.distance = distance;
+        this.x = x;
+        this.z = z;
+    }
+
+    @Override
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    @Override
+    public void setUniqueId(String uniqueId) {
+        this.uniqueId = uniqueId;
+    }
+
+    /**
+     * @return the distance
+     */
+    public int getDistance() {
+        return distance;
+    }
+
+    /**
+     * @param distance the distance to set
+     */
+    public void setDistance(int distance) {
+        this.distance = distance;
+    }
+
+    /**
+     * @return the x
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @param x the x to set
+     */
+    public void setX(int x) {
+        this.x = x;
+    }
+
+    /**
+     * @return the z
+     */
+    public int getZ() {
+        return z;
+    }
+
+    /**
+     * @param z the z to set
+     */
+    public void setZ(int z) {
+        this.z = z;
+    }
+
+    /**
+     * @return the next
+     */
+    public long getNext() {
+        return next;
+    }
+
+    /**
+     * @param next the next to set
+     */
+    public void setNext(long next) {
+        this.next = next;
+    }
+
+    /**
+     * @return the free
+     */
+    public List<Long> getFree() {
+        return free;
+    }
+
+    /**
+     * @param free the free to set
+     */
+    public void setFree(List<Long> free) {
+        this.free = free;
+    }
+
+    /**
+     * @return the reserved
+     */
+    public List<Long> getReserved() {
+        return reserved;
+    }
+
+    /**
+     * @param reserved the reserved to set
+     */
+    public void setReserved(List<Long> reserved) {
+        this.reserved = reserved;
+    }
+}
@@ -52,6 +52,14 @@ public class IslandDeletion implements DataObject {
     @Expose
     BoundingBox box;
 
+    /**
+     * Number of chunk positions that have been regenerated, counting along z and then x from the min chunk.
+     * Saved so that the deletion can carry on from here after a restart.
+     * @since 1.14.0
+     */
+    @Expose
+    private int progress;
+
     public IslandDeletion() {}
 
     public IslandDeletion(Island island) {
@@ -239,6 +247,22 @@ public class IslandDeletion implements DataObject {
         this.box = box;
     }
 
+    /**
+     * @return the number of chunk positions that have been regenerated
+     * @since 1.14.0
+     */
+    public int getProgress() {
+        return progress;
+    }
+
+    /**
+     * @param progress the number of chunk positions that have been regenerated
+     * @since 1.14.0
+     */
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
      */
@@ -246,7 +270,7 @@ public class IslandDeletion implements DataObject {
     public String toString() {
         return "IslandDeletion [uniqueId=" + uniqueId + ", location=" + location + ", minXChunk=" + minXChunk
                 + ", maxXChunk=" + maxXChunk + ", minZChunk=" + minZChunk + ", maxZChunk=" + maxZChunk + ", minX="
-                + minX + ", minZ=" + minZ + ", maxX=" + maxX + ", maxZ=" + maxZ + ", box=" + box + "]";
+                + minX + ", minZ=" + minZ + ", maxX=" + maxX + ", maxZ=" + maxZ + ", box=" + box + ", progress=" + progress + "]";
     }
 
 }
@@ -53,6 +53,13 @@ public class Players implements DataObject {
     @Expose
     private Flag.Mode flagsDisplayMode = Flag.Mode.BASIC;
 
+    /**
+     * When the player last joined or left the server, in milliseconds. 0 if it is not known.
+     * @since 1.14.0
+     */
+    @Expose
+    private long lastLogin;
+
     /**
      * This is required for database storage
      */
@@ -339,4 +346,22 @@ public class Players implements DataObject {
     public void setFlagsDisplayMode(Flag.Mode flagsDisplayMode) {
         this.flagsDisplayMode = flagsDisplayMode;
     }
+
+    /**
+     * Returns when the player last joined or left the server.
+     * @return time in milliseconds, or 0 if it is not known
+     * @since 1.14.0
+     */
+    public long getLastLogin() {
+        return lastLogin;
+    }
+
+    /**
+     * Sets when the player last joined or left the server.
+     * @param lastLogin time in milliseconds
+     * @since 1.14.0
+     */
+    public void setLastLogin(long lastLogin) {
+        this.lastLogin = lastLogin;
+    }
 }
@@ -31,7 +31,8 @@ public class SQLConfiguration {
         // Only rename if there is a specific Table annotation
         renameRequired = !tableName.equals(oldTableName);
         schema("CREATE TABLE IF NOT EXISTS `[tableName]` (json JSON, uniqueId VARCHAR(255) GENERATED ALWAYS AS (json->\"$.uniqueId\"), UNIQUE INDEX i (uniqueId) )");
-        loadObjects("SELECT `json` FROM `[tableName]`");
+        // Objects are loaded in the same order each time
+        loadObjects("SELECT `json` FROM `[tableName]` ORDER BY `uniqueId`");
         loadObject("SELECT `json` FROM `[tableName]` WHERE uniqueId = ? LIMIT 1");
         saveObject("INSERT INTO `[tableName]` (json) VALUES (?) ON DUPLICATE KEY UPDATE json = ?");
         deleteObject("DELETE FROM `[tableName]` WHERE uniqueId = ?");
@@ -0,0 +1,179 @@
+package world.bentobox.bentobox.database.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A small pool of connections to an SQL database.
+ * <p>
+ * Connections are checked before they are handed out if they have not been used for a while,
+ * so connections closed by the database server, e.g. after MySQL's wait_timeout, are replaced
+ * instead of failing every statement. Connections that stay unused for longer than the idle
+ * timeout are closed.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class SQLConnectionPool {
+
+    /**
+     * Connections used more recently than this are not checked before they are handed out
+     */
+    private static final long VALIDATION_INTERVAL = 500L;
+    /**
+     * Time in seconds to wait for a connection when all of them are in use
+     */
+    private static final long BORROW_TIMEOUT = 30L;
+
+    /**
+     * Opens new connections
+     */
+    @FunctionalInterface
+    public interface Connect {
+        Connection connect() throws SQLException;
+    }
+
+    private static class Idle {
+        private final Connection connection;
+        private final long since;
+
+        private Idle(Connection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+
+    private final Connect connect;
+    private final int validationTimeout;
+    private final long idleTimeout;
+    private final Semaphore permits;
+    /**
+     * Unused connections, most recently used first
+     */
+    private final Deque<Idle> idle = new ArrayDeque<>();
+    private boolean closed;
+
+    /**
+     * @param connect - opens a new connection
+     * @param size - maximum number of connections
+     * @param validationTimeout - time in seconds that checking if a connection is still alive may take
+     * @param idleTimeout - time in seconds after which an unused connection is closed
+     */
+    public SQLConnectionPool(@NonNull Connect connect, int size, int validationTimeout, int idleTimeout) {
+        this.connect = connect;
+        this.permits = new Semaphore(Math.max(1, size), true);
+        this.validationTimeout = Math.max(0, validationTimeout);
+        this.idleTimeout = idleTimeout * 1000L;
+    }
+
+    /**
+     * Get a connection. It must be given back with {@link #release(Connection)}.
+     * @return a connection that is alive
+     * @throws SQLException if no connection can be made or all connections stay in use for too long
+     */
+    @NonNull
+    public Connection borrow() throws SQLException {
+        try {
+            if (!permits.tryAcquire(BORROW_TIMEOUT, TimeUnit.SECONDS)) {
+                throw new SQLException("Timed out waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection");
+        }
+        try {
+            Idle i;
+            while ((i = poll()) != null) {
+                if (isAlive(i)) {
+                    return i.connection;
+                }
+                close(i.connection);
+            }
+            Connection c = connect.connect();
+            if (c == null) {
+                throw new SQLException("Could not connect to the database");
+            }
+            return c;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives a connection back to the pool
+     * @param connection - connection from {@link #borrow()}
+     */
+    public void release(@NonNull Connection connection) {
+        boolean keep;
+        synchronized (idle) {
+            keep = !closed;
+            if (keep) {
+                idle.push(new Idle(connection, System.currentTimeMillis()));
+            }
+        }
+        if (!keep) {
+            close(connection);
+        }
+        permits.release();
+    }
+
+    /**
+     * Closes all the unused connections. Connections in use are closed when they are released.
+     */
+    public void close() {
+        synchronized (idle) {
+            closed = true;
+            idle.forEach(i -> close(i.connection));
+            idle.clear();
+        }
+    }
+
+    /**
+     * Takes the most recently used connection and closes those that have been unused for too long
+     * @return an unused connection or null if there is none
+     */
+    private Idle poll() {
+        long now = System.currentTimeMillis();
+        synchronized (idle) {
+            // The least recently used connections are at the end
+            while (!idle.isEmpty() && now - idle.peekLast().since > idleTimeout) {
+                close(idle.pollLast().connection);
+            }
+            return idle.poll();
+        }
+    }
+
+    private boolean isAlive(Idle i) {
+        try {
+            return System.currentTimeMillis() - i.since < VALIDATION_INTERVAL
+                    ? !i.connection.isClosed()
+                            : i.connection.isValid(validationTimeout);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Bukkit.getLogger().warning("Could not close database connection " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of unused connections
+     */
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+}
@@ -18,6 +18,18 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
     private DatabaseConnectionSettingsImpl dbSettings;
     protected static Connection connection = null;
     protected static Set<Class<?>> types = new HashSet<>();
+    /**
+     * Time the shared connection was last used
+     */
+    private static long lastUsed;
+    /**
+     * The shared connection is checked if it has not been used for this long
+     */
+    private static final long VALIDATION_INTERVAL = 500L;
+    /**
+     * Pool of connections or null if a single connection is shared
+     */
+    private SQLConnectionPool pool;
 
     public SQLDatabaseConnector(DatabaseConnectionSettingsImpl dbSettings, String connectionUrl) {
         this.dbSettings = dbSettings;
@@ -45,12 +57,18 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
     @Override
     public void closeConnection(Class<?> type) {
         types.remove(type);
-        if (types.isEmpty() && connection != null) {
-            try {
-                connection.close();
-                Bukkit.getLogger().info("Closed database connection");
-            } catch (SQLException e) {
-                Bukkit.getLogger().severe("Could not close database connection");
+        if (types.isEmpty()) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
+            if (connection != null) {
+                try {
+                    connection.close();
+                    Bukkit.getLogger().info("Closed database connection");
+                } catch (SQLException e) {
+                    Bukkit.getLogger().severe("Could not close database connection");
+                }
             }
         }
     }
@@ -58,10 +76,14 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
     @Override
     public Object createConnection(Class<?> type) {
         types.add(type);
+        if (pool == null && dbSettings != null && dbSettings.getMaxConnections() > 1) {
+            pool = new SQLConnectionPool(this::connect, dbSettings.getMaxConnections(), dbSettings.getValidationTimeout(), dbSettings.getIdleTimeout());
+        }
         // Only make one connection to the database
         if (connection == null) {
             try {
-                connection = DriverManager.getConnection(connectionUrl, dbSettings.getUsername(), dbSettings.getPassword());
+                connection = connect();
+                lastUsed = System.currentTimeMillis();
             } catch (SQLException e) {
                 Bukkit.getLogger().severe("Could not connect to the database! " + e.getMessage());
             }
@@ -69,4 +91,78 @@ public abstract class SQLDatabaseConnector implements DatabaseConnector {
         return connection;
     }
 
+    /**
+     * Opens a new connection to the database
+     * @return connection
+     * @throws SQLException if the connection cannot be made
+     * @since 1.14.0
+     */
+    protected Connection connect() throws SQLException {
+        return DriverManager.getConnection(connectionUrl, dbSettings.getUsername(), dbSettings.getPassword());
+    }
+
+    /**
+     * Get a connection to run statements on. If connections are pooled, the connection is only used by the caller
+     * until it is given back with {@link #releaseConnection(Connection)}. Otherwise, the shared connection is returned,
+     * and it is replaced first if it is no longer alive.
+     * @return connection
+     * @throws SQLException if no connection can be made
+     * @since 1.14.0
+     */
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        SQLConnectionPool p = pool;
+        if (p != null) {
+            return p.borrow();
+        }
+        synchronized (SQLDatabaseConnector.class) {
+            long now = System.currentTimeMillis();
+            if (connection == null || (now - lastUsed > VALIDATION_INTERVAL && !isValid(connection))) {
+                if (connection != null) {
+                    Bukkit.getLogger().warning("Database connection was lost. Reconnecting...");
+                    closeQuietly(connection);
+                }
+                connection = connect();
+            }
+            lastUsed = now;
+            return connection;
+        }
+    }
+
+    /**
+     * Gives back a connection from {@link #getConnection()}
+     * @param c - connection
+     * @since 1.14.0
+     */
+    public void releaseConnection(@NonNull Connection c) {
+        SQLConnectionPool p = pool;
+        if (p != null && c != connection) {
+            p.release(c);
+        }
+    }
+
+    /**
+     * @return true if connections are pooled, so a connection from {@link #getConnection()} is only used by the caller
+     * @since 1.14.0
+     */
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+    private boolean isValid(Connection c) {
+        try {
+            return c.isValid(dbSettings == null ? 5 : dbSettings.getValidationTimeout());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection c) {
+        try {
+            c.close();
+        } catch (SQLException e) {
+            // Nothing to do - the connection is being replaced
+        }
+    }
+
 }
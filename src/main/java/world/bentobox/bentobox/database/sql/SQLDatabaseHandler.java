@@ -7,18 +7,22 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
+import world.bentobox.bentobox.database.ParallelLoader;
 import world.bentobox.bentobox.database.json.AbstractJSONDatabaseHandler;
 import world.bentobox.bentobox.database.objects.DataObject;
 
@@ -46,6 +50,35 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
      */
     private SQLConfiguration sqlConfig;
 
+    /**
+     * Maximum number of rows sent to the database in one go. Larger batches are split but stay in one transaction.
+     */
+    private static final int MAX_BATCH_ROWS = 500;
+
+    /**
+     * Number of rows the driver is asked to fetch at a time when loading all the objects
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Saves waiting to be written by the process queue, by uniqueId, or null if there are none
+     */
+    private Map<String, PendingSave> batch;
+    private final Object batchLock = new Object();
+
+    /**
+     * The latest JSON of an object and everyone waiting for it to be saved
+     */
+    private static class PendingSave {
+        private String json;
+        private final List<CompletableFuture<Boolean>> futures = new ArrayList<>(1);
+
+        private void set(String json, CompletableFuture<Boolean> future) {
+            this.json = json;
+            futures.add(future);
+        }
+    }
+
     /**
      * Handles the connection to the database and creation of the initial database schema (tables) for
      * the class that will be stored.
@@ -99,55 +132,103 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
 
     @Override
     public List<T> loadObjects() {
-        try (Statement preparedStatement = connection.createStatement()) {
-            return loadIt(preparedStatement);
+        List<T> list = new ArrayList<>();
+        loadObjects(list::add);
+        return list;
+    }
+
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.AbstractDatabaseHandler#loadObjects(java.util.function.Consumer)
+     */
+    @Override
+    public void loadObjects(Consumer<T> consumer) {
+        Connection c = null;
+        try {
+            c = borrowConnection();
+            boolean autoCommit = c.getAutoCommit();
+            try (Statement preparedStatement = createLoadStatement(c, isExclusive(c))) {
+                loadIt(preparedStatement, consumer);
+            } finally {
+                if (c.getAutoCommit() != autoCommit) {
+                    c.setAutoCommit(autoCommit);
+                }
+            }
         } catch (SQLException e) {
             plugin.logError(COULD_NOT_LOAD_OBJECTS + e.getMessage());
+        } finally {
+            releaseConnection(c);
         }
-        return Collections.emptyList();
     }
 
-    private List<T> loadIt(Statement preparedStatement) {
-        List<T> list = new ArrayList<>();
-        try (ResultSet resultSet = preparedStatement.executeQuery(sqlConfig.getLoadObjectsSQL())) {
+    /**
+     * Creates the statement that loads all the objects. The driver is asked to fetch the rows a batch at a time.
+     * Drivers that need other settings to read the rows as they are decoded, instead of all at once, override this.
+     * @param c - connection
+     * @param exclusive - true if the connection is only used by this load, so it can be changed or held until all
+     * the rows are read
+     * @return statement
+     * @throws SQLException if the statement cannot be made
+     * @since 1.14.0
+     */
+    protected Statement createLoadStatement(Connection c, boolean exclusive) throws SQLException {
+        Statement statement = c.createStatement();
+        statement.setFetchSize(FETCH_SIZE);
+        return statement;
+    }
+
+    private boolean isExclusive(Connection c) {
+        return c != connection && databaseConnector instanceof SQLDatabaseConnector && ((SQLDatabaseConnector)databaseConnector).isPooled();
+    }
+
+    private void loadIt(Statement preparedStatement, Consumer<T> consumer) {
+        // Rows are read here and decoded on other threads
+        try (ParallelLoader<String, T> loader = new ParallelLoader<>(this::decode, consumer);
+                ResultSet resultSet = preparedStatement.executeQuery(sqlConfig.getLoadObjectsSQL())) {
             // Load all the results
-            Gson gson = getGson();
             while (resultSet.next()) {
                 String json = resultSet.getString("json");
                 if (json != null) {
-                    try {
-                        T gsonResult = gson.fromJson(json, dataObject);
-                        if (gsonResult != null) {
-                            list.add(gsonResult);
-                        }
-                    } catch (JsonSyntaxException ex) {
-                        plugin.logError(COULD_NOT_LOAD_OBJECT + ex.getMessage());
-                        plugin.logError(json);
-                    }
+                    loader.add(json);
                 }
             }
+            loader.finish();
         } catch (Exception e) {
             plugin.logError(COULD_NOT_LOAD_OBJECTS + e.getMessage());
         }
-        return list;
+    }
+
+    @Nullable
+    private T decode(String json) {
+        try {
+            return getGson().fromJson(json, dataObject);
+        } catch (JsonSyntaxException ex) {
+            plugin.logError(COULD_NOT_LOAD_OBJECT + ex.getMessage());
+            plugin.logError(json);
+        }
+        return null;
     }
 
     @Override
     public T loadObject(@NonNull String uniqueId) {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getLoadObjectSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, "\"" + uniqueId + "\"");
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    // If there is a result, we only want/need the first one
-                    Gson gson = getGson();
-                    return gson.fromJson(resultSet.getString("json"), dataObject);
+        Connection c = null;
+        try {
+            c = borrowConnection();
+            try (PreparedStatement preparedStatement = c.prepareStatement(sqlConfig.getLoadObjectSQL())) {
+                setUniqueIdParameter(preparedStatement, uniqueId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        // If there is a result, we only want/need the first one
+                        Gson gson = getGson();
+                        return gson.fromJson(resultSet.getString("json"), dataObject);
+                    }
+                } catch (Exception e) {
+                    plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
                 }
-            } catch (Exception e) {
-                plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
             }
         } catch (SQLException e) {
             plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
+        } finally {
+            releaseConnection(c);
         }
         return null;
     }
@@ -168,21 +249,94 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
         }
         // This has to be on the main thread to avoid concurrent modification errors
         String toStore = getGson().toJson(instance);
+        String uniqueId = ((DataObject)instance).getUniqueId();
         // Async
-        processQueue.add(() -> store(completableFuture, instance.getClass().getName(), toStore, sqlConfig.getSaveObjectSQL()));
+        synchronized (batchLock) {
+            if (batch == null) {
+                // Open a new batch and queue its flush
+                Map<String, PendingSave> b = new LinkedHashMap<>();
+                batch = b;
+                processQueue.add(() -> flush(b));
+            }
+            // Only the last save of an object is written
+            batch.computeIfAbsent(uniqueId, k -> new PendingSave()).set(toStore, completableFuture);
+        }
         return completableFuture;
     }
 
-    private void store(CompletableFuture<Boolean> completableFuture, String name, String toStore, String sb) {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sb)) {
-            preparedStatement.setString(1, toStore);
-            preparedStatement.setString(2, toStore);
-            preparedStatement.execute();
-            completableFuture.complete(true);
+    /**
+     * Writes a batch of saves in one transaction using a single prepared statement
+     * @param b - batch of saves by uniqueId
+     */
+    private void flush(Map<String, PendingSave> b) {
+        synchronized (batchLock) {
+            // Saves from now on go into a new batch
+            if (batch == b) {
+                batch = null;
+            }
+        }
+        boolean result = false;
+        Connection c = null;
+        try {
+            c = borrowConnection();
+            result = write(c, b);
         } catch (SQLException e) {
-            plugin.logError("Could not save object " + name + " " + e.getMessage());
-            completableFuture.complete(false);
+            plugin.logError("Could not save objects " + dataObject.getCanonicalName() + " " + e.getMessage());
+        } finally {
+            releaseConnection(c);
+        }
+        for (PendingSave save : b.values()) {
+            for (CompletableFuture<Boolean> f : save.futures) {
+                f.complete(result);
+            }
+        }
+    }
+
+    private boolean write(Connection connection, Map<String, PendingSave> b) {
+        boolean result = false;
+        // The connection may be shared between handlers, so the transaction must not interleave with theirs
+        synchronized (connection) {
+            try {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getSaveObjectSQL())) {
+                    int rows = 0;
+                    for (Map.Entry<String, PendingSave> en : b.entrySet()) {
+                        setSaveParameters(preparedStatement, en.getKey(), en.getValue().json);
+                        preparedStatement.addBatch();
+                        if (++rows % MAX_BATCH_ROWS == 0) {
+                            preparedStatement.executeBatch();
+                        }
+                    }
+                    if (rows % MAX_BATCH_ROWS != 0) {
+                        preparedStatement.executeBatch();
+                    }
+                    connection.commit();
+                    result = true;
+                } catch (SQLException e) {
+                    plugin.logError("Could not save objects " + dataObject.getCanonicalName() + " " + e.getMessage());
+                    connection.rollback();
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                plugin.logError("Could not save objects " + dataObject.getCanonicalName() + " " + e.getMessage());
+            }
         }
+        return result;
+    }
+
+    /**
+     * Sets the parameters of the save statement
+     * @param preparedStatement - statement made from {@link SQLConfiguration#getSaveObjectSQL()}
+     * @param uniqueId - uniqueId of the object
+     * @param json - object as JSON
+     * @throws SQLException if a parameter cannot be set
+     * @since 1.14.0
+     */
+    protected void setSaveParameters(PreparedStatement preparedStatement, String uniqueId, String json) throws SQLException {
+        preparedStatement.setString(1, json); // INSERT
+        preparedStatement.setString(2, json); // ON DUPLICATE KEY UPDATE
     }
 
     /* (non-Javadoc)
@@ -190,19 +344,42 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
      */
     @Override
     public void deleteID(String uniqueId) {
-        processQueue.add(() -> delete(uniqueId));
+        synchronized (batchLock) {
+            // Close the current batch so that saves made after this deletion are written after it
+            batch = null;
+            processQueue.add(() -> delete(uniqueId));
+        }
     }
 
     private void delete(String uniqueId) {
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getDeleteObjectSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, "\"" + uniqueId + "\"");
-            preparedStatement.execute();
+        Connection c = null;
+        try {
+            c = borrowConnection();
+            synchronized (c) {
+                try (PreparedStatement preparedStatement = c.prepareStatement(sqlConfig.getDeleteObjectSQL())) {
+                    setUniqueIdParameter(preparedStatement, uniqueId);
+                    preparedStatement.execute();
+                }
+            }
         } catch (Exception e) {
             plugin.logError("Could not delete object " + plugin.getSettings().getDatabasePrefix() + dataObject.getCanonicalName() + " " + uniqueId + " " + e.getMessage());
+        } finally {
+            releaseConnection(c);
         }
     }
 
+    /**
+     * Sets the uniqueId parameter of the load, exists and delete statements
+     * @param preparedStatement - statement with the uniqueId as the first parameter
+     * @param uniqueId - uniqueId of the object
+     * @throws SQLException if a parameter cannot be set
+     * @since 1.14.0
+     */
+    protected void setUniqueIdParameter(PreparedStatement preparedStatement, String uniqueId) throws SQLException {
+        // UniqueId needs to be placed in quotes
+        preparedStatement.setString(1, "\"" + uniqueId + "\"");
+    }
+
     @Override
     public void deleteObject(T instance) {
         // Null check
@@ -225,16 +402,21 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
     @Override
     public boolean objectExists(String uniqueId) {
         // Query to see if this key exists
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlConfig.getObjectExistsSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, "\"" + uniqueId + "\"");
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getBoolean(1);
+        Connection c = null;
+        try {
+            c = borrowConnection();
+            try (PreparedStatement preparedStatement = c.prepareStatement(sqlConfig.getObjectExistsSQL())) {
+                setUniqueIdParameter(preparedStatement, uniqueId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return resultSet.getBoolean(1);
+                    }
                 }
             }
         } catch (SQLException e) {
             plugin.logError("Could not check if key exists in database! " + uniqueId + " " + e.getMessage());
+        } finally {
+            releaseConnection(c);
         }
         return false;
     }
@@ -244,6 +426,37 @@ public class SQLDatabaseHandler<T> extends AbstractJSONDatabaseHandler<T> {
         shutdown = true;
     }
 
+    /**
+     * Get a connection to run statements on. It must be given back with {@link #releaseConnection(Connection)}.
+     * If the connector pools connections, the connection is only used by the caller until then.
+     * @return connection
+     * @throws SQLException if there is no connection to the database
+     * @since 1.14.0
+     */
+    protected Connection borrowConnection() throws SQLException {
+        if (databaseConnector instanceof SQLDatabaseConnector) {
+            Connection c = ((SQLDatabaseConnector)databaseConnector).getConnection();
+            if (c != null) {
+                return c;
+            }
+        }
+        if (connection == null) {
+            throw new SQLException("Not connected to the database");
+        }
+        return connection;
+    }
+
+    /**
+     * Gives back a connection from {@link #borrowConnection()}
+     * @param c - connection, or null if none was borrowed
+     * @since 1.14.0
+     */
+    protected void releaseConnection(@Nullable Connection c) {
+        if (c != null && databaseConnector instanceof SQLDatabaseConnector) {
+            ((SQLDatabaseConnector)databaseConnector).releaseConnection(c);
+        }
+    }
+
     /**
      * @return the connection
      */
@@ -25,7 +25,10 @@ public class MariaDBDatabase implements DatabaseSetup {
                     plugin.getSettings().getDatabaseName(),
                     plugin.getSettings().getDatabaseUsername(),
                     plugin.getSettings().getDatabasePassword(),
-                    plugin.getSettings().isUseSSL()
+                    plugin.getSettings().isUseSSL(),
+                    plugin.getSettings().getDatabasePoolSize(),
+                    plugin.getSettings().getDatabaseValidationTimeout(),
+                    plugin.getSettings().getDatabaseIdleTimeout()
                     ));
         }
         return new MariaDBDatabaseHandler<>(plugin, type, connector);
@@ -1,5 +1,9 @@
 package world.bentobox.bentobox.database.sql.mariadb;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
 import world.bentobox.bentobox.database.sql.SQLConfiguration;
@@ -27,4 +31,18 @@ public class MariaDBDatabaseHandler<T> extends SQLDatabaseHandler<T> {
                 new SQLConfiguration(plugin, type)
                 .schema("CREATE TABLE IF NOT EXISTS `[tableName]` (json JSON, uniqueId VARCHAR(255) GENERATED ALWAYS AS (JSON_EXTRACT(json, \"$.uniqueId\")), UNIQUE INDEX i (uniqueId))"));
     }
+
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseHandler#createLoadStatement(java.sql.Connection, boolean)
+     */
+    @Override
+    protected Statement createLoadStatement(Connection c, boolean exclusive) throws SQLException {
+        Statement statement = c.createStatement();
+        if (exclusive) {
+            // The MySQL driver only reads rows as they are needed with this fetch size.
+            // The connection cannot run other statements until all the rows are read, so it must not be shared.
+            statement.setFetchSize(Integer.MIN_VALUE);
+        }
+        return statement;
+    }
 }
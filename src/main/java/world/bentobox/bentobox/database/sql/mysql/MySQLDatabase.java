@@ -22,7 +22,10 @@ public class MySQLDatabase implements DatabaseSetup {
                     plugin.getSettings().getDatabaseName(),
                     plugin.getSettings().getDatabaseUsername(),
                     plugin.getSettings().getDatabasePassword(),
-                    plugin.getSettings().isUseSSL()
+                    plugin.getSettings().isUseSSL(),
+                    plugin.getSettings().getDatabasePoolSize(),
+                    plugin.getSettings().getDatabaseValidationTimeout(),
+                    plugin.getSettings().getDatabaseIdleTimeout()
                     ));
         }
         return new MySQLDatabaseHandler<>(plugin, type, connector);
@@ -1,5 +1,9 @@
 package world.bentobox.bentobox.database.sql.mysql;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
 import world.bentobox.bentobox.database.sql.SQLConfiguration;
@@ -26,4 +30,18 @@ public class MySQLDatabaseHandler<T> extends SQLDatabaseHandler<T> {
         super(plugin, type, dbConnecter, new SQLConfiguration(plugin, type)
                 .schema("CREATE TABLE IF NOT EXISTS `[tableName]` (json JSON, uniqueId VARCHAR(255) GENERATED ALWAYS AS (json->\"$.uniqueId\"), UNIQUE INDEX i (uniqueId) ) ENGINE = INNODB"));
     }
+
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseHandler#createLoadStatement(java.sql.Connection, boolean)
+     */
+    @Override
+    protected Statement createLoadStatement(Connection c, boolean exclusive) throws SQLException {
+        Statement statement = c.createStatement();
+        if (exclusive) {
+            // The MySQL driver only reads rows as they are needed with this fetch size.
+            // The connection cannot run other statements until all the rows are read, so it must not be shared.
+            statement.setFetchSize(Integer.MIN_VALUE);
+        }
+        return statement;
+    }
 }
@@ -23,7 +23,10 @@ public class PostgreSQLDatabase implements DatabaseSetup {
                     plugin.getSettings().getDatabaseName(),
                     plugin.getSettings().getDatabaseUsername(),
                     plugin.getSettings().getDatabasePassword(),
-                    plugin.getSettings().isUseSSL()
+                    plugin.getSettings().isUseSSL(),
+                    plugin.getSettings().getDatabasePoolSize(),
+                    plugin.getSettings().getDatabaseValidationTimeout(),
+                    plugin.getSettings().getDatabaseIdleTimeout()
                     ));
         }
         return new PostgreSQLDatabaseHandler<>(plugin, dataObjectClass, connector);
@@ -1,14 +1,12 @@
 package world.bentobox.bentobox.database.sql.postgresql;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.concurrent.CompletableFuture;
-
-import com.google.gson.Gson;
+import java.sql.Statement;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
-import world.bentobox.bentobox.database.objects.DataObject;
 import world.bentobox.bentobox.database.sql.SQLConfiguration;
 import world.bentobox.bentobox.database.sql.SQLDatabaseHandler;
 
@@ -42,7 +40,7 @@ public class PostgreSQLDatabaseHandler<T> extends SQLDatabaseHandler<T> {
                         // This is the Postgresql version of UPSERT.
                         + "ON CONFLICT (uniqueid) "
                         + "DO UPDATE SET json = cast(? as json)")
-                .loadObjects("SELECT json FROM \"[tableName]\"")
+                .loadObjects("SELECT json FROM \"[tableName]\" ORDER BY uniqueid")
                 // Postgres exists function returns true or false natively
                 .objectExists("SELECT EXISTS(SELECT * FROM \"[tableName]\" WHERE uniqueid = ?)")
                 .renameTable("ALTER TABLE IF EXISTS \"[oldTableName]\" RENAME TO \"[tableName]\"")
@@ -50,37 +48,24 @@ public class PostgreSQLDatabaseHandler<T> extends SQLDatabaseHandler<T> {
     }
 
     /* (non-Javadoc)
-     * @see world.bentobox.bentobox.database.sql.SQLDatabaseHandler#saveObject(java.lang.Object)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseHandler#createLoadStatement(java.sql.Connection, boolean)
      */
     @Override
-    public CompletableFuture<Boolean> saveObject(T instance) {
-        CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
-        // Null check
-        if (instance == null) {
-            plugin.logError("PostgreSQL database request to store a null. ");
-            completableFuture.complete(false);
-            return completableFuture;
-        }
-        if (!(instance instanceof DataObject)) {
-            plugin.logError("This class is not a DataObject: " + instance.getClass().getName());
-            completableFuture.complete(false);
-            return completableFuture;
+    protected Statement createLoadStatement(Connection c, boolean exclusive) throws SQLException {
+        if (exclusive) {
+            // The PostgreSQL driver only fetches rows a batch at a time inside a transaction
+            c.setAutoCommit(false);
         }
-        Gson gson = getGson();
-        String toStore = gson.toJson(instance);
-        String uniqueId = ((DataObject)instance).getUniqueId();
-        processQueue.add(() -> {
-            try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getSaveObjectSQL())) {
-                preparedStatement.setString(1, uniqueId); // INSERT
-                preparedStatement.setString(2, toStore); // INSERT
-                preparedStatement.setString(3, toStore); // ON CONFLICT
-                preparedStatement.execute();
-                completableFuture.complete(true);
-            } catch (SQLException e) {
-                plugin.logError("Could not save object " + instance.getClass().getName() + " " + e.getMessage());
-                completableFuture.complete(false);
-            }
-        });
-        return completableFuture;
+        return super.createLoadStatement(c, exclusive);
+    }
+
+    /* (non-Javadoc)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseHandler#setSaveParameters(java.sql.PreparedStatement, java.lang.String, java.lang.String)
+     */
+    @Override
+    protected void setSaveParameters(PreparedStatement preparedStatement, String uniqueId, String json) throws SQLException {
+        preparedStatement.setString(1, uniqueId); // INSERT
+        preparedStatement.setString(2, json); // INSERT
+        preparedStatement.setString(3, json); // ON CONFLICT
     }
 }
@@ -1,10 +1,10 @@
 package world.bentobox.bentobox.database.sql.sqlite;
 
 import java.io.File;
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 
-import org.bukkit.Bukkit;
 import org.eclipse.jdt.annotation.NonNull;
 
 import world.bentobox.bentobox.BentoBox;
@@ -30,19 +30,10 @@ public class SQLiteDatabaseConnector extends SQLDatabaseConnector {
 
 
     /* (non-Javadoc)
-     * @see world.bentobox.bentobox.database.sql.SQLDatabaseConnector#createConnection(java.lang.Class)
+     * @see world.bentobox.bentobox.database.sql.SQLDatabaseConnector#connect()
      */
     @Override
-    public Object createConnection(Class<?> type) {
-        types.add(type);
-        // Only make one connection at a time
-        if (connection == null) {
-            try {
-                connection = DriverManager.getConnection(connectionUrl);
-            } catch (SQLException e) {
-                Bukkit.getLogger().severe("Could not connect to the database! " + e.getMessage());
-            }
-        }
-        return connection;
+    protected Connection connect() throws SQLException {
+        return DriverManager.getConnection(connectionUrl);
     }
 }
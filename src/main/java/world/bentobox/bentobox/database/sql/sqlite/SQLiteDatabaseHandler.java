@@ -3,15 +3,9 @@ package world.bentobox.bentobox.database.sql.sqlite;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.concurrent.CompletableFuture;
-
-import org.eclipse.jdt.annotation.NonNull;
-
-import com.google.gson.Gson;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.DatabaseConnector;
-import world.bentobox.bentobox.database.objects.DataObject;
 import world.bentobox.bentobox.database.sql.SQLConfiguration;
 import world.bentobox.bentobox.database.sql.SQLDatabaseHandler;
 
@@ -21,8 +15,6 @@ import world.bentobox.bentobox.database.sql.SQLDatabaseHandler;
  */
 public class SQLiteDatabaseHandler<T> extends SQLDatabaseHandler<T> {
 
-    private static final String COULD_NOT_LOAD_OBJECT = "Could not load object ";
-
     /**
      * Constructor
      *
@@ -77,84 +69,16 @@ public class SQLiteDatabaseHandler<T> extends SQLDatabaseHandler<T> {
     }
 
     @Override
-    public CompletableFuture<Boolean> saveObject(T instance) {
-        CompletableFuture<Boolean> completableFuture = new CompletableFuture<>();
-        // Null check
-        if (instance == null) {
-            plugin.logError("SQLite database request to store a null. ");
-            completableFuture.complete(false);
-            return completableFuture;
-        }
-        if (!(instance instanceof DataObject)) {
-            plugin.logError("This class is not a DataObject: " + instance.getClass().getName());
-            completableFuture.complete(false);
-            return completableFuture;
-        }
-        Gson gson = getGson();
-        String toStore = gson.toJson(instance);
-        processQueue.add(() -> {
-            try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getSaveObjectSQL())) {
-                preparedStatement.setString(1, toStore);
-                preparedStatement.setString(2, ((DataObject)instance).getUniqueId());
-                preparedStatement.setString(3, toStore);
-                preparedStatement.execute();
-                completableFuture.complete(true);
-            } catch (SQLException e) {
-                plugin.logError("Could not save object " + instance.getClass().getName() + " " + e.getMessage());
-                completableFuture.complete(false);
-            }
-        });
-        return completableFuture;
-    }
-
-    @Override
-    public void deleteID(String uniqueId) {
-        processQueue.add(() -> {
-            try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getDeleteObjectSQL())) {
-                // UniqueId must *not* be placed in quotes
-                preparedStatement.setString(1, uniqueId);
-                preparedStatement.executeUpdate();
-            } catch (Exception e) {
-                plugin.logError("Could not delete object " + plugin.getSettings().getDatabasePrefix() + dataObject.getCanonicalName() + " " + uniqueId + " " + e.getMessage());
-            }
-        });
-    }
-
-    @Override
-    public boolean objectExists(String uniqueId) {
-        // Query to see if this key exists
-        try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getObjectExistsSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, uniqueId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getBoolean(1);
-                }
-            }
-        } catch (SQLException e) {
-            plugin.logError("Could not check if key exists in database! " + uniqueId + " " + e.getMessage());
-        }
-        return false;
+    protected void setSaveParameters(PreparedStatement preparedStatement, String uniqueId, String json) throws SQLException {
+        preparedStatement.setString(1, json);
+        preparedStatement.setString(2, uniqueId);
+        preparedStatement.setString(3, json);
     }
 
     @Override
-    public T loadObject(@NonNull String uniqueId) {
-        try (PreparedStatement preparedStatement = getConnection().prepareStatement(getSqlConfig().getLoadObjectSQL())) {
-            // UniqueId needs to be placed in quotes
-            preparedStatement.setString(1, uniqueId);
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                if (resultSet.next()) {
-                    // If there is a result, we only want/need the first one
-                    Gson gson = getGson();
-                    return gson.fromJson(resultSet.getString("json"), dataObject);
-                }
-            } catch (Exception e) {
-                plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
-            }
-        } catch (SQLException e) {
-            plugin.logError(COULD_NOT_LOAD_OBJECT + uniqueId + " " + e.getMessage());
-        }
-        return null;
+    protected void setUniqueIdParameter(PreparedStatement preparedStatement, String uniqueId) throws SQLException {
+        // UniqueId must *not* be placed in quotes
+        preparedStatement.setString(1, uniqueId);
     }
 
 }
@@ -11,8 +11,10 @@ import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -42,6 +44,30 @@ public class JoinLeaveListener implements Listener {
         players = plugin.getPlayers();
     }
 
+    /**
+     * Loads the player's data while they log in, so that it does not have to be loaded on the main thread when they join
+     * @param event - event
+     * @since 1.14.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(final AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            players.prefetch(event.getUniqueId());
+        }
+    }
+
+    /**
+     * Forgets the data that was loaded in advance if the player is not allowed to log in
+     * @param event - event
+     * @since 1.14.0
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(final PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            players.cancelPrefetch(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onPlayerJoin(final PlayerJoinEvent event) {
         // Remove them from the cache, just in case they were not removed for some reason
@@ -60,6 +86,7 @@ public class JoinLeaveListener implements Listener {
 
         // Make sure the player is loaded into the cache or create the player if they don't exist
         players.addPlayer(playerUUID);
+        players.setLastLogin(playerUUID, System.currentTimeMillis());
 
         // Reset island resets if required
         plugin.getIWM().getOverWorlds().stream()
@@ -253,6 +280,7 @@ public class JoinLeaveListener implements Listener {
         });
         // Remove any coop associations from the player logging out
         plugin.getIslands().clearRank(RanksManager.COOP_RANK, event.getPlayer().getUniqueId());
+        players.setLastLogin(event.getPlayer().getUniqueId(), System.currentTimeMillis());
         players.save(event.getPlayer().getUniqueId());
         User.removePlayer(event.getPlayer());
     }
@@ -18,6 +18,7 @@ import world.bentobox.bentobox.api.panels.PanelItem.ClickHandler;
 import world.bentobox.bentobox.api.panels.builders.PanelBuilder;
 import world.bentobox.bentobox.api.panels.builders.PanelItemBuilder;
 import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.listeners.flags.worldsettings.GeoLimitMobsListener;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.util.Util;
 
@@ -62,6 +63,7 @@ public class GeoLimitClickListener implements ClickHandler {
             } else {
                 iwm.getGeoLimitSettings(user.getWorld()).add(c.name());
             }
+            GeoLimitMobsListener.invalidateEntityTypes();
             // Apply change to panel
             panel.getInventory().setItem(slot, getPanelItem(c, user).getItem());
             // Save settings
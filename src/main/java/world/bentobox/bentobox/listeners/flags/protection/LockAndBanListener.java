@@ -14,6 +14,7 @@ import org.bukkit.util.Vector;
 
 import io.papermc.lib.PaperLib;
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.flags.BypassPermissions;
 import world.bentobox.bentobox.api.flags.FlagListener;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.lists.Flags;
@@ -109,13 +110,14 @@ public class LockAndBanListener extends FlagListener {
             return CheckResult.OPEN;
         }
         // See if the island is locked to non-members or player is banned
-        return getIslands().getProtectedIslandAt(loc)
+        // The island is looked up through the occupancy index, which remembers the island at the player's last location
+        return getIslands().getOccupancy().getIslandAt(player, loc)
                 .map(is -> {
                     if (is.isBanned(player.getUniqueId())) {
-                        return player.hasPermission(getIWM().getPermissionPrefix(loc.getWorld()) + "mod.bypassban") ? CheckResult.OPEN : CheckResult.BANNED;
+                        return player.hasPermission(BypassPermissions.getBypassBan(getIWM().getPermissionPrefix(loc.getWorld()))) ? CheckResult.OPEN : CheckResult.BANNED;
                     }
                     if (!is.isAllowed(User.getInstance(player), Flags.LOCK)) {
-                        return player.hasPermission(getIWM().getPermissionPrefix(loc.getWorld()) + "mod.bypasslock") ? CheckResult.OPEN : CheckResult.LOCKED;
+                        return player.hasPermission(BypassPermissions.getBypassLock(getIWM().getPermissionPrefix(loc.getWorld()))) ? CheckResult.OPEN : CheckResult.LOCKED;
                     }
                     return CheckResult.OPEN;
                 }).orElse(CheckResult.OPEN);
@@ -1,13 +1,19 @@
 package world.bentobox.bentobox.listeners.flags.worldsettings;
 
-import java.util.Optional;
-
 import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
-import org.bukkit.util.Vector;
+import org.bukkit.event.vehicle.VehicleEnterEvent;
+import org.bukkit.event.vehicle.VehicleExitEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
 import org.eclipse.jdt.annotation.NonNull;
 
 import world.bentobox.bentobox.api.events.island.IslandEvent;
@@ -16,6 +22,7 @@ import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
+import world.bentobox.bentobox.managers.island.IslandOccupancy.Transition;
 
 /**
  * Handles {@link Flags#ENTER_EXIT_MESSAGES} flag and {@link world.bentobox.bentobox.api.events.island.IslandEvent.IslandExitEvent} and {@link world.bentobox.bentobox.api.events.island.IslandEvent.IslandEnterEvent}.
@@ -23,42 +30,98 @@ import world.bentobox.bentobox.lists.Flags;
  */
 public class EnterExitListener extends FlagListener {
 
-    private static final Vector XZ = new Vector(1,0,1);
+    /*
+     * Moves are handled last, so moves cancelled or changed by other listeners do not update the island occupancy index
+     * or fire enter and exit events
+     */
 
-    @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onMove(PlayerMoveEvent e) {
-        handleEnterExit(User.getInstance(e.getPlayer()), e.getFrom(), e.getTo());
+        handleEnterExit(e.getPlayer(), e.getFrom(), e.getTo());
     }
 
-    @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onTeleport(PlayerTeleportEvent e) {
-        handleEnterExit(User.getInstance(e.getPlayer()), e.getFrom(), e.getTo());
+        handleEnterExit(e.getPlayer(), e.getFrom(), e.getTo());
+    }
+
+    /*
+     * Players riding boats, minecarts or animals do not fire move events, so their vehicle is followed instead.
+     * Entering or leaving a vehicle can also move the player onto or off an island.
+     */
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent e) {
+        for (Entity passenger : e.getVehicle().getPassengers()) {
+            if (passenger instanceof Player) {
+                handleEnterExit((Player) passenger, e.getFrom(), e.getTo());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onVehicleEnter(VehicleEnterEvent e) {
+        if (e.getEntered() instanceof Player) {
+            handleEnterExit((Player) e.getEntered(), e.getEntered().getLocation(), e.getVehicle().getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onVehicleExit(VehicleExitEvent e) {
+        if (e.getExited() instanceof Player) {
+            handleEnterExit((Player) e.getExited(), e.getVehicle().getLocation(), e.getExited().getLocation());
+        }
     }
 
-    private void handleEnterExit(@NonNull User user, @NonNull Location from, @NonNull Location to) {
-        // Only process if there is a change in X or Z coords
+    /*
+     * The island occupancy index also needs to know where players are when they join, respawn or change worlds,
+     * and to forget them when they quit
+     */
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        getIslands().updateOccupancy(e.getPlayer(), e.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent e) {
+        getIslands().updateOccupancy(e.getPlayer(), e.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent e) {
+        getIslands().updateOccupancy(e.getPlayer(), e.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        getIslands().updateOccupancy(e.getPlayer(), null);
+    }
+
+    private void handleEnterExit(@NonNull Player player, @NonNull Location from, @NonNull Location to) {
+        // Only process if the player moved to another block column. Island protection ranges are in whole blocks.
         if (from.getWorld() != null && from.getWorld().equals(to.getWorld())
-                && from.toVector().multiply(XZ).equals(to.toVector().multiply(XZ))) {
+                && from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ()) {
             return;
         }
 
-        Optional<Island> islandFrom = getIslands().getProtectedIslandAt(from);
-        Optional<Island> islandTo = getIslands().getProtectedIslandAt(to);
-
         /*
          * Options:
          *
          * from = empty, to = island - entering
          * from = island1, to = island2 - leaving 1, entering 2
          * from = island, to = empty - leaving
-         * from = empty, to = empty
-         * from = island, to = island
+         * from = empty, to = empty - no transition
+         * from = island, to = island - no transition
          */
-        if (islandFrom.equals(islandTo)) {
+        Transition transition = getIslands().getOccupancy().move(player, from, to);
+        if (transition == null) {
             return;
         }
+        User user = User.getInstance(player);
 
-        islandFrom.ifPresent(i -> {
+        if (transition.getFrom() != null) {
+            Island i = transition.getFrom();
             // Fire the IslandExitEvent
             new IslandEvent.IslandEventBuilder()
             .island(i)
@@ -69,9 +132,10 @@ public class EnterExitListener extends FlagListener {
             .build();
 
             sendExitNotification(user, i);
-        });
+        }
 
-        islandTo.ifPresent(i -> {
+        if (transition.getTo() != null) {
+            Island i = transition.getTo();
             // Fire the IslandEnterEvent
             new IslandEvent.IslandEventBuilder()
             .island(i)
@@ -82,7 +146,7 @@ public class EnterExitListener extends FlagListener {
             .build();
 
             sendEnterNotification(user, i);
-        });
+        }
     }
 
     /**
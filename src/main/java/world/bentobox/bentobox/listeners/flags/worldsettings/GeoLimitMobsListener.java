@@ -1,10 +1,19 @@
 package world.bentobox.bentobox.listeners.flags.worldsettings;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -14,17 +23,121 @@ import org.bukkit.event.entity.ExplosionPrimeEvent;
 import org.bukkit.projectiles.ProjectileSource;
 
 import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandProtectionRangeChangeEvent;
 import world.bentobox.bentobox.api.flags.FlagListener;
 import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.util.Util;
 
 /**
  * Provide geo limiting to mobs - removed them if they go outside island bounds
+ * <p>
+ * Each tracked mob shares the protected area of the island it spawned on with the other mobs of that island.
+ * Mobs are checked a few at a time every tick, so that every mob is checked about once a second.
  * @author tastybento
  *
  */
 public class GeoLimitMobsListener extends FlagListener {
 
-    private Map<Entity, Island> mobSpawnTracker = new WeakHashMap<>();
+    /**
+     * Number of ticks that it takes to check every mob
+     */
+    private static final int SWEEP_TICKS = 20;
+    /**
+     * Smallest number of mobs checked each tick
+     */
+    private static final int MIN_BUDGET = 100;
+    /**
+     * Incremented each time the geo limit settings of a world are changed
+     */
+    private static final AtomicInteger settingsChanges = new AtomicInteger();
+
+    /**
+     * Mobs waiting to be checked, in order
+     */
+    private final Deque<Tracked> queue = new ArrayDeque<>();
+    private final Map<Entity, Tracked> mobSpawnTracker = new HashMap<>();
+    /**
+     * Protected area of each island that has tracked mobs, by island unique id
+     */
+    private final Map<String, Area> areas = new HashMap<>();
+    private final Map<World, EntityTypes> entityTypes = new HashMap<>();
+    private final Location location = new Location(null, 0, 0, 0);
+
+    /**
+     * The protected area of an island
+     */
+    private static class Area {
+        private final Island island;
+        private World world;
+        private int minX;
+        private int minZ;
+        private int maxX;
+        private int maxZ;
+        private int mobs;
+
+        private Area(Island island) {
+            this.island = island;
+            update();
+        }
+
+        private void update() {
+            world = island.getWorld();
+            minX = island.getMinProtectedX();
+            minZ = island.getMinProtectedZ();
+            maxX = minX + island.getProtectionRange() * 2;
+            maxZ = minZ + island.getProtectionRange() * 2;
+        }
+
+        /**
+         * Same as {@link Island#onIsland(Location)}
+         */
+        private boolean contains(Location l) {
+            return (l.getWorld() == world || Util.sameWorld(world, l.getWorld()))
+                    && l.getBlockX() >= minX && l.getBlockX() < maxX && l.getBlockZ() >= minZ && l.getBlockZ() < maxZ;
+        }
+    }
+
+    private static class Tracked {
+        private final Entity entity;
+        private final Area area;
+        private boolean removed;
+
+        private Tracked(Entity entity, Area area) {
+            this.entity = entity;
+            this.area = area;
+        }
+    }
+
+    /**
+     * The mob types that are geo limited in a world
+     */
+    private static class EntityTypes {
+        private final List<String> settings;
+        private final int size;
+        private final int changes;
+        private final Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+
+        private EntityTypes(List<String> settings, int changes) {
+            this.settings = settings;
+            this.size = settings.size();
+            this.changes = changes;
+            for (String name : settings) {
+                try {
+                    types.add(EntityType.valueOf(name));
+                } catch (IllegalArgumentException e) {
+                    // Not a mob
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes the mob types be looked up again. Call this whenever the geo limit settings of a world change.
+     * @since 1.14.0
+     */
+    public static void invalidateEntityTypes() {
+        settingsChanges.incrementAndGet();
+    }
 
     /**
      * Start the tracker when the plugin is loaded
@@ -32,13 +145,36 @@ public class GeoLimitMobsListener extends FlagListener {
     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
     public void onPluginReady(BentoBoxReadyEvent event) {
         // Kick off the task to remove entities that go outside island boundaries
-        Bukkit.getScheduler().runTaskTimer(getPlugin(), () -> {
-            mobSpawnTracker.entrySet().stream()
-            .filter(e -> !e.getValue().onIsland(e.getKey().getLocation()))
-            .map(Map.Entry::getKey)
-            .forEach(Entity::remove);
-            mobSpawnTracker.keySet().removeIf(e -> e == null || e.isDead());
-        }, 20L, 20L);
+        Bukkit.getScheduler().runTaskTimer(getPlugin(), this::sweep, 1L, 1L);
+    }
+
+    /**
+     * Checks the next mobs in the queue and removes those that are outside their island
+     */
+    void sweep() {
+        int budget = Math.max(MIN_BUDGET, (queue.size() + SWEEP_TICKS - 1) / SWEEP_TICKS);
+        for (int i = 0; i < budget && !queue.isEmpty(); i++) {
+            Tracked t = queue.poll();
+            if (t.removed) {
+                continue;
+            }
+            if (!t.entity.isValid()) {
+                untrack(t);
+            } else if (!t.area.contains(t.entity.getLocation(location))) {
+                untrack(t);
+                t.entity.remove();
+            } else {
+                queue.add(t);
+            }
+        }
+    }
+
+    private void untrack(Tracked t) {
+        t.removed = true;
+        mobSpawnTracker.remove(t.entity);
+        if (--t.area.mobs == 0) {
+            areas.remove(t.area.island.getUniqueId());
+        }
     }
 
     /**
@@ -47,10 +183,32 @@ public class GeoLimitMobsListener extends FlagListener {
      */
     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
     public void onMobSpawn(CreatureSpawnEvent e) {
-        if (getIWM().inWorld(e.getLocation())
-                && getIWM().getGeoLimitSettings(e.getLocation().getWorld()).contains(e.getEntityType().name())) {
-            getIslands().getIslandAt(e.getLocation()).ifPresent(i -> mobSpawnTracker.put(e.getEntity(), i));
+        if (getIWM().inWorld(e.getLocation()) && isGeoLimited(e.getLocation().getWorld(), e.getEntityType())) {
+            getIslands().getIslandAt(e.getLocation()).ifPresent(i -> track(e.getEntity(), i));
+        }
+    }
+
+    private boolean isGeoLimited(World world, EntityType type) {
+        List<String> settings = getIWM().getGeoLimitSettings(world);
+        int changes = settingsChanges.get();
+        EntityTypes t = entityTypes.get(world);
+        if (t == null || t.settings != settings || t.size != settings.size() || t.changes != changes) {
+            t = new EntityTypes(settings, changes);
+            entityTypes.put(world, t);
+        }
+        return t.types.contains(type);
+    }
+
+    private void track(Entity entity, Island island) {
+        Tracked old = mobSpawnTracker.get(entity);
+        if (old != null) {
+            untrack(old);
         }
+        Area area = areas.computeIfAbsent(island.getUniqueId(), k -> new Area(island));
+        area.mobs++;
+        Tracked t = new Tracked(entity, area);
+        mobSpawnTracker.put(entity, t);
+        queue.add(t);
     }
 
     /**
@@ -58,7 +216,24 @@ public class GeoLimitMobsListener extends FlagListener {
      */
     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
     public void onMobDeath(final EntityDeathEvent e) {
-        mobSpawnTracker.remove(e.getEntity());
+        Tracked t = mobSpawnTracker.get(e.getEntity());
+        if (t != null) {
+            untrack(t);
+        }
+    }
+
+    /**
+     * Keep the protected areas up to date
+     * @param e - event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onProtectionRangeChange(IslandProtectionRangeChangeEvent e) {
+        if (e.getIsland() != null) {
+            Area area = areas.get(e.getIsland().getUniqueId());
+            if (area != null) {
+                area.update();
+            }
+        }
     }
 
     /**
@@ -70,13 +245,19 @@ public class GeoLimitMobsListener extends FlagListener {
         if (e.getEntity() instanceof Projectile && getIWM().inWorld(e.getEntity().getLocation())) {
             ProjectileSource source = ((Projectile)e.getEntity()).getShooter();
             if (source instanceof Entity) {
-                Entity shooter = (Entity)source;
-                if (mobSpawnTracker.containsKey(shooter)
-                        && !mobSpawnTracker.get(shooter).onIsland(e.getEntity().getLocation())) {
+                Tracked t = mobSpawnTracker.get(source);
+                if (t != null && !t.area.contains(e.getEntity().getLocation())) {
                     e.getEntity().remove();
                     e.setCancelled(true);
                 }
             }
         }
     }
+
+    /**
+     * @return number of tracked mobs
+     */
+    int size() {
+        return mobSpawnTracker.size();
+    }
 }
@@ -1,13 +1,19 @@
 package world.bentobox.bentobox.listeners.flags.worldsettings;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
+import world.bentobox.bentobox.api.flags.BypassPermissions;
 import world.bentobox.bentobox.api.flags.FlagListener;
+import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.RanksManager;
 
@@ -17,6 +23,27 @@ import world.bentobox.bentobox.managers.RanksManager;
  */
 public class OfflineRedstoneListener extends FlagListener {
 
+    /**
+     * Whether any coop or higher ranked member of an island is online, by island unique ID.
+     * Redstone can fire many times a tick, so this is only worked out again when a member joins or quits,
+     * or when the members of the island change.
+     */
+    private final Map<String, MembersOnline> membersOnline = new HashMap<>();
+
+    /**
+     * Whether any coop or higher ranked member is online, and the members this was worked out for.
+     * Island members are replaced rather than changed, so a change of rank is seen as different members.
+     */
+    private static class MembersOnline {
+        private final Map<UUID, Integer> members;
+        private final boolean online;
+
+        private MembersOnline(Map<UUID, Integer> members, boolean online) {
+            this.members = members;
+            this.online = online;
+        }
+    }
+
     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
     public void onBlockRedstone(BlockRedstoneEvent e) {
         if (!getIWM().inWorld(e.getBlock().getWorld()) || Flags.OFFLINE_REDSTONE.isSetForWorld(e.getBlock().getWorld())) {
@@ -27,21 +54,51 @@ public class OfflineRedstoneListener extends FlagListener {
         // Check if island exists and members are online, or mods or ops are on the island - ignores spawn
         getIslands().getProtectedIslandAt(e.getBlock().getLocation())
         .filter(i -> !i.isSpawn())
-        .ifPresent(i -> {
-            // Check team members
-            for (UUID uuid : i.getMemberSet(RanksManager.COOP_RANK)) {
-                if (Bukkit.getPlayer(uuid) != null) {
-                    return;
-                }
-            }
-            // Check mods or Ops on island
-            if (Bukkit.getOnlinePlayers().parallelStream()
-                    .filter(p -> p.isOp() || p.hasPermission(getIWM().getPermissionPrefix(i.getWorld()) + "mod.bypassprotect"))
-                    .anyMatch(p -> i.onIsland(p.getLocation()))) {
-                return;
-            }
-            // No one there...
-            e.setNewCurrent(0);
-        });
+        .filter(i -> !isActive(i))
+        // No one there...
+        .ifPresent(i -> e.setNewCurrent(0));
+    }
+
+    /**
+     * Checks if team members are online, or mods or ops are on the island
+     * @param i - island
+     * @return true if the island is active
+     */
+    private boolean isActive(Island i) {
+        // Check team members
+        MembersOnline m = membersOnline.get(i.getUniqueId());
+        if (m == null || m.members != i.getMembers()) {
+            m = new MembersOnline(i.getMembers(), i.getMemberSet(RanksManager.COOP_RANK).stream().anyMatch(uuid -> Bukkit.getPlayer(uuid) != null));
+            membersOnline.put(i.getUniqueId(), m);
+        }
+        if (m.online) {
+            return true;
+        }
+        // Check mods or Ops on island. Only the players on the island are checked.
+        String bypass = BypassPermissions.getBypassProtect(getIWM().getPermissionPrefix(i.getWorld()));
+        return i.getPlayersOnIsland().stream().anyMatch(p -> p.isOp() || p.hasPermission(bypass));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent e) {
+        forgetIslandsOf(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        forgetIslandsOf(e.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Forgets whether members are online for the islands this player is a coop or higher ranked member of
+     * @param uuid - player's UUID
+     */
+    private void forgetIslandsOf(UUID uuid) {
+        if (membersOnline.isEmpty()) {
+            return;
+        }
+        getIslands().getIslands().stream()
+        .filter(i -> i.getRank(uuid) >= RanksManager.COOP_RANK)
+        .forEach(i -> membersOnline.remove(i.getUniqueId()));
     }
 }
@@ -5,6 +5,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerInteractEvent;
 
+import world.bentobox.bentobox.api.flags.BypassPermissions;
 import world.bentobox.bentobox.api.flags.FlagListener;
 import world.bentobox.bentobox.api.localization.TextVariables;
 import world.bentobox.bentobox.api.user.User;
@@ -24,8 +25,8 @@ public class SpawnerSpawnEggsListener extends FlagListener {
         if (e.getClickedBlock() != null && e.getClickedBlock().getType().equals(Material.SPAWNER)
                 && e.getItem() != null && e.getItem().getType().toString().endsWith("_SPAWN_EGG")
                 && getIWM().inWorld(e.getClickedBlock().getWorld())
-                && !(user.hasPermission(getIWM().getPermissionPrefix(e.getClickedBlock().getWorld()) + "mod.bypass." + Flags.SPAWNER_SPAWN_EGGS.getID() + ".everywhere")
-                || user.hasPermission(getIWM().getPermissionPrefix(e.getClickedBlock().getWorld()) + "mod.bypassprotect"))
+                && !(user.hasPermission(BypassPermissions.getBypassEverywhere(getIWM().getPermissionPrefix(e.getClickedBlock().getWorld()), Flags.SPAWNER_SPAWN_EGGS))
+                || user.hasPermission(BypassPermissions.getBypassProtect(getIWM().getPermissionPrefix(e.getClickedBlock().getWorld()))))
                 && !Flags.SPAWNER_SPAWN_EGGS.isSetForWorld(e.getClickedBlock().getWorld())) {
             // Not allowed
             e.setCancelled(true);
@@ -14,7 +14,11 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
+import world.bentobox.bentobox.api.flags.AbstractFlagMap;
+import world.bentobox.bentobox.api.flags.BypassPermissions;
 import world.bentobox.bentobox.api.flags.Flag;
+import world.bentobox.bentobox.api.flags.FlagDecisionCache;
+import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
 
 /**
@@ -25,6 +29,22 @@ public class FlagsManager {
 
     private @NonNull BentoBox plugin;
     private Map<@NonNull Flag, @Nullable Addon> flags = new HashMap<>();
+    /**
+     * Registered flags by ID
+     */
+    private Map<@NonNull String, @NonNull Flag> ids = new HashMap<>();
+    /**
+     * Registered flags, in the order they were registered
+     */
+    private List<@NonNull Flag> flagList = new ArrayList<>();
+    /**
+     * Ordinal of each flag ID that has been registered. A flag that is registered again gets its ordinal back.
+     */
+    private Map<@NonNull String, @NonNull Integer> ordinals = new HashMap<>();
+    /**
+     * Registered flags by ordinal. Null where the flag has been unregistered.
+     */
+    private List<@Nullable Flag> byOrdinal = new ArrayList<>();
 
     /**
      * Stores the flag listeners that have already been registered into Bukkit's API to avoid duplicates.
@@ -34,6 +54,12 @@ public class FlagsManager {
      */
     private Map<@NonNull Listener, @NonNull Boolean> registeredListeners = new HashMap<>();
 
+    /**
+     * Cache of protection check outcomes, or null if it is not used
+     */
+    @Nullable
+    private FlagDecisionCache decisionCache;
+
     public FlagsManager(@NonNull BentoBox plugin) {
         this.plugin = plugin;
 
@@ -60,13 +86,25 @@ public class FlagsManager {
      * @since 1.5.0
      */
     public boolean registerFlag(@Nullable Addon addon, @NonNull Flag flag) {
-        // Check in case the flag id or icon already exists
-        for (Flag fl : flags.keySet()) {
-            if (fl.getID().equals(flag.getID())) {
-                return false;
-            }
+        // Check in case the flag id already exists
+        if (ids.containsKey(flag.getID())) {
+            return false;
         }
         flags.put(flag, addon);
+        ids.put(flag.getID(), flag);
+        flagList.add(flag);
+        int ordinal = ordinals.computeIfAbsent(flag.getID(), k -> ordinals.size());
+        if (ordinal == byOrdinal.size()) {
+            byOrdinal.add(flag);
+        } else {
+            byOrdinal.set(ordinal, flag);
+        }
+        if (flag.getOrdinal() != ordinal) {
+            flag.setOrdinal(ordinal);
+            relayoutIslands();
+        }
+        // Build the bypass permission nodes of this flag for each game mode
+        BypassPermissions.register(flag);
         // If there is a listener which is not already registered, register it into Bukkit if the plugin is fully loaded
         flag.getListener().ifPresent(this::registerListener);
         return true;
@@ -93,11 +131,11 @@ public class FlagsManager {
     }
 
     /**
-     * @return list of all flags
+     * @return a new list of all flags, in the order they were registered
      */
     @NonNull
     public List<Flag> getFlags() {
-        return new ArrayList<>(flags.keySet());
+        return new ArrayList<>(flagList);
     }
 
     /**
@@ -108,7 +146,47 @@ public class FlagsManager {
      */
     @NonNull
     public Optional<Flag> getFlag(@NonNull String id) {
-        return flags.keySet().stream().filter(flag -> flag.getID().equals(id)).findFirst();
+        return Optional.ofNullable(ids.get(id));
+    }
+
+    /**
+     * Gets a Flag by providing its ordinal.
+     * @param ordinal ordinal of the flag, see {@link Flag#getOrdinal()}
+     * @return the flag, or null if no flag with this ordinal is registered
+     * @since 1.14.0
+     */
+    @Nullable
+    public Flag getFlagByOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < byOrdinal.size() ? byOrdinal.get(ordinal) : null;
+    }
+
+    /**
+     * Get the number of ordinals that have been handed out. Every registered flag has an ordinal below this number,
+     * so it can be used as the size of an array indexed by flag ordinals.
+     * @return number of ordinals
+     * @since 1.14.0
+     */
+    public int getOrdinalCount() {
+        return byOrdinal.size();
+    }
+
+    /**
+     * Get the cache of protection check outcomes
+     * @return the cache or null if it is not used
+     * @since 1.14.0
+     */
+    @Nullable
+    public FlagDecisionCache getDecisionCache() {
+        return decisionCache;
+    }
+
+    /**
+     * Set the cache of protection check outcomes
+     * @param decisionCache the cache, or null to not use one
+     * @since 1.14.0
+     */
+    public void setDecisionCache(@Nullable FlagDecisionCache decisionCache) {
+        this.decisionCache = decisionCache;
     }
 
     /**
@@ -121,6 +199,34 @@ public class FlagsManager {
         flags.entrySet().stream().filter(e -> addon.equals(e.getValue())).map(Map.Entry::getKey)
                 .forEach(f -> f.getListener().ifPresent(HandlerList::unregisterAll));
         // Remove flags
+        flags.entrySet().stream().filter(e -> addon.equals(e.getValue())).map(Map.Entry::getKey)
+                .forEach(f -> {
+                    ids.remove(f.getID());
+                    flagList.remove(f);
+                    if (f.getOrdinal() >= 0) {
+                        byOrdinal.set(f.getOrdinal(), null);
+                    }
+                    f.setOrdinal(-1);
+                });
         flags.values().removeIf(addon::equals);
+        relayoutIslands();
+    }
+
+    /**
+     * Puts the flag ranks and cooldowns of every loaded island in the slots of the current flag ordinals.
+     * This is done here, on the main thread, so that the maps do not change when they are read.
+     */
+    private void relayoutIslands() {
+        if (plugin.getIslands() == null) {
+            return;
+        }
+        for (Island island : plugin.getIslands().getIslands()) {
+            if (island.getFlags() instanceof AbstractFlagMap) {
+                ((AbstractFlagMap<?>) island.getFlags()).relayout();
+            }
+            if (island.getCooldowns() instanceof AbstractFlagMap) {
+                ((AbstractFlagMap<?>) island.getCooldowns()).relayout();
+            }
+        }
     }
 }
@@ -5,10 +5,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.events.BentoBoxReadyEvent;
@@ -16,6 +18,7 @@ import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeleteChunksE
 import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent;
 import world.bentobox.bentobox.database.Database;
 import world.bentobox.bentobox.database.objects.IslandDeletion;
+import world.bentobox.bentobox.util.ChunkRegenerator;
 import world.bentobox.bentobox.util.DeleteIslandChunks;
 import world.bentobox.bentobox.util.Util;
 
@@ -32,11 +35,21 @@ public class IslandDeletionManager implements Listener {
      */
     private Database<IslandDeletion> handler;
     private Set<Location> inDeletion;
+    /**
+     * Chunks that island deletions can still regenerate in the current tick
+     */
+    private int chunkBudget;
+    /**
+     * Gives the chunks back to island deletions at the start of each tick
+     */
+    private BukkitTask budgetTask;
+    private final ChunkRegenerator regenerator;
 
     public IslandDeletionManager(BentoBox plugin) {
         this.plugin = plugin;
         handler = new Database<>(plugin, IslandDeletion.class);
         inDeletion = new HashSet<>();
+        regenerator = new ChunkRegenerator(plugin);
     }
 
     /**
@@ -77,6 +90,55 @@ public class IslandDeletionManager implements Listener {
         inDeletion.remove(e.getDeletedIslandInfo().getLocation());
         // Delete from database
         handler.deleteID(e.getDeletedIslandInfo().getUniqueId());
+        // The island's cell can be used for a new island
+        plugin.getIslands().getCellAllocator().free(e.getDeletedIslandInfo().getLocation());
+    }
+
+    /**
+     * Takes a chunk from the number of chunks that all island deletions together can regenerate in this tick
+     * @return true if a chunk can be regenerated now, false if the chunks of this tick have been used up
+     * @since 1.14.0
+     */
+    public boolean takeChunk() {
+        if (budgetTask == null) {
+            chunkBudget = plugin.getSettings().getDeleteChunksPerTick();
+            budgetTask = Bukkit.getScheduler().runTaskTimer(plugin,
+                    () -> chunkBudget = plugin.getSettings().getDeleteChunksPerTick(), 1L, 1L);
+        }
+        if (chunkBudget <= 0) {
+            return false;
+        }
+        chunkBudget--;
+        return true;
+    }
+
+    /**
+     * Saves how far the deletion of an island has got, so that it can carry on from there after a restart
+     * @param di - island deletion
+     * @since 1.14.0
+     */
+    public void saveProgress(IslandDeletion di) {
+        handler.saveObjectAsync(di);
+    }
+
+    /**
+     * Writes the deletions that are waiting to be saved, including how far they have got, and closes the database
+     * @since 1.14.0
+     */
+    public void shutdown() {
+        if (budgetTask != null) {
+            budgetTask.cancel();
+            budgetTask = null;
+        }
+        handler.close();
+    }
+
+    /**
+     * @return the regenerator that all island deletions use to write chunks
+     * @since 1.14.0
+     */
+    public ChunkRegenerator getRegenerator() {
+        return regenerator;
     }
 
     /**
@@ -23,7 +23,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.configuration.WorldSettings;
+import world.bentobox.bentobox.api.flags.BypassPermissions;
 import world.bentobox.bentobox.api.flags.Flag;
+import world.bentobox.bentobox.api.flags.WorldFlagTable;
 import world.bentobox.bentobox.hooks.MultiverseCoreHook;
 
 /**
@@ -38,6 +40,10 @@ public class IslandWorldManager {
      * Map associating Worlds (Overworld, Nether and End) with the GameModeAddon that creates them.
      */
     private Map<@NonNull World, @NonNull GameModeAddon> gameModes;
+    /**
+     * World settings of the flags, shared by the worlds of each game mode
+     */
+    private Map<@NonNull World, @NonNull WorldFlagTable> flagTables = new HashMap<>();
 
     /**
      * Manages worlds registered with BentoBox
@@ -116,6 +122,21 @@ public class IslandWorldManager {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the world settings of the flags of the game mode of this world
+     * @param world - world
+     * @return table of world settings, or null if the world is unknown
+     * @since 1.14.0
+     */
+    @Nullable
+    public WorldFlagTable getFlagTable(@Nullable World world) {
+        WorldFlagTable table = flagTables.get(world);
+        if (table != null) {
+            table.check();
+        }
+        return table;
+    }
+
     /**
      * Get friendly names of all the over worlds and associated GameModeAddon
      *
@@ -151,18 +172,22 @@ public class IslandWorldManager {
             throw new NullPointerException("Gamemode overworld object is null for " + gameMode.getDescription().getName());
         }
         String friendlyName = settings.getFriendlyName().isEmpty() ? world.getName() : settings.getFriendlyName();
+        WorldFlagTable flagTable = new WorldFlagTable(gameMode);
         // Add worlds to map
         gameModes.put(world, gameMode);
+        flagTables.put(world, flagTable);
         // Call Multiverse
         registerToMultiverse(world, true);
         if (settings.isNetherGenerate()) {
             gameModes.put(gameMode.getNetherWorld(), gameMode);
+            flagTables.put(gameMode.getNetherWorld(), flagTable);
             if (settings.isNetherIslands()) {
                 registerToMultiverse(gameMode.getNetherWorld(), true);
             }
         }
         if (settings.isEndGenerate()) {
             gameModes.put(gameMode.getEndWorld(), gameMode);
+            flagTables.put(gameMode.getEndWorld(), flagTable);
             if (settings.isEndIslands()) {
                 registerToMultiverse(gameMode.getEndWorld(), true);
             }
@@ -173,6 +198,8 @@ public class IslandWorldManager {
         .forEach(f -> settings.getDefaultIslandFlags().putIfAbsent(f, f.getDefaultRank()));
         plugin.getFlagsManager().getFlags().stream().filter(f -> f.getType().equals(Flag.Type.SETTING))
         .forEach(f -> settings.getDefaultIslandSettings().putIfAbsent(f, f.getDefaultRank()));
+        // Build the bypass permission nodes of this game mode
+        BypassPermissions.register(getPermissionPrefix(world), plugin.getFlagsManager().getFlags());
         Bukkit.getScheduler().runTask(plugin, () -> {
             // Set world difficulty
             Difficulty diff = settings.getDifficulty();
@@ -485,8 +512,8 @@ public class IslandWorldManager {
      * @return permission prefix for this world or empty string if world is not a game world
      */
     public String getPermissionPrefix(@NonNull World world) {
-        return gameModes.containsKey(world) ? gameModes.get(world).getWorldSettings().getPermissionPrefix() + "." : "";
-
+        GameModeAddon gm = gameModes.get(world);
+        return gm == null ? "" : BypassPermissions.prefix(gm.getWorldSettings().getPermissionPrefix());
     }
 
     /**
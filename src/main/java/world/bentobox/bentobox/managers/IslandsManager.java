@@ -50,7 +50,9 @@ import world.bentobox.bentobox.database.Database;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.database.objects.IslandDeletion;
 import world.bentobox.bentobox.lists.Flags;
+import world.bentobox.bentobox.managers.island.CellAllocator;
 import world.bentobox.bentobox.managers.island.IslandCache;
+import world.bentobox.bentobox.managers.island.IslandOccupancy;
 import world.bentobox.bentobox.util.DeleteIslandChunks;
 import world.bentobox.bentobox.util.Util;
 import world.bentobox.bentobox.util.teleport.SafeSpotTeleport;
@@ -98,8 +100,18 @@ public class IslandsManager {
     // Deleted islands
     @NonNull
     private List<String> deletedIslands;
+    // Players on each island
+    @NonNull
+    private final IslandOccupancy occupancy = new IslandOccupancy(this::getProtectedIslandAt);
+    // Cells handed out to new islands
+    @NonNull
+    private final CellAllocator cellAllocator;
 
     private Set<String> toSave = new HashSet<>();
+    /**
+     * Players whose new island is waiting for a free spot to be found
+     */
+    private final Set<UUID> creating = new HashSet<>();
 
     private BukkitTask task;
 
@@ -115,6 +127,7 @@ public class IslandsManager {
         quarantineCache = new HashMap<>();
         spawn = new HashMap<>();
         last = new HashMap<>();
+        cellAllocator = new CellAllocator(plugin);
         // This list should always be empty unless database deletion failed
         // In that case a purge utility may be required in the future
         deletedIslands = new ArrayList<>();
@@ -331,6 +344,7 @@ public class IslandsManager {
             island.setUniqueId(gmName + UUID.randomUUID().toString());
         }
         if (islandCache.addIsland(island)) {
+            cellAllocator.occupy(location);
             return island;
         }
         return null;
@@ -364,6 +378,7 @@ public class IslandsManager {
             handler.deleteObject(island);
             // Remove players from island
             removePlayersFromIsland(island);
+            occupancy.forget(island);
             // Remove blocks from world
             new DeleteIslandChunks(plugin, new IslandDeletion(island));
         }
@@ -465,6 +480,40 @@ public class IslandsManager {
         return island != null ? island.getCenter() : null;
     }
 
+    /**
+     * Get the cells of the island lattice that are handed out to new islands
+     * @return the cell allocator
+     * @since 1.14.0
+     */
+    @NonNull
+    public CellAllocator getCellAllocator() {
+        return cellAllocator;
+    }
+
+    /**
+     * Checks if a new island is being made for this player, but is waiting for a free spot to be found
+     * @param uuid - the player's UUID
+     * @return true if an island is being made
+     * @since 1.14.0
+     */
+    public boolean isCreating(@NonNull UUID uuid) {
+        return creating.contains(uuid);
+    }
+
+    /**
+     * Sets whether a new island is being made for this player
+     * @param uuid - the player's UUID
+     * @param isCreating - true if an island is being made, false when it has been made or failed
+     * @since 1.14.0
+     */
+    public void setCreating(@NonNull UUID uuid, boolean isCreating) {
+        if (isCreating) {
+            creating.add(uuid);
+        } else {
+            creating.remove(uuid);
+        }
+    }
+
     public Location getLast(@NonNull World world) {
         return last.get(world);
     }
@@ -1055,49 +1104,13 @@ public class IslandsManager {
         islandCache.clear();
         quarantineCache.clear();
         List<Island> toQuarantine = new ArrayList<>();
-        int owned = 0;
-        int unowned = 0;
-        // Attempt to load islands
-        for (Island island : handler.loadObjects()) {
-            if (island == null) {
-                plugin.logWarning("Null island when loading...");
-                continue;
-            }
-            if (island.isDeleted()) {
-                // These will be deleted later
-                deletedIslands.add(island.getUniqueId());
-            } else if (island.isDoNotLoad() && island.getWorld() != null && island.getCenter() != null) {
-                // Add to quarantine cache
-                quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
-            } else {
-                // Fix island center if it is off
-                fixIslandCenter(island);
-                if (!islandCache.addIsland(island)) {
-                    // Quarantine the offending island
-                    toQuarantine.add(island);
-                    // Add to quarantine cache
-                    island.setDoNotLoad(true);
-                    quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
-                    if (island.isUnowned()) {
-                        unowned++;
-                    } else {
-                        owned++;
-                    }
-                } else if (island.isSpawn()) {
-                    // Success, set spawn if this is the spawn island.
-                    this.setSpawn(island);
-                } else {
-                    // Successful load
-                    // Clean any null flags out of the island - these can occur for various reasons
-                    island.getFlags().keySet().removeIf(f -> f.getID().startsWith("NULL_FLAG"));
-                }
-            }
-
-            // Update some of their fields
-            if (island.getGameMode() == null) {
-                island.setGameMode(plugin.getIWM().getAddon(island.getWorld()).map(gm -> gm.getDescription().getName()).orElse(""));
-            }
-        }
+        // Attempt to load islands. They are decoded in parallel but added to the cache one by one, in the same order each time
+        handler.loadObjects(island -> loadIsland(island, toQuarantine));
+        // Find the islands the players who are already online are on
+        occupancy.clear();
+        Bukkit.getOnlinePlayers().forEach(p -> updateOccupancy(p, p.getLocation()));
+        int unowned = (int) toQuarantine.stream().filter(Island::isUnowned).count();
+        int owned = toQuarantine.size() - unowned;
         if (!toQuarantine.isEmpty()) {
             plugin.logError(toQuarantine.size() + " islands could not be loaded successfully; moving to trash bin.");
             plugin.logError(unowned + " are unowned, " + owned + " are owned.");
@@ -1128,6 +1141,44 @@ public class IslandsManager {
         }
     }
 
+    private void loadIsland(Island island, List<Island> toQuarantine) {
+        if (island == null) {
+            plugin.logWarning("Null island when loading...");
+            return;
+        }
+        if (island.isDeleted()) {
+            // These will be deleted later
+            deletedIslands.add(island.getUniqueId());
+        } else if (island.isDoNotLoad() && island.getWorld() != null && island.getCenter() != null) {
+            // Add to quarantine cache
+            quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
+        } else {
+            // Use the array backed flag maps from now on
+            island.convertFlagMaps();
+            // Fix island center if it is off
+            fixIslandCenter(island);
+            if (!islandCache.addIsland(island)) {
+                // Quarantine the offending island
+                toQuarantine.add(island);
+                // Add to quarantine cache
+                island.setDoNotLoad(true);
+                quarantineCache.computeIfAbsent(island.getOwner(), k -> new ArrayList<>()).add(island);
+            } else if (island.isSpawn()) {
+                // Success, set spawn if this is the spawn island.
+                this.setSpawn(island);
+            } else {
+                // Successful load
+                // Clean any null flags out of the island - these can occur for various reasons
+                island.getFlags().keySet().removeIf(f -> f.getID().startsWith("NULL_FLAG"));
+            }
+        }
+
+        // Update some of their fields
+        if (island.getGameMode() == null) {
+            island.setGameMode(plugin.getIWM().getAddon(island.getWorld()).map(gm -> gm.getDescription().getName()).orElse(""));
+        }
+    }
+
     /**
      * Island coordinates should always be a multiple of the island distance x 2. If they are not, this method
      * realigns the grid coordinates.
@@ -1216,9 +1267,9 @@ public class IslandsManager {
      */
     public void removePlayersFromIsland(Island island) {
         World w = island.getWorld();
-        Bukkit.getOnlinePlayers().stream()
+        island.getPlayersOnIsland().stream()
         .filter(p -> p.getGameMode().equals(plugin.getIWM().getDefaultGameMode(island.getWorld())))
-        .filter(p -> island.onIsland(p.getLocation())).forEach(p -> {
+        .forEach(p -> {
             // Teleport island players to their island home
             if (!island.getMemberSet().contains(p.getUniqueId()) && (hasIsland(w, p.getUniqueId()) || inTeam(w, p.getUniqueId()))) {
                 homeTeleportAsync(w, p);
@@ -1232,6 +1283,30 @@ public class IslandsManager {
         });
     }
 
+    /**
+     * Get the index of the players on each island
+     * @return island occupancy index
+     * @since 1.14.0
+     */
+    @NonNull
+    public IslandOccupancy getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Updates the island this player is on, e.g. when they join or respawn
+     * @param player - player
+     * @param location - the player's new location, or null if the player quit
+     * @since 1.14.0
+     */
+    public void updateOccupancy(@NonNull Player player, @Nullable Location location) {
+        if (location == null) {
+            occupancy.remove(player.getUniqueId());
+        } else {
+            occupancy.place(player, location);
+        }
+    }
+
     /**
      * Save the all the islands to the database
      */
@@ -1293,10 +1368,11 @@ public class IslandsManager {
 
     public void shutdown(){
         // Remove all coop associations
-        islandCache.getIslands().forEach(i -> i.getMembers().values().removeIf(p -> p == RanksManager.COOP_RANK));
+        islandCache.getIslands().forEach(i -> i.removeRank(RanksManager.COOP_RANK));
         saveAll();
         islandCache.clear();
         handler.close();
+        cellAllocator.close();
     }
 
     /**
@@ -1392,7 +1468,7 @@ public class IslandsManager {
      * @param uniqueId - UUID of player
      */
     public void clearRank(int rank, UUID uniqueId) {
-        islandCache.getIslands().forEach(i -> i.getMembers().entrySet().removeIf(e -> e.getKey().equals(uniqueId) && e.getValue() == rank));
+        islandCache.getIslands().stream().filter(i -> i.getRank(uniqueId) == rank).forEach(i -> i.removeMember(uniqueId));
     }
 
     /**
@@ -1485,6 +1561,7 @@ public class IslandsManager {
         if (this.hasIsland(world, target)) {
             Island oldIsland = islandCache.get(world, target);
             islandCache.removeIsland(oldIsland);
+            occupancy.forget(oldIsland);
 
             // Set old island to trash
             oldIsland.setDoNotLoad(true);
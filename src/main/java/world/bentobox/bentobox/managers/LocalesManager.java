@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -14,10 +15,13 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.jar.JarFile;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.World;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -26,6 +30,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.localization.BentoBoxLocale;
+import world.bentobox.bentobox.api.localization.TranslationTemplate;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.util.FileLister;
 import world.bentobox.bentobox.util.Util;
@@ -37,6 +42,19 @@ public class LocalesManager {
 
     private BentoBox plugin;
     private Map<Locale, BentoBoxLocale> languages = new HashMap<>();
+    /**
+     * Compiled translations. Cleared whenever locales are loaded.
+     */
+    private final Map<String, TranslationTemplate> templates = new ConcurrentHashMap<>();
+    /**
+     * Translations of each user locale with the server's locale and the en-US locale filled in.
+     * Cleared whenever locales are loaded.
+     */
+    private final Map<Locale, FallbackChain> chains = new ConcurrentHashMap<>();
+    /**
+     * Translations of the server's locale with the en-US locale filled in
+     */
+    private volatile FallbackChain serverChain;
     private static final String LOCALE_FOLDER = "locales";
     private static final String BENTOBOX = "BentoBox";
     private static final String SPACER = "*************************************************";
@@ -55,15 +73,7 @@ public class LocalesManager {
      */
     @Nullable
     public String get(User user, String reference) {
-        // Make sure the user is not null
-        if (user != null) {
-            BentoBoxLocale locale = languages.get(user.getLocale());
-            if (locale != null && locale.contains(reference)) {
-                return locale.get(reference);
-            }
-        }
-        // No translation could be gotten from the player's locale, trying more generic solutions
-        return get(reference);
+        return getChain(user == null ? null : user.getLocale()).translations.get(reference);
     }
 
     /**
@@ -74,15 +84,8 @@ public class LocalesManager {
      * @return the translated String from the User's locale or from the server's locale or from the en-US locale, or null.
      */
     public String getOrDefault(User user, String reference, String defaultText) {
-        // Make sure the user is not null
-        if (user != null) {
-            BentoBoxLocale locale = languages.get(user.getLocale());
-            if (locale != null && locale.contains(reference)) {
-                return locale.get(reference);
-            }
-        }
-        // No translation could be gotten from the player's locale, trying more generic solutions
-        return getOrDefault(reference, defaultText);
+        String result = get(user, reference);
+        return result == null ? defaultText : result;
     }
 
     /**
@@ -92,16 +95,7 @@ public class LocalesManager {
      */
     @Nullable
     public String get(String reference) {
-        // Get the translation from the server's locale
-        if (languages.containsKey(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage()))
-                && languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage())).contains(reference)) {
-            return languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage())).get(reference);
-        }
-        // Get the translation from the en-US locale
-        if (languages.get(Locale.forLanguageTag("en-US")).contains(reference)) {
-            return languages.get(Locale.forLanguageTag("en-US")).get(reference);
-        }
-        return null;
+        return getChain(null).translations.get(reference);
     }
 
     /**
@@ -119,25 +113,72 @@ public class LocalesManager {
     /**
      * Gets the list of prefixes from the user's locale, the server's locale and the en-US locale file.
      * @param user the user to get the locale, not null.
-     * @return the list of prefixes from the user's locale, the server's locale and the en-US locale file.
+     * @return the list of prefixes from the user's locale, the server's locale and the en-US locale file. It cannot be modified.
      * @since 1.13.0
      */
     public Set<String> getAvailablePrefixes(@NonNull User user) {
-        Set<String> prefixes = new HashSet<>();
+        return getChain(user.getLocale()).prefixes;
+    }
 
-        // Get the player locale
-        BentoBoxLocale locale = languages.get(user.getLocale());
-        if (locale != null) {
-            prefixes.addAll(locale.getPrefixes());
+    /**
+     * Gets the translations of this locale, with the server's locale and then the en-US locale used for the references
+     * it does not have. They are worked out once per locale until the locales are loaded again.
+     * @param locale - user's locale, or null for the server's locale
+     * @return fallback chain
+     */
+    private FallbackChain getChain(@Nullable Locale locale) {
+        String defaultLanguage = plugin.getSettings().getDefaultLanguage();
+        FallbackChain server = serverChain;
+        if (server == null || !Objects.equals(server.defaultLanguage, defaultLanguage)) {
+            // The compiled translations were made with the old default language
+            clearTemplates();
+            server = new FallbackChain(defaultLanguage, null, languages.get(Locale.forLanguageTag("en-US")),
+                    languages.get(Locale.forLanguageTag(defaultLanguage)));
+            serverChain = server;
         }
+        if (locale == null || !languages.containsKey(locale)) {
+            return server;
+        }
+        FallbackChain parent = server;
+        return chains.computeIfAbsent(locale, l -> new FallbackChain(defaultLanguage, parent, languages.get(l)));
+    }
 
-        // Get the prefixes from the server's locale
-        prefixes.addAll(languages.get(Locale.forLanguageTag(plugin.getSettings().getDefaultLanguage())).getPrefixes());
-
-        // Get the prefixes from the en-US locale
-        prefixes.addAll(languages.get(Locale.forLanguageTag("en-US")).getPrefixes());
+    /**
+     * Gets the compiled translation of this reference for this user, compiling it if it is not cached.
+     * Translations are cached by the user's locale, world and addon, because the prefixes depend on them.
+     * References that have no translation are not cached, so that looking up unknown references does not fill the cache.
+     * @param user - the User
+     * @param reference - reference, including any addon prefix
+     * @param compiler - compiles the translation if it is not cached, or gives null if there is no translation
+     * @return the compiled translation, or null if there is no translation
+     * @since 1.14.0
+     */
+    @Nullable
+    public TranslationTemplate getTemplate(@NonNull User user, @NonNull String reference, @NonNull Supplier<@Nullable TranslationTemplate> compiler) {
+        // Clears the templates if the default language has changed
+        getChain(null);
+        World world = user.getWorld();
+        String key = user.getLocale().toLanguageTag() + '\n' + reference + '\n' + (world == null ? "" : world.getName())
+        + '\n' + (user.getAddon() == null ? "" : user.getAddon().getDescription().getName());
+        // Compiling can get other templates, e.g. prefixes, so this is not done in computeIfAbsent
+        TranslationTemplate template = templates.get(key);
+        if (template == null) {
+            template = compiler.get();
+            if (template != null) {
+                templates.put(key, template);
+            }
+        }
+        return template;
+    }
 
-        return prefixes;
+    /**
+     * Clears the compiled translations and fallback chains, e.g. after translations have been set in a locale
+     * @since 1.14.0
+     */
+    public void clearTemplates() {
+        templates.clear();
+        chains.clear();
+        serverChain = null;
     }
 
     /**
@@ -262,6 +303,7 @@ public class LocalesManager {
                         " The file has likely an invalid YML format or has been made unreadable during the process.");
             }
         }
+        clearTemplates();
     }
 
     private void copyFile(String name, File targetFile) {
@@ -308,6 +350,7 @@ public class LocalesManager {
      */
     public void reloadLanguages() {
         languages.clear();
+        clearTemplates();
         copyLocalesFromPluginJar();
         loadLocalesFromFile(BENTOBOX);
         plugin.getAddonsManager().getAddons().forEach(addon -> {
@@ -326,6 +369,7 @@ public class LocalesManager {
      */
     public void analyzeLocales(boolean fix) {
         languages.clear();
+        clearTemplates();
 
         User user = User.getInstance(Bukkit.getConsoleSender());
 
@@ -344,6 +388,7 @@ public class LocalesManager {
             user.sendRawMessage(ChatColor.AQUA + "Analyzing addon " + addon.getDescription().getName());
             user.sendRawMessage(ChatColor.AQUA + SPACER);
             languages.clear();
+            clearTemplates();
             loadLocalesFromFile(addon.getDescription().getName());
             if (languages.containsKey(Locale.US)) {
                 analyze(user);
@@ -386,4 +431,36 @@ public class LocalesManager {
 
         });
     }
+
+    /**
+     * The translations and prefixes of a locale with the locales it falls back on filled in
+     */
+    private static class FallbackChain {
+        private final String defaultLanguage;
+        private final Map<String, String> translations;
+        private final Set<String> prefixes;
+
+        /**
+         * @param defaultLanguage - server's locale the chain was made with
+         * @param parent - chain to fall back on, or null
+         * @param locales - locales to add, each one taking the place of the translations before it. Null locales are skipped.
+         */
+        private FallbackChain(String defaultLanguage, @Nullable FallbackChain parent, BentoBoxLocale... locales) {
+            this.defaultLanguage = defaultLanguage;
+            Map<String, String> t = parent == null ? new HashMap<>() : new HashMap<>(parent.translations);
+            Set<String> p = parent == null ? new HashSet<>() : new HashSet<>(parent.prefixes);
+            for (BentoBoxLocale locale : locales) {
+                if (locale == null) {
+                    continue;
+                }
+                YamlConfiguration config = locale.getConfig();
+                for (String reference : config.getKeys(true)) {
+                    t.put(reference, config.getString(reference));
+                }
+                p.addAll(locale.getPrefixes());
+            }
+            translations = Collections.unmodifiableMap(t);
+            prefixes = Collections.unmodifiableSet(p);
+        }
+    }
 }
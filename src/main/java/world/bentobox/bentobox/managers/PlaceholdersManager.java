@@ -10,6 +10,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.api.placeholders.PlaceholderCache;
 import world.bentobox.bentobox.api.placeholders.PlaceholderReplacer;
 import world.bentobox.bentobox.hooks.placeholders.PlaceholderAPIHook;
 import world.bentobox.bentobox.lists.GameModePlaceholder;
@@ -22,11 +23,22 @@ import world.bentobox.bentobox.lists.GameModePlaceholder;
 public class PlaceholdersManager {
 
     private BentoBox plugin;
+    @Nullable
+    private PlaceholderCache cache;
 
     public PlaceholdersManager(BentoBox plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Sets the cache that placeholders registered from now on will keep their values in
+     * @param cache the cache, or null to not use one
+     * @since 1.14.0
+     */
+    public void setCache(@Nullable PlaceholderCache cache) {
+        this.cache = cache;
+    }
+
     /**
      * Registers this placeholder on the behalf of BentoBox.
      * @param placeholder the placeholder to register, not null.
@@ -35,7 +47,7 @@ public class PlaceholdersManager {
      */
     public void registerPlaceholder(@NonNull String placeholder, @NonNull PlaceholderReplacer replacer) {
         // Register it in PlaceholderAPI
-        getPlaceholderAPIHook().ifPresent(hook -> hook.registerPlaceholder(placeholder, replacer));
+        getPlaceholderAPIHook().ifPresent(hook -> hook.registerPlaceholder(placeholder, cached("bentobox", placeholder, replacer)));
     }
 
     /**
@@ -52,7 +64,12 @@ public class PlaceholdersManager {
             return;
         }
         // Register it in PlaceholderAPI
-        getPlaceholderAPIHook().ifPresent(hook -> hook.registerPlaceholder(addon, placeholder, replacer));
+        getPlaceholderAPIHook().ifPresent(hook -> hook.registerPlaceholder(addon, placeholder,
+                cached(addon.getDescription().getName(), placeholder, replacer)));
+    }
+
+    private PlaceholderReplacer cached(String owner, String placeholder, PlaceholderReplacer replacer) {
+        return cache == null ? replacer : cache.cached(owner + "_" + placeholder, placeholder, replacer);
     }
 
     /**
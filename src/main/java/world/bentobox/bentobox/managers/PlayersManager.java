@@ -2,12 +2,13 @@ package world.bentobox.bentobox.managers;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -30,7 +31,19 @@ public class PlayersManager {
     private Database<Names> names;
 
     private Map<UUID, Players> playerCache;
+    /**
+     * Players that were looked up in advance and are not in the database, with when they were looked up.
+     * Entries are removed when the player joins or their login is denied, or once they are older than
+     * {@link #UNKNOWN_EXPIRY}, in case the player goes before they join.
+     */
+    private final Map<UUID, Long> unknownPlayers = new ConcurrentHashMap<>();
+    private static final long UNKNOWN_EXPIRY = 60000L;
     private Set<UUID> inTeleport;
+    /**
+     * When each player that has been looked up last joined or left the server, in milliseconds.
+     * Kept up to date as players join and leave, so it can be read from any thread.
+     */
+    private final Map<UUID, Long> lastLogins = new ConcurrentHashMap<>();
     private Set<UUID> toSave = new HashSet<>();
     private BukkitTask task;
 
@@ -47,7 +60,8 @@ public class PlayersManager {
         handler = new Database<>(plugin, Players.class);
         // Set up the names database
         names = new Database<>(plugin, Names.class);
-        playerCache = new HashMap<>();
+        // Players can be loaded async, so the cache must be thread-safe
+        playerCache = new ConcurrentHashMap<>();
         inTeleport = new HashSet<>();
     }
 
@@ -64,6 +78,7 @@ public class PlayersManager {
      */
     public void load(){
         playerCache.clear();
+        unknownPlayers.clear();
         inTeleport.clear();
         handler.loadObjects().forEach(p -> playerCache.put(p.getPlayerUUID(), p));
     }
@@ -107,6 +122,9 @@ public class PlayersManager {
      */
     @Nullable
     public Players getPlayer(UUID uuid){
+        if (uuid == null) {
+            return null;
+        }
         if (!playerCache.containsKey(uuid)) {
             addPlayer(uuid);
         }
@@ -136,23 +154,106 @@ public class PlayersManager {
             return;
         }
         if (!playerCache.containsKey(playerUUID)) {
-            Players player;
             // If the player is in the database, load it, otherwise create a new player
-            if (handler.objectExists(playerUUID.toString())) {
-                player = handler.loadObject(playerUUID.toString());
-                if (player == null) {
-                    player = new Players(plugin, playerUUID);
-                    // Corrupted database entry
-                    plugin.logError("Corrupted player database entry for " + playerUUID + " - unrecoverable. Recreated.");
-                    player.setUniqueId(playerUUID.toString());
-                }
-            } else {
+            Players player = isUnknown(playerUUID) ? null : loadPlayer(playerUUID);
+            unknownPlayers.remove(playerUUID);
+            if (player == null) {
                 player = new Players(plugin, playerUUID);
             }
-            playerCache.put(playerUUID, player);
+            playerCache.putIfAbsent(playerUUID, player);
         }
     }
 
+    /**
+     * Loads a player from the database. Can be called from any thread.
+     * @param playerUUID - the player's UUID
+     * @return player or null if the player is not in the database
+     */
+    @Nullable
+    private Players loadPlayer(@NonNull UUID playerUUID) {
+        if (!handler.objectExists(playerUUID.toString())) {
+            return null;
+        }
+        Players player = handler.loadObject(playerUUID.toString());
+        if (player == null) {
+            player = new Players(plugin, playerUUID);
+            // Corrupted database entry
+            plugin.logError("Corrupted player database entry for " + playerUUID + " - unrecoverable. Recreated.");
+            player.setUniqueId(playerUUID.toString());
+        }
+        return player;
+    }
+
+    /**
+     * Looks up a player in the database in advance, so that they do not have to be loaded on the main thread later.
+     * This blocks while the database is read, so it must not be called from the main thread.
+     * @param playerUUID - the player's UUID
+     * @since 1.14.0
+     */
+    public void prefetch(@NonNull UUID playerUUID) {
+        if (playerCache.containsKey(playerUUID)) {
+            return;
+        }
+        Players player = loadPlayer(playerUUID);
+        long now = System.currentTimeMillis();
+        // Drop the players who went before they joined
+        unknownPlayers.values().removeIf(time -> now - time > UNKNOWN_EXPIRY);
+        if (player == null) {
+            unknownPlayers.put(playerUUID, now);
+        } else {
+            playerCache.putIfAbsent(playerUUID, player);
+        }
+    }
+
+    /**
+     * Forgets that a player was looked up in advance, because they are not going to join
+     * @param playerUUID - the player's UUID
+     * @since 1.14.0
+     */
+    public void cancelPrefetch(@NonNull UUID playerUUID) {
+        unknownPlayers.remove(playerUUID);
+    }
+
+    /**
+     * @param playerUUID - the player's UUID
+     * @return true if the player was looked up in advance, not long ago, and was not in the database
+     */
+    private boolean isUnknown(@NonNull UUID playerUUID) {
+        Long time = unknownPlayers.get(playerUUID);
+        return time != null && System.currentTimeMillis() - time <= UNKNOWN_EXPIRY;
+    }
+
+    /**
+     * Get player by UUID without blocking the main thread. The player is loaded from the database async
+     * if they are not in the cache, and a new player is made if they are not in the database.
+     * The future completes on the main thread.
+     * @param playerUUID - the player's UUID
+     * @return future player object, or null if the UUID is null
+     * @since 1.14.0
+     */
+    @NonNull
+    public CompletableFuture<Players> getPlayerAsync(@Nullable UUID playerUUID) {
+        if (playerUUID == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Players cached = playerCache.get(playerUUID);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Players> result = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Players player = isUnknown(playerUUID) ? null : loadPlayer(playerUUID);
+            if (player == null) {
+                player = new Players(plugin, playerUUID);
+            }
+            Players existing = playerCache.putIfAbsent(playerUUID, player);
+            unknownPlayers.remove(playerUUID);
+            Players p = existing == null ? player : existing;
+            Bukkit.getScheduler().runTask(plugin, () -> result.complete(p));
+        });
+        return result;
+    }
+
     /**
      * Checks if the player is known or not.
      * Will check not just the cache but if the object but in the database too.
@@ -161,7 +262,8 @@ public class PlayersManager {
      * @return true if player is known, otherwise false
      */
     public boolean isKnown(UUID uniqueID) {
-        return uniqueID != null && (playerCache.containsKey(uniqueID) || handler.objectExists(uniqueID.toString()));
+        return uniqueID != null && (playerCache.containsKey(uniqueID)
+                || (!isUnknown(uniqueID) && handler.objectExists(uniqueID.toString())));
     }
 
     /**
@@ -301,6 +403,41 @@ public class PlayersManager {
         return playerCache.get(playerUUID).getPlayerName();
     }
 
+    /**
+     * Records when a player joined or left the server
+     * @param playerUUID - the player's UUID
+     * @param time - time in milliseconds
+     * @since 1.14.0
+     */
+    public void setLastLogin(@NonNull UUID playerUUID, long time) {
+        lastLogins.put(playerUUID, time);
+        Players player = playerCache.get(playerUUID);
+        if (player != null) {
+            player.setLastLogin(time);
+        }
+    }
+
+    /**
+     * Returns when a player last joined or left the server. Can be called from any thread.
+     * If the player has not been seen since BentoBox started, the server's player data is read once,
+     * so the first call for an offline player should not be made on the main thread.
+     * @param playerUUID - the player's UUID
+     * @return time in milliseconds, or 0 if the player has never played
+     * @since 1.14.0
+     */
+    public long getLastLogin(@NonNull UUID playerUUID) {
+        Long time = lastLogins.get(playerUUID);
+        if (time != null) {
+            return time;
+        }
+        // Not computed in the map because reading the player data can take a while
+        Players player = playerCache.get(playerUUID);
+        long lastLogin = player != null && player.getLastLogin() != 0 ? player.getLastLogin()
+                : Bukkit.getOfflinePlayer(playerUUID).getLastPlayed();
+        Long existing = lastLogins.putIfAbsent(playerUUID, lastLogin);
+        return existing == null ? lastLogin : existing;
+    }
+
     /**
      * Returns how many island resets the player has done.
      * @param world world
@@ -393,7 +530,8 @@ public class PlayersManager {
      */
     public int getDeaths(World world, UUID playerUUID) {
         addPlayer(playerUUID);
-        return playerCache.get(playerUUID) == null ? 0 : playerCache.get(playerUUID).getDeaths(world);
+        Players player = playerUUID == null ? null : playerCache.get(playerUUID);
+        return player == null ? 0 : player.getDeaths(world);
     }
 
     /**
@@ -425,7 +563,7 @@ public class PlayersManager {
      * @param playerUUID - the player's UUID
      */
     public void save(UUID playerUUID) {
-        if (playerCache.containsKey(playerUUID)) {
+        if (playerUUID != null && playerCache.containsKey(playerUUID)) {
             handler.saveObjectAsync(playerCache.get(playerUUID));
         }
     }
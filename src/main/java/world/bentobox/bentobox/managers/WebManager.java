@@ -170,6 +170,11 @@ public class WebManager {
             }
         }
 
+        if (!tagsContent.isEmpty() || !topicsContent.isEmpty()) {
+            // The new translations have to be compiled again
+            plugin.getLocalesManager().clearTemplates();
+        }
+
         // Register the catalog data
         if (!catalogContent.isEmpty()) {
             try {
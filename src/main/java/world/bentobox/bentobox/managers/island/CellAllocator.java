@@ -0,0 +1,236 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.eclipse.jdt.annotation.NonNull;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.Database;
+import world.bentobox.bentobox.database.objects.IslandCells;
+
+/**
+ * Hands out the cells of each world's island lattice to new islands.
+ * <p>
+ * Cells are numbered in a spiral out from the world's first island. Each cell is either occupied by an island,
+ * reserved because it was handed out and is waiting for its island, deleted because its island is being
+ * deleted, or free. Free cells are the cells after the last one handed out, and the cells whose islands
+ * were deleted and whose blocks were regenerated. The lowest free cell is handed out first, so deleted
+ * islands are reused before the spiral grows. The cells are saved, so they are not looked for again when
+ * the server restarts.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class CellAllocator {
+
+    /**
+     * The cells of one world
+     */
+    private static class Cells {
+        private final IslandCells data;
+        private final TreeSet<Long> free = new TreeSet<>();
+        private final Set<Long> reserved = new HashSet<>();
+
+        private Cells(IslandCells data) {
+            this.data = data;
+        }
+    }
+
+    private final BentoBox plugin;
+    private final Database<IslandCells> handler;
+    private final Map<World, Cells> worlds = new HashMap<>();
+
+    public CellAllocator(BentoBox plugin) {
+        this.plugin = plugin;
+        handler = new Database<>(plugin, IslandCells.class);
+    }
+
+    /**
+     * Hands out the next cell in this world that has no island and is not being deleted.
+     * The cell is reserved until an island is made there and it is marked with {@link #occupy(Location)}, or until it
+     * is given back with {@link #free(Location)} because no island could be made there.
+     * @param world - world
+     * @return center of the cell
+     */
+    @NonNull
+    public synchronized Location allocate(@NonNull World world) {
+        Cells c = getCells(world);
+        Long n;
+        while ((n = c.free.pollFirst()) != null) {
+            if (isAvailable(world, c, n)) {
+                return reserve(world, c, n);
+            }
+        }
+        do {
+            n = c.data.getNext();
+            c.data.setNext(n + 1);
+        } while (!isAvailable(world, c, n));
+        return reserve(world, c, n);
+    }
+
+    private boolean isAvailable(World world, Cells c, long n) {
+        if (c.reserved.contains(n)) {
+            return false;
+        }
+        Location l = getLocation(world, c, n);
+        return !plugin.getIslands().getIslandAt(l).isPresent() && !plugin.getIslandDeletionManager().inDeletion(l);
+    }
+
+    private Location reserve(World world, Cells c, long n) {
+        c.reserved.add(n);
+        save(c);
+        return getLocation(world, c, n);
+    }
+
+    /**
+     * Marks the cell at this location as taken, e.g. because an island was made there.
+     * It will not be handed out again unless it is freed.
+     * @param location - center of the cell
+     */
+    public synchronized void occupy(@NonNull Location location) {
+        Cells c = location.getWorld() == null ? null : worlds.get(location.getWorld());
+        if (c == null) {
+            // Nothing has been handed out in this world yet
+            return;
+        }
+        long n = getIndex(c, location);
+        if (n < 0) {
+            return;
+        }
+        boolean changed = c.reserved.remove(n);
+        changed |= c.free.remove(n);
+        if (changed) {
+            save(c);
+        }
+    }
+
+    /**
+     * Frees the cell at this location so it can be handed out again, e.g. when the blocks of a deleted island
+     * have been regenerated, or when the island that a reserved cell was handed out for was not made
+     * @param location - center of the cell
+     */
+    public synchronized void free(@NonNull Location location) {
+        if (location.getWorld() == null) {
+            return;
+        }
+        Cells c = getCells(location.getWorld());
+        long n = getIndex(c, location);
+        if (n >= 0 && n < c.data.getNext()) {
+            c.reserved.remove(n);
+            c.free.add(n);
+            save(c);
+        }
+    }
+
+    /**
+     * Writes the cells that are waiting to be saved and closes the database
+     */
+    public synchronized void close() {
+        handler.close();
+    }
+
+    private Cells getCells(World world) {
+        return worlds.computeIfAbsent(world, this::load);
+    }
+
+    private Cells load(World world) {
+        int distance = plugin.getIWM().getIslandDistance(world);
+        int x = plugin.getIWM().getIslandXOffset(world) + plugin.getIWM().getIslandStartX(world);
+        int z = plugin.getIWM().getIslandZOffset(world) + plugin.getIWM().getIslandStartZ(world);
+        IslandCells data = handler.objectExists(world.getName()) ? handler.loadObject(world.getName()) : null;
+        if (data != null && (data.getDistance() != distance || data.getX() != x || data.getZ() != z)) {
+            plugin.log("Island distance or start location of " + world.getName() + " has changed. Island cells will be looked for again from the start.");
+            data = null;
+        }
+        Cells c = new Cells(data == null ? new IslandCells(world.getName(), distance, x, z) : data);
+        c.free.addAll(c.data.getFree());
+        // Cells that were handed out before the server stopped but did not get an island can be handed out again
+        c.free.addAll(c.data.getReserved());
+        c.data.setReserved(new ArrayList<>());
+        return c;
+    }
+
+    private void save(Cells c) {
+        c.data.setFree(new ArrayList<>(c.free));
+        c.data.setReserved(new ArrayList<>(c.reserved));
+        handler.saveObjectAsync(c.data);
+    }
+
+    private Location getLocation(World world, Cells c, long n) {
+        int[] cell = getCell(n);
+        long size = 2L * c.data.getDistance();
+        return new Location(world, c.data.getX() + cell[0] * size, plugin.getIWM().getIslandHeight(world), c.data.getZ() + cell[1] * size);
+    }
+
+    /**
+     * @return the index of the cell at this location, or -1 if the location is not the center of a cell
+     */
+    private long getIndex(Cells c, Location location) {
+        long size = 2L * c.data.getDistance();
+        long dx = (long) location.getBlockX() - c.data.getX();
+        long dz = (long) location.getBlockZ() - c.data.getZ();
+        if (size <= 0 || dx % size != 0 || dz % size != 0) {
+            return -1;
+        }
+        return getIndex((int) (dx / size), (int) (dz / size));
+    }
+
+    /**
+     * Get the cell coordinates of a spiral index.
+     * Ring r of the spiral is made of the cells whose largest coordinate is r, and starts at index (2r - 1)².
+     * @param n - spiral index
+     * @return cell x and z
+     */
+    static int[] getCell(long n) {
+        if (n == 0) {
+            return new int[] {0, 0};
+        }
+        long r = (long) Math.ceil((Math.sqrt(n + 1D) - 1) / 2);
+        // Correct any rounding
+        while ((2 * r + 1) * (2 * r + 1) <= n) {
+            r++;
+        }
+        while ((2 * r - 1) * (2 * r - 1) > n) {
+            r--;
+        }
+        long p = n - (2 * r - 1) * (2 * r - 1);
+        long side = p / (2 * r);
+        long o = p % (2 * r);
+        if (side == 0) {
+            return new int[] {(int) r, (int) (-r + 1 + o)};
+        } else if (side == 1) {
+            return new int[] {(int) (r - 1 - o), (int) r};
+        } else if (side == 2) {
+            return new int[] {(int) -r, (int) (r - 1 - o)};
+        }
+        return new int[] {(int) (-r + 1 + o), (int) -r};
+    }
+
+    /**
+     * Get the spiral index of a cell
+     * @param x - cell x
+     * @param z - cell z
+     * @return spiral index
+     */
+    static long getIndex(int x, int z) {
+        long r = Math.max(Math.abs((long) x), Math.abs((long) z));
+        if (r == 0) {
+            return 0;
+        }
+        long base = (2 * r - 1) * (2 * r - 1);
+        if (x == r && z > -r) {
+            return base + z + r - 1;
+        } else if (z == r) {
+            return base + 2 * r + r - 1 - x;
+        } else if (x == -r) {
+            return base + 4 * r + r - 1 - z;
+        }
+        return base + 6 * r + x + r - 1;
+    }
+}
@@ -0,0 +1,170 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open-addressing hash map with primitive long keys, used to index islands by grid cell.
+ * <p>
+ * Lookups do not allocate or lock and can be done from any thread while another thread writes.
+ * Writes are synchronized. Removed entries leave a marker in the table until the next rehash,
+ * so a concurrent lookup never misses an entry that is still in the map.
+ * @author tastybento
+ *
+ * @param <V> the value type
+ * @since 1.14.0
+ */
+class CellMap<V> {
+
+    private static final int MIN_CAPACITY = 64;
+    private static final Object REMOVED = new Object();
+
+    /**
+     * Keys are written before their value is published, so a reader that sees the value also sees the key
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+
+        private Table(int capacity) {
+            keys = new long[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+    }
+
+    private volatile Table table = new Table(MIN_CAPACITY);
+    /**
+     * Number of entries in the map
+     */
+    private int size;
+    /**
+     * Number of slots in use, including removed markers
+     */
+    private int used;
+
+    /**
+     * Packs two cell coordinates into a single key
+     * @param x - cell x coordinate
+     * @param z - cell z coordinate
+     * @return packed key
+     */
+    static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Get the value for this key
+     * @param key - key
+     * @return value or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Table t = table;
+        int i = hash(key) & t.mask;
+        Object v;
+        while ((v = t.values.get(i)) != null) {
+            if (v != REMOVED && t.keys[i] == key) {
+                return (V) v;
+            }
+            i = (i + 1) & t.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Puts a value into the map, replacing any value already there
+     * @param key - key
+     * @param value - value, not null
+     */
+    synchronized void put(long key, V value) {
+        Table t = table;
+        int i = hash(key) & t.mask;
+        Object v;
+        while ((v = t.values.get(i)) != null) {
+            if (v != REMOVED && t.keys[i] == key) {
+                t.values.set(i, value);
+                return;
+            }
+            i = (i + 1) & t.mask;
+        }
+        if ((used + 1) * 4 > t.keys.length * 3) {
+            // Too full - rehash and try again
+            rehash(size + 1);
+            put(key, value);
+            return;
+        }
+        t.keys[i] = key;
+        t.values.set(i, value);
+        size++;
+        used++;
+    }
+
+    /**
+     * Removes the value for this key
+     * @param key - key
+     * @return the value that was removed or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    synchronized V remove(long key) {
+        Table t = table;
+        int i = hash(key) & t.mask;
+        Object v;
+        while ((v = t.values.get(i)) != null) {
+            if (v != REMOVED && t.keys[i] == key) {
+                t.values.set(i, REMOVED);
+                size--;
+                return (V) v;
+            }
+            i = (i + 1) & t.mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return number of entries in the map
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Removes everything from the map
+     */
+    synchronized void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+        used = 0;
+    }
+
+    /**
+     * Copies all the entries into a new table that is at most half full and publishes it
+     * @param entries - number of entries the table must hold
+     */
+    private void rehash(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        Table old = table;
+        Table t = new Table(capacity);
+        for (int j = 0; j < old.keys.length; j++) {
+            Object v = old.values.get(j);
+            if (v != null && v != REMOVED) {
+                int i = hash(old.keys[j]) & t.mask;
+                while (t.values.get(i) != null) {
+                    i = (i + 1) & t.mask;
+                }
+                t.keys[i] = old.keys[j];
+                t.values.set(i, v);
+            }
+        }
+        table = t;
+        used = size;
+    }
+}
@@ -1,18 +1,25 @@
 package world.bentobox.bentobox.managers.island;
 
 import io.papermc.lib.PaperLib;
+import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.eclipse.jdt.annotation.Nullable;
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.util.Util;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The default strategy for generating locations for island
@@ -32,21 +39,36 @@ public class DefaultNewIslandLocationStrategy implements NewIslandLocationStrate
         ISLAND_FOUND, BLOCKS_IN_AREA, FREE
     }
 
+    /**
+     * Looks at chunk snapshots for all the island location searches. Only a couple of threads are used
+     * and they stop when there is nothing to do.
+     */
+    private static final ExecutorService EXECUTOR;
+    static {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "BentoBox Island Location " + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        EXECUTOR = executor;
+    }
+
     protected BentoBox plugin = BentoBox.getInstance();
 
+    /**
+     * Runs tasks on the server's main thread
+     */
+    private final Executor mainThread = task -> Bukkit.getScheduler().runTask(plugin, task);
+
     @Override
     public Location getNextLocation(World world) {
         // Note:
-        // The only sync load I found was the isIsland method call
-
-        Location last = plugin.getIslands().getLast(world);
+        // This loads chunks synchronously if blocks have to be checked. Use getNextLocationAsync instead.
 
-        if (last == null) {
-            last = new Location(world,
-                    (double) plugin.getIWM().getIslandXOffset(world) + plugin.getIWM().getIslandStartX(world),
-                    plugin.getIWM().getIslandHeight(world),
-                    (double) plugin.getIWM().getIslandZOffset(world) + plugin.getIWM().getIslandStartZ(world));
-        }
+        CellAllocator cells = plugin.getIslands().getCellAllocator();
+        Location last = cells.allocate(world);
 
         // Find a free spot
         Map<Result, Integer> result = new EnumMap<>(Result.class);
@@ -54,7 +76,8 @@ public class DefaultNewIslandLocationStrategy implements NewIslandLocationStrate
         Result r = isIsland(last);
 
         while (!r.equals(Result.FREE) && result.getOrDefault(Result.BLOCKS_IN_AREA, 0) < MAX_UNOWNED_ISLANDS) {
-            last = nextGridLocation(last);
+            cells.occupy(last);
+            last = cells.allocate(world);
             result.put(r, result.getOrDefault(r, 0) + 1);
 
             // The method call below caused an error
@@ -63,13 +86,8 @@ public class DefaultNewIslandLocationStrategy implements NewIslandLocationStrate
 
 
         if (!r.equals(Result.FREE)) {
-            // We could not find a free spot within the limit required. It's likely this
-            // world is not empty
-            plugin.logError("Could not find a free spot for islands! Is this world empty?");
-            plugin.logError("Blocks around center locations: " + result.getOrDefault(Result.BLOCKS_IN_AREA, 0) + " max "
-                    + MAX_UNOWNED_ISLANDS);
-            plugin.logError("Known islands: " + result.getOrDefault(Result.ISLAND_FOUND, 0) + " max unlimited.");
-
+            cells.occupy(last);
+            logNoFreeSpot(result);
             return null;
         }
 
@@ -77,12 +95,96 @@ public class DefaultNewIslandLocationStrategy implements NewIslandLocationStrate
         return last;
     }
 
+    /**
+     * Finds the next free spot. Chunks that have to be checked for blocks are loaded asynchronously
+     * and looked at as snapshots, so the server is not blocked and no chunk is kept loaded.
+     */
+    @Override
+    public CompletableFuture<Location> getNextLocationAsync(World world) {
+        CompletableFuture<Location> future = new CompletableFuture<>();
+        search(world, plugin.getIslands().getCellAllocator(), new EnumMap<>(Result.class), future);
+        return future;
+    }
+
+    /**
+     * Checks the cells handed out for this world until a free spot is found. Only the spots that need their blocks
+     * to be checked wait for a chunk, the rest are checked straight away.
+     * @param world - world
+     * @param cells - cell allocator
+     * @param result - number of spots found of each kind so far
+     * @param future - completed with the free spot, or null if none could be found
+     */
+    private void search(World world, CellAllocator cells, Map<Result, Integer> result, CompletableFuture<Location> future) {
+        Location last = cells.allocate(world);
+        Result r = checkGrid(last);
+        while (r != null && !r.equals(Result.FREE)) {
+            result.merge(r, 1, Integer::sum);
+            cells.occupy(last);
+            last = cells.allocate(world);
+            r = checkGrid(last);
+        }
+        if (r != null) {
+            plugin.getIslands().setLast(last);
+            future.complete(last);
+            return;
+        }
+        // Blocks have to be checked
+        Location location = last;
+        checkBlocksAsync(location).whenComplete((found, e) -> {
+            if (e != null) {
+                plugin.logError("Could not check for blocks at " + Util.xyz(location.toVector()) + " " + e.getMessage());
+                cells.free(location);
+                future.complete(null);
+                return;
+            }
+            Result blocks = blocksFound(location, found);
+            if (blocks.equals(Result.FREE)) {
+                plugin.getIslands().setLast(location);
+                future.complete(location);
+                return;
+            }
+            result.merge(blocks, 1, Integer::sum);
+            cells.occupy(location);
+            if (result.getOrDefault(Result.BLOCKS_IN_AREA, 0) >= MAX_UNOWNED_ISLANDS) {
+                logNoFreeSpot(result);
+                future.complete(null);
+                return;
+            }
+            search(world, cells, result, future);
+        });
+    }
+
+    private void logNoFreeSpot(Map<Result, Integer> result) {
+        // We could not find a free spot within the limit required. It's likely this
+        // world is not empty
+        plugin.logError("Could not find a free spot for islands! Is this world empty?");
+        plugin.logError("Blocks around center locations: " + result.getOrDefault(Result.BLOCKS_IN_AREA, 0) + " max "
+                + MAX_UNOWNED_ISLANDS);
+        plugin.logError("Known islands: " + result.getOrDefault(Result.ISLAND_FOUND, 0) + " max unlimited.");
+    }
+
     /*** Checks if there is an island or blocks at this location
      *
      * @param location - the location
      * @return Result enum if island found, null if blocks found, false if nothing found
      */
     protected Result isIsland(Location location) {
+        Result r = checkGrid(location);
+        if (r != null) {
+            return r;
+        }
+        // Block check. This loads the chunk if it is not loaded.
+        Chunk chunk = location.getWorld().getChunkAt(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        return blocksFound(location, hasBlocks(chunk.getChunkSnapshot(), location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+    }
+
+    /**
+     * Checks if there is a known island at this location, without looking at blocks
+     * @param location - the location
+     * @return Result, or null if the blocks at this location have to be checked
+     */
+    @Nullable
+    private Result checkGrid(Location location) {
         // Quick check
         if (plugin.getIslands().getIslandAt(location).isPresent()) return Result.ISLAND_FOUND;
 
@@ -117,83 +219,63 @@ public class DefaultNewIslandLocationStrategy implements NewIslandLocationStrate
 
         // Block check
         if (!plugin.getIWM().isUseOwnGenerator(world)) {
-            // The old method call (Location#getBlock) caused the chunk to synchronously load
-
-            return asyncRequest(location);
+            return null;
         }
 
         return Result.FREE;
     }
 
-    private Result asyncRequest(Location location) {
-        ExecutorService executorService = Executors.newFixedThreadPool(2);
-
+    /**
+     * Loads the chunk asynchronously and checks a snapshot of it for blocks on another thread
+     * @param location - the location
+     * @return future that is true if there are blocks, completed on the main thread
+     */
+    private CompletableFuture<Boolean> checkBlocksAsync(Location location) {
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
         // https://papermc.io/javadocs/paper/1.15/org/bukkit/World.html#getChunkAtAsync-int-int-boolean-
-
-        PaperLib.getChunkAtAsync(location.getWorld(), location.getBlockX(), location.getBlockZ())
-                .thenAcceptAsync(loadedChunk -> {
-                    cacheChunk(location, loadedChunk);
-                }, executorService)
-                .join();
-
-        Chunk chunk = getCachedChunk(location);
-
-        Block block = chunk.getBlock(location.getBlockX(), location.getBlockY(), location.getBlockZ());
-
-        if (Arrays.stream(BlockFace.values()).anyMatch(blockFace ->
-                !block.getRelative(blockFace).isEmpty() && !block.getRelative(blockFace).getType().equals(Material.WATER))) {
-
-            // Block found
-            plugin.getIslands().createIsland(location);
-            return Result.BLOCKS_IN_AREA;
-        }
-
-        return Result.FREE;
-    }
-
-    private HashMap<Location, Chunk> chunkCache = new HashMap<>();
-
-    public void cacheChunk(Location location, Chunk chunk) {
-        chunkCache.put(location, chunk);
+        return PaperLib.getChunkAtAsync(location.getWorld(), x >> 4, z >> 4)
+                // Only the snapshot is kept, not the chunk
+                .thenApply(chunk -> chunk == null ? null : chunk.getChunkSnapshot())
+                .thenApplyAsync(snapshot -> snapshot != null && hasBlocks(snapshot, x, y, z), EXECUTOR)
+                // Carry on with the search on the main thread
+                .thenApplyAsync(found -> found, mainThread);
     }
 
-    public Chunk getCachedChunk(Location location) {
-        return chunkCache.getOrDefault(location, null);
-    }
-
-
     /**
-     * Finds the next free island spot based off the last known island Uses
-     * island_distance setting from the config file Builds up in a grid fashion
-     *
-     * @param lastIsland - last island location
-     * @return Location of next free island
+     * Checks if there are blocks other than air or water around this block.
+     * Only the blocks in the same chunk as the block are checked.
+     * @param snapshot - snapshot of the chunk
+     * @param x - block x
+     * @param y - block y
+     * @param z - block z
+     * @return true if there are blocks
      */
-    private Location nextGridLocation(final Location lastIsland) {
-        int x = lastIsland.getBlockX();
-        int z = lastIsland.getBlockZ();
-        int d = plugin.getIWM().getIslandDistance(lastIsland.getWorld()) * 2;
-        if (x < z) {
-            if (-1 * x < z) {
-                lastIsland.setX(lastIsland.getX() + d);
-                return lastIsland;
+    static boolean hasBlocks(ChunkSnapshot snapshot, int x, int y, int z) {
+        int cx = x & 0xF;
+        int cz = z & 0xF;
+        for (BlockFace face : BlockFace.values()) {
+            int bx = cx + face.getModX();
+            int by = y + face.getModY();
+            int bz = cz + face.getModZ();
+            if (bx < 0 || bx > 15 || bz < 0 || bz > 15 || by < 0 || by > 255) {
+                continue;
             }
-            lastIsland.setZ(lastIsland.getZ() + d);
-            return lastIsland;
-        }
-        if (x > z) {
-            if (-1 * x >= z) {
-                lastIsland.setX(lastIsland.getX() - d);
-                return lastIsland;
+            Material type = snapshot.getBlockType(bx, by, bz);
+            if (!type.isAir() && !type.equals(Material.WATER)) {
+                return true;
             }
-            lastIsland.setZ(lastIsland.getZ() - d);
-            return lastIsland;
         }
-        if (x <= 0) {
-            lastIsland.setZ(lastIsland.getZ() + d);
-            return lastIsland;
+        return false;
+    }
+
+    private Result blocksFound(Location location, boolean found) {
+        if (found) {
+            // Block found
+            plugin.getIslands().createIsland(location);
+            return Result.BLOCKS_IN_AREA;
         }
-        lastIsland.setZ(lastIsland.getZ() - d);
-        return lastIsland;
+        return Result.FREE;
     }
 }
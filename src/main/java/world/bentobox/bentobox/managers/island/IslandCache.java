@@ -5,11 +5,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -18,10 +17,18 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.api.flags.Flag;
+import world.bentobox.bentobox.api.flags.FlagDecisionCache;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.util.Util;
 
 /**
+ * Caches all the islands that are loaded.
+ * <p>
+ * The cache is safe to read from any thread: reads never lock. Writes are
+ * serialized per overworld, so gamemodes do not contend with each other.
+ * Island members are replaced with a new map rather than changed in place
+ * (see {@link Island#getMembers()}), so the members of an island can be read
+ * while a player is removed.
  * @author tastybento
  */
 public class IslandCache {
@@ -39,12 +46,87 @@ public class IslandCache {
     private final Map<@NonNull World, @NonNull Map<@NonNull UUID, @NonNull Island>> islandsByUUID;
     @NonNull
     private final Map<@NonNull World, @NonNull IslandGrid> grids;
+    /**
+     * Islands in each overworld. Nether and end islands are the same as their overworld island.
+     */
+    @NonNull
+    private final Map<@NonNull World, @NonNull Set<@NonNull Island>> islandsByWorld;
+    /**
+     * Write locks, one per overworld
+     */
+    @NonNull
+    private final Map<@NonNull World, @NonNull Object> locks;
 
     public IslandCache() {
-        islandsByLocation = new HashMap<>();
-        islandsById = new HashMap<>();
-        islandsByUUID = new HashMap<>();
-        grids = new HashMap<>();
+        islandsByLocation = new ConcurrentHashMap<>();
+        islandsById = new ConcurrentHashMap<>();
+        islandsByUUID = new ConcurrentHashMap<>();
+        grids = new ConcurrentHashMap<>();
+        islandsByWorld = new ConcurrentHashMap<>();
+        locks = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the write lock for this world. Nether and end worlds share the lock of their overworld.
+     * @param world world, not null
+     * @return lock object
+     * @throws IllegalArgumentException if the world is null
+     */
+    @NonNull
+    private Object getLock(@Nullable World world) {
+        World w = Util.getWorld(world);
+        if (w == null) {
+            throw new IllegalArgumentException("Island cache writes need a world");
+        }
+        return locks.computeIfAbsent(w, k -> new Object());
+    }
+
+    /**
+     * Get the UUID to island map for this world
+     * @param world world, not null
+     * @return map of UUIDs to islands
+     */
+    @NonNull
+    private Map<@NonNull UUID, @NonNull Island> getUUIDMap(@NonNull World world) {
+        return islandsByUUID.computeIfAbsent(world, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Adds the island to the set of islands in its world
+     * @param island island
+     */
+    private void addToWorldSet(@NonNull Island island) {
+        World w = Util.getWorld(island.getWorld());
+        if (w != null) {
+            islandsByWorld.computeIfAbsent(w, k -> ConcurrentHashMap.newKeySet()).add(island);
+        }
+    }
+
+    /**
+     * Removes the island from the set of islands in its world
+     * @param island island
+     */
+    private void removeFromWorldSet(@NonNull Island island) {
+        World w = Util.getWorld(island.getWorld());
+        Set<Island> set = w == null ? null : islandsByWorld.get(w);
+        if (set != null) {
+            set.remove(island);
+        }
+    }
+
+    /**
+     * Get the island this player is associated with in this world without creating any map entries
+     * @param world world, already converted to the overworld
+     * @param uuid player's UUID
+     * @return island or null if none
+     */
+    @Nullable
+    private Island getByUUID(@Nullable World world, @Nullable UUID uuid) {
+        if (world == null || uuid == null) {
+            return null;
+        }
+        Map<UUID, Island> map = islandsByUUID.get(world);
+        return map == null ? null : map.get(uuid);
     }
 
     /**
@@ -61,19 +143,22 @@ public class IslandCache {
              */
             return true;
         }
-        if (addToGrid(island)) {
-            islandsByLocation.put(island.getCenter(), island);
-            islandsById.put(island.getUniqueId(), island);
-            // Make world
-            islandsByUUID.putIfAbsent(island.getWorld(), new HashMap<>());
-            // Only add islands to this map if they are owned
-            if (island.isOwned()) {
-                islandsByUUID.get(island.getWorld()).put(island.getOwner(), island);
-                island.getMemberSet().forEach(member -> islandsByUUID.get(island.getWorld()).put(member, island));
+        synchronized (getLock(island.getWorld())) {
+            if (addToGrid(island)) {
+                islandsByLocation.put(island.getCenter(), island);
+                islandsById.put(island.getUniqueId(), island);
+                addToWorldSet(island);
+                // Make world
+                Map<UUID, Island> uuidMap = getUUIDMap(island.getWorld());
+                // Only add islands to this map if they are owned
+                if (island.isOwned()) {
+                    uuidMap.put(island.getOwner(), island);
+                    island.getMemberSet().forEach(member -> uuidMap.put(member, island));
+                }
+                return true;
             }
-            return true;
+            return false;
         }
-        return false;
     }
 
     /**
@@ -82,8 +167,9 @@ public class IslandCache {
      * @param island island to associate with this uuid. Only one island can be associated per world.
      */
     public void addPlayer(@NonNull UUID uuid, @NonNull Island island) {
-        islandsByUUID.putIfAbsent(island.getWorld(), new HashMap<>());
-        islandsByUUID.get(island.getWorld()).put(uuid, island);
+        synchronized (getLock(island.getWorld())) {
+            getUUIDMap(island.getWorld()).put(uuid, island);
+        }
     }
 
     /**
@@ -92,14 +178,14 @@ public class IslandCache {
      * @return true if successfully added, false if not
      */
     private boolean addToGrid(@NonNull Island newIsland) {
-        grids.putIfAbsent(newIsland.getWorld(), new IslandGrid());
-        return grids.get(newIsland.getWorld()).addToGrid(newIsland);
+        return grids.computeIfAbsent(newIsland.getWorld(), IslandGrid::new).addToGrid(newIsland);
     }
 
     public void clear() {
         islandsByLocation.clear();
         islandsById.clear();
         islandsByUUID.clear();
+        islandsByWorld.clear();
     }
 
     /**
@@ -108,14 +194,19 @@ public class IslandCache {
      * @return true if successful, false if not
      */
     public boolean deleteIslandFromCache(@NonNull Island island) {
-        if (!islandsByLocation.remove(island.getCenter(), island) || !islandsByUUID.containsKey(island.getWorld())) {
+        if (island.getCenter() == null || island.getWorld() == null) {
             return false;
         }
-        islandsById.remove(island.getUniqueId());
-        islandsByUUID.get(island.getWorld()).entrySet().removeIf(en -> en.getValue().equals(island));
-        // Remove from grid
-        grids.putIfAbsent(island.getWorld(), new IslandGrid());
-        return grids.get(island.getWorld()).removeFromGrid(island);
+        synchronized (getLock(island.getWorld())) {
+            if (!islandsByLocation.remove(island.getCenter(), island) || !islandsByUUID.containsKey(island.getWorld())) {
+                return false;
+            }
+            islandsById.remove(island.getUniqueId());
+            removeFromWorldSet(island);
+            islandsByUUID.get(island.getWorld()).values().removeIf(island::equals);
+            // Remove from grid
+            return grids.computeIfAbsent(island.getWorld(), IslandGrid::new).removeFromGrid(island);
+        }
     }
 
     /**
@@ -125,7 +216,7 @@ public class IslandCache {
      */
     @Nullable
     public Island get(@NonNull Location location) {
-        return islandsByLocation.get(location);
+        return location == null ? null : islandsByLocation.get(location);
     }
 
     /**
@@ -136,7 +227,7 @@ public class IslandCache {
      */
     @Nullable
     public Island get(@NonNull World world, @NonNull UUID uuid) {
-        return islandsByUUID.containsKey(Util.getWorld(world)) ? islandsByUUID.get(Util.getWorld(world)).get(uuid) : null;
+        return getByUUID(Util.getWorld(world), uuid);
     }
 
     /**
@@ -148,10 +239,9 @@ public class IslandCache {
      */
     @Nullable
     public Island getIslandAt(@NonNull Location location) {
-        if (!grids.containsKey(Util.getWorld(location.getWorld()))) {
-            return null;
-        }
-        return grids.get(Util.getWorld(location.getWorld())).getIslandAt(location.getBlockX(), location.getBlockZ());
+        World w = Util.getWorld(location.getWorld());
+        IslandGrid grid = w == null ? null : grids.get(w);
+        return grid == null ? null : grid.getIslandAt(location.getBlockX(), location.getBlockZ());
     }
 
     /**
@@ -172,12 +262,9 @@ public class IslandCache {
     @NonNull
     public Collection<Island> getIslands(@NonNull World world) {
         World overworld = Util.getWorld(world);
-        List<Island> islandsInWorld = islandsByLocation.entrySet().stream()
-                .filter(entry -> overworld.equals(Util.getWorld(entry.getKey().getWorld()))) // shouldn't make NPEs
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toCollection(ArrayList::new));
-
-        return Collections.unmodifiableCollection(islandsInWorld);
+        Set<Island> set = overworld == null ? null : islandsByWorld.get(overworld);
+        // Copy the islands, so the collection does not change when islands are added or removed
+        return set == null ? Collections.emptyList() : Collections.unmodifiableCollection(new ArrayList<>(set));
     }
 
     /**
@@ -188,8 +275,7 @@ public class IslandCache {
      */
     @NonNull
     public Set<UUID> getMembers(@NonNull World world, @NonNull UUID uuid, int minimumRank) {
-        islandsByUUID.putIfAbsent(Util.getWorld(world), new HashMap<>());
-        Island island = islandsByUUID.get(Util.getWorld(world)).get(uuid);
+        Island island = getByUUID(Util.getWorld(world), uuid);
         if (island != null) {
             return island.getMemberSet(minimumRank);
         }
@@ -203,8 +289,7 @@ public class IslandCache {
      */
     @Nullable
     public UUID getOwner(@NonNull World world, @NonNull UUID uuid) {
-        islandsByUUID.putIfAbsent(Util.getWorld(world), new HashMap<>());
-        Island island = islandsByUUID.get(Util.getWorld(world)).get(uuid);
+        Island island = getByUUID(Util.getWorld(world), uuid);
         if (island != null) {
             return island.getOwner();
         }
@@ -217,8 +302,7 @@ public class IslandCache {
      * @return true if player has island and owns it
      */
     public boolean hasIsland(@NonNull World world, @NonNull UUID uuid) {
-        islandsByUUID.putIfAbsent(Util.getWorld(world), new HashMap<>());
-        Island island = islandsByUUID.get(Util.getWorld(world)).get(uuid);
+        Island island = getByUUID(Util.getWorld(world), uuid);
         return island != null && uuid.equals(island.getOwner());
     }
 
@@ -231,21 +315,31 @@ public class IslandCache {
      */
     @Nullable
     public Island removePlayer(@NonNull World world, @NonNull UUID uuid) {
-        world = Util.getWorld(world);
-        islandsByUUID.putIfAbsent(world, new HashMap<>());
-        Island island = islandsByUUID.get(world).get(uuid);
-        if (island != null) {
-            if (uuid.equals(island.getOwner())) {
-                // Clear ownership and members
-                island.getMembers().clear();
-                island.setOwner(null);
-            } else {
-                // Remove player from the island membership
-                island.removeMember(uuid);
+        World w = Util.getWorld(world);
+        if (w == null || uuid == null) {
+            return null;
+        }
+        synchronized (getLock(w)) {
+            Island island = getByUUID(w, uuid);
+            if (island != null) {
+                // Readers do not lock, so give the island a new map of members
+                Map<UUID, Integer> members = new HashMap<>(island.getMembers());
+                if (uuid.equals(island.getOwner())) {
+                    // Clear ownership and members
+                    members.clear();
+                    island.setMembers(members);
+                    island.setOwner(null);
+                } else {
+                    // Remove player from the island membership
+                    members.remove(uuid);
+                    island.setMembers(members);
+                }
+                // The ranks on this island have changed
+                FlagDecisionCache.invalidateAll();
             }
+            getUUIDMap(w).remove(uuid);
+            return island;
         }
-        islandsByUUID.get(world).remove(uuid);
-        return island;
     }
 
     /**
@@ -262,7 +356,8 @@ public class IslandCache {
      * @return the number of islands
      */
     public int size(World world) {
-        return islandsByUUID.getOrDefault(world, new HashMap<>(0)).size();
+        Map<UUID, Island> map = world == null ? null : islandsByUUID.get(world);
+        return map == null ? 0 : map.size();
     }
 
     /**
@@ -272,12 +367,15 @@ public class IslandCache {
      * @param newOwnerUUID new owner
      */
     public void setOwner(@NonNull Island island, @Nullable UUID newOwnerUUID) {
-        island.setOwner(newOwnerUUID);
-        if (newOwnerUUID != null) {
-            islandsByUUID.computeIfAbsent(Util.getWorld(island.getWorld()), k -> new HashMap<>()).put(newOwnerUUID, island);
+        synchronized (getLock(island.getWorld())) {
+            island.setOwner(newOwnerUUID);
+            if (newOwnerUUID != null) {
+                getUUIDMap(Util.getWorld(island.getWorld())).put(newOwnerUUID, island);
+            }
+            islandsByLocation.put(island.getCenter(), island);
+            islandsById.put(island.getUniqueId(), island);
+            addToWorldSet(island);
         }
-        islandsByLocation.put(island.getCenter(), island);
-        islandsById.put(island.getUniqueId(), island);
     }
 
     /**
@@ -288,7 +386,7 @@ public class IslandCache {
      */
     @Nullable
     public Island getIslandById(@NonNull String uniqueId) {
-        return islandsById.get(uniqueId);
+        return uniqueId == null ? null : islandsById.get(uniqueId);
     }
 
     /**
@@ -297,13 +395,25 @@ public class IslandCache {
      * @since 1.3.0
      */
     public void removeIsland(@NonNull Island island) {
-        islandsByLocation.values().removeIf(island::equals);
-        islandsById.values().removeIf(island::equals);
-        if (islandsByUUID.containsKey(Util.getWorld(island.getWorld()))) {
-            islandsByUUID.get(Util.getWorld(island.getWorld())).values().removeIf(island::equals);
+        World w = Util.getWorld(island.getWorld());
+        if (w == null) {
+            // The island is not in any of the world maps
+            islandsByLocation.values().removeIf(island::equals);
+            islandsById.values().removeIf(island::equals);
+            return;
         }
-        if (grids.containsKey(Util.getWorld(island.getWorld()))) {
-            grids.get(Util.getWorld(island.getWorld())).removeFromGrid(island);
+        synchronized (getLock(w)) {
+            islandsByLocation.values().removeIf(island::equals);
+            islandsById.values().removeIf(island::equals);
+            removeFromWorldSet(island);
+            Map<UUID, Island> uuidMap = islandsByUUID.get(w);
+            if (uuidMap != null) {
+                uuidMap.values().removeIf(island::equals);
+            }
+            IslandGrid grid = grids.get(w);
+            if (grid != null) {
+                grid.removeFromGrid(island);
+            }
         }
     }
 
@@ -313,8 +423,7 @@ public class IslandCache {
      * @since 1.3.0
      */
     public void resetAllFlags(World world) {
-        World w = Util.getWorld(world);
-        islandsById.values().stream().filter(i -> i.getWorld().equals(w)).forEach(Island::setFlagsDefaults);
+        getIslands(world).forEach(Island::setFlagsDefaults);
     }
 
     /**
@@ -326,7 +435,7 @@ public class IslandCache {
     public void resetFlag(World world, Flag flag) {
         World w = Util.getWorld(world);
         int setting = BentoBox.getInstance().getIWM().getDefaultIslandFlags(w).getOrDefault(flag, flag.getDefaultRank());
-        islandsById.values().stream().filter(i -> i.getWorld().equals(w)).forEach(i -> i.setFlag(flag, setting));
+        getIslands(w).forEach(i -> i.setFlag(flag, setting));
     }
     
     /**
@@ -1,28 +1,120 @@
 package world.bentobox.bentobox.managers.island;
 
 import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.bukkit.World;
 
 import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.database.objects.Island;
 
 /**
- * Handles the island location grid for each world
+ * Handles the island location grid for each world.
+ * Lookups do not lock and can be done from any thread. Changes to the grid are synchronized.
+ * <p>
+ * If the world's island distance is known, islands whose centers are on the world's island
+ * lattice are also indexed by their cell, so that most lookups are a single hash probe.
+ * Islands that are off the lattice are only found through the sorted maps.
  * @author tastybento
  *
  */
 class IslandGrid {
-    private TreeMap<Integer, TreeMap<Integer, Island>> grid = new TreeMap<>();
+    private final ConcurrentSkipListMap<Integer, ConcurrentSkipListMap<Integer, Island>> grid = new ConcurrentSkipListMap<>();
     private BentoBox plugin = BentoBox.getInstance();
+    /**
+     * Islands by cell index. Only used if {@link #distance} is positive.
+     */
+    private final CellMap<Island> cells = new CellMap<>();
+    /**
+     * Half the distance between island centers, i.e., the island distance in the world settings
+     */
+    private final int distance;
+    private final int xOrigin;
+    private final int zOrigin;
+    /**
+     * Number of islands in the grid that are not in the cell index
+     */
+    private volatile int irregular;
+
+    /**
+     * Grid that only uses the sorted maps
+     */
+    IslandGrid() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Grid for this world using the world's island lattice
+     * @param world - game mode world
+     * @since 1.14.0
+     */
+    IslandGrid(World world) {
+        this(BentoBox.getInstance().getIWM().getIslandDistance(world),
+                BentoBox.getInstance().getIWM().getIslandXOffset(world) + BentoBox.getInstance().getIWM().getIslandStartX(world),
+                BentoBox.getInstance().getIWM().getIslandZOffset(world) + BentoBox.getInstance().getIWM().getIslandStartZ(world));
+    }
+
+    /**
+     * @param distance - island distance. If not positive, the cell index is not used
+     * @param xOrigin - x coordinate of an island center on the lattice
+     * @param zOrigin - z coordinate of an island center on the lattice
+     * @since 1.14.0
+     */
+    IslandGrid(int distance, int xOrigin, int zOrigin) {
+        this.distance = distance;
+        this.xOrigin = xOrigin;
+        this.zOrigin = zOrigin;
+    }
+
+    /**
+     * Get the cell coordinate along one axis for a block coordinate
+     */
+    private int cell(int coord, int origin) {
+        return (int) Math.floorDiv((long) coord - origin + distance, 2L * distance);
+    }
+
+    /**
+     * Adds the island to the cell index if it is on the lattice and fits in its cell
+     * @param island - island
+     */
+    private void index(Island island) {
+        if (distance > 0 && island.getRange() <= distance) {
+            int x = island.getCenter().getBlockX();
+            int z = island.getCenter().getBlockZ();
+            long key = CellMap.key(cell(x, xOrigin), cell(z, zOrigin));
+            if (Math.floorMod((long) x - xOrigin, 2L * distance) == 0
+                    && Math.floorMod((long) z - zOrigin, 2L * distance) == 0
+                    && cells.get(key) == null) {
+                cells.put(key, island);
+                return;
+            }
+        }
+        irregular++;
+    }
+
+    /**
+     * Removes the island from the cell index or the irregular count
+     * @param island - island that has been removed from the grid
+     */
+    private void unindex(Island island) {
+        if (distance > 0) {
+            long key = CellMap.key(cell(island.getCenter().getBlockX(), xOrigin), cell(island.getCenter().getBlockZ(), zOrigin));
+            if (cells.get(key) == island) {
+                cells.remove(key);
+                return;
+            }
+        }
+        irregular--;
+    }
 
     /**
      * Adds island to grid
      * @param island - island to add
      * @return true if successfully added, false if island already exists, or there is an overlap
      */
-    public boolean addToGrid(Island island) {
+    public synchronized boolean addToGrid(Island island) {
         if (grid.containsKey(island.getMinX())) {
-            TreeMap<Integer, Island> zEntry = grid.get(island.getMinX());
+            ConcurrentSkipListMap<Integer, Island> zEntry = grid.get(island.getMinX());
             if (zEntry.containsKey(island.getMinZ())) {
                 // There is an overlap or duplicate
                 plugin.logError("Cannot load island. Overlapping: " + island.getUniqueId());
@@ -32,8 +124,10 @@ class IslandGrid {
                 if (firstLoaded.getOwner() == null && island.getOwner() != null) {
                     // This looks fishy. We prefer to load islands that have an owner. Swap the two
                     plugin.logError("Duplicate island has an owner, so using that one. " + island.getOwner());
+                    unindex(firstLoaded);
                     firstLoaded = new Island(island);
                     zEntry.put(island.getMinZ(), firstLoaded);
+                    index(firstLoaded);
                 } else if (firstLoaded.getOwner() != null && island.getOwner() != null) {
                     // Check if the owners are the same - this is a true duplicate
                     if (firstLoaded.getOwner().equals(island.getOwner())) {
@@ -41,8 +135,10 @@ class IslandGrid {
                         if (firstLoaded.getCreatedDate() > island.getCreatedDate()) {
                             plugin.logError("Same owner duplicate. Swaping based on creation date.");
                             // FirstLoaded is the newer
+                            unindex(firstLoaded);
                             firstLoaded = new Island(island);
                             zEntry.put(island.getMinZ(), firstLoaded);
+                            index(firstLoaded);
                         } else {
                             plugin.logError("Same owner duplicate.");
                         }
@@ -63,10 +159,11 @@ class IslandGrid {
             }
         } else {
             // Add island
-            TreeMap<Integer, Island> zEntry = new TreeMap<>();
+            ConcurrentSkipListMap<Integer, Island> zEntry = new ConcurrentSkipListMap<>();
             zEntry.put(island.getMinZ(), island);
             grid.put(island.getMinX(), zEntry);
         }
+        index(island);
         return true;
     }
 
@@ -75,16 +172,16 @@ class IslandGrid {
      * @param island - the island to remove
      * @return true if island existed and was deleted, false if there was nothing to delete
      */
-    public boolean removeFromGrid(Island island) {
+    public synchronized boolean removeFromGrid(Island island) {
         // Remove from grid
         if (island != null) {
             int x = island.getMinX();
             int z = island.getMinZ();
             if (grid.containsKey(x)) {
-                TreeMap<Integer, Island> zEntry = grid.get(x);
+                ConcurrentSkipListMap<Integer, Island> zEntry = grid.get(x);
                 if (zEntry.containsKey(z)) {
                     // Island exists - delete it
-                    zEntry.remove(z);
+                    unindex(zEntry.remove(z));
                     grid.put(x, zEntry);
                     return true;
                 }
@@ -102,7 +199,17 @@ class IslandGrid {
      * @return Island or null
      */
     public Island getIslandAt(int x, int z) {
-        Entry<Integer, TreeMap<Integer, Island>> en = grid.floorEntry(x);
+        if (distance > 0) {
+            Island island = cells.get(CellMap.key(cell(x, xOrigin), cell(z, zOrigin)));
+            if (island != null && island.inIslandSpace(x, z)) {
+                return island;
+            }
+            if (irregular == 0) {
+                // Every island is in the cell index, so there is no island here
+                return null;
+            }
+        }
+        Entry<Integer, ConcurrentSkipListMap<Integer, Island>> en = grid.floorEntry(x);
         if (en != null) {
             Entry<Integer, Island> ent = en.getValue().floorEntry(z);
             if (ent != null) {
@@ -0,0 +1,235 @@
+package world.bentobox.bentobox.managers.island;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * Keeps track of which online players are inside the protection range of which island.
+ * <p>
+ * It is updated when players move, teleport, ride vehicles, join or quit, so finding the players on an island
+ * does not need to check every online player. It also remembers the island at the last location
+ * looked up for each player, so listeners that handle the same move do not look it up again,
+ * and a new look up is only done when the player moves to another block column and leaves that island.
+ * Islands are tracked by unique ID so the index stays valid when islands are reloaded.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class IslandOccupancy {
+
+    /**
+     * A change of the island a player is on
+     */
+    public static class Transition {
+        private final @Nullable Island from;
+        private final @Nullable Island to;
+
+        private Transition(@Nullable Island from, @Nullable Island to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * @return the island the player left, or null if they were not on an island
+         */
+        @Nullable
+        public Island getFrom() {
+            return from;
+        }
+
+        /**
+         * @return the island the player entered, or null if they are no longer on an island
+         */
+        @Nullable
+        public Island getTo() {
+            return to;
+        }
+    }
+
+    /**
+     * Where a player is
+     */
+    private static class Presence {
+        /**
+         * Block column of the last location looked up
+         */
+        private World world;
+        private int x;
+        private int z;
+        /**
+         * Island at the last location looked up
+         */
+        private Island islandAt;
+        /**
+         * Island the player is on
+         */
+        private Island current;
+        /**
+         * Whether the island the player is on is known
+         */
+        private boolean placed;
+    }
+
+    private final Function<@NonNull Location, Optional<Island>> lookup;
+    private final Map<@NonNull UUID, @NonNull Presence> presences = new ConcurrentHashMap<>();
+    /**
+     * Players on each island by island unique ID
+     */
+    private final Map<@NonNull String, @NonNull Set<UUID>> occupants = new ConcurrentHashMap<>();
+
+    /**
+     * @param lookup - finds the island whose protected area contains a location
+     */
+    public IslandOccupancy(@NonNull Function<@NonNull Location, Optional<Island>> lookup) {
+        this.lookup = lookup;
+    }
+
+    /**
+     * Get the island whose protected area contains this location, using what is known about where this player was
+     * @param player - player at or going to this location
+     * @param location - location
+     * @return optional island at this location
+     */
+    @NonNull
+    public Optional<Island> getIslandAt(@NonNull Player player, @NonNull Location location) {
+        return Optional.ofNullable(islandAt(presences.computeIfAbsent(player.getUniqueId(), k -> new Presence()), location));
+    }
+
+    private Island islandAt(Presence p, Location location) {
+        World w = location.getWorld();
+        int x = location.getBlockX();
+        int z = location.getBlockZ();
+        if (w != p.world || x != p.x || z != p.z) {
+            // Islands do not overlap, so the player is still on the same island if they are still in its protected area
+            if (w == null || w != p.world || p.islandAt == null || !p.islandAt.onIsland(location)) {
+                p.islandAt = lookup.apply(location).orElse(null);
+            }
+            p.world = w;
+            p.x = x;
+            p.z = z;
+        }
+        return p.islandAt;
+    }
+
+    /**
+     * Sets the island a player is on from their location, e.g. when they join or respawn
+     * @param player - player
+     * @param location - player's location
+     */
+    public void place(@NonNull Player player, @NonNull Location location) {
+        Presence p = presences.computeIfAbsent(player.getUniqueId(), k -> new Presence());
+        Island island = islandAt(p, location);
+        if (island != p.current) {
+            updateOccupants(player.getUniqueId(), p.current, island);
+            p.current = island;
+        }
+        p.placed = true;
+    }
+
+    /**
+     * Moves a player from one location to another
+     * @param player - player
+     * @param from - player's old location, used if this player's island is not known yet
+     * @param to - player's new location
+     * @return the change of island, or null if the player is still on the same island or still not on an island
+     */
+    @Nullable
+    public Transition move(@NonNull Player player, @NonNull Location from, @NonNull Location to) {
+        Presence p = presences.get(player.getUniqueId());
+        if (p == null || !p.placed) {
+            place(player, from);
+            p = presences.get(player.getUniqueId());
+        }
+        Island island = islandAt(p, to);
+        Island old = p.current;
+        if (island == old) {
+            return null;
+        }
+        updateOccupants(player.getUniqueId(), old, island);
+        p.current = island;
+        return new Transition(old, island);
+    }
+
+    private void updateOccupants(UUID uuid, @Nullable Island old, @Nullable Island island) {
+        if (old != null && old.getUniqueId() != null) {
+            occupants.computeIfPresent(old.getUniqueId(), (k, set) -> {
+                set.remove(uuid);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        if (island != null && island.getUniqueId() != null) {
+            occupants.computeIfAbsent(island.getUniqueId(), k -> ConcurrentHashMap.newKeySet()).add(uuid);
+        }
+    }
+
+    /**
+     * Removes a player, e.g. when they quit
+     * @param uuid - player's UUID
+     */
+    public void remove(@NonNull UUID uuid) {
+        Presence p = presences.remove(uuid);
+        if (p != null) {
+            updateOccupants(uuid, p.current, null);
+        }
+    }
+
+    /**
+     * Forgets an island that is no longer in the cache, e.g. because it was deleted.
+     * The players on it are no longer on an island.
+     * @param island - island
+     */
+    public void forget(@NonNull Island island) {
+        presences.forEach((uuid, p) -> {
+            if (p.islandAt == island) {
+                p.islandAt = null;
+                p.world = null;
+            }
+            if (p.current == island) {
+                p.current = null;
+                updateOccupants(uuid, island, null);
+            }
+        });
+    }
+
+    /**
+     * Get the island this player is on
+     * @param uuid - player's UUID
+     * @return island or null if the player is not on an island
+     */
+    @Nullable
+    public Island getIsland(@NonNull UUID uuid) {
+        Presence p = presences.get(uuid);
+        return p == null ? null : p.current;
+    }
+
+    /**
+     * Get the players on this island
+     * @param island - island
+     * @return unmodifiable set of UUIDs of the players on this island
+     */
+    @NonNull
+    public Set<UUID> getOccupants(@NonNull Island island) {
+        Set<UUID> set = island.getUniqueId() == null ? null : occupants.get(island.getUniqueId());
+        return set == null ? Collections.emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Removes everyone
+     */
+    public void clear() {
+        presences.clear();
+        occupants.clear();
+    }
+}
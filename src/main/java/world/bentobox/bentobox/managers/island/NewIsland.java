@@ -1,6 +1,7 @@
 package world.bentobox.bentobox.managers.island;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -34,8 +35,27 @@ public class NewIsland {
     private GameModeAddon addon;
 
     private NewIslandLocationStrategy locationStrategy;
+    /**
+     * Completed with the island when it has been made, or exceptionally with an {@link IOException} whose message
+     * is the tag to show the user
+     */
+    private final CompletableFuture<Island> result = new CompletableFuture<>();
+    /**
+     * Whether the spot for the island can be looked for without blocking, so the island may be made later
+     */
+    private final boolean async;
 
+    /**
+     * Makes the island straight away
+     * @param builder - builder
+     * @throws IOException - if an island cannot be made. Message is the tag to show the user.
+     */
     public NewIsland(Builder builder) throws IOException {
+        this(builder, false);
+    }
+
+    private NewIsland(Builder builder, boolean async) throws IOException {
+        this.async = async;
         plugin = BentoBox.getInstance();
         this.user = builder.user2;
         this.reason = builder.reason2;
@@ -53,7 +73,7 @@ public class NewIsland {
     }
 
     /**
-     * @return the island that was created
+     * @return the island that was created, or null if it has not been made yet
      */
     public Island getIsland() {
         return island;
@@ -141,8 +161,10 @@ public class NewIsland {
         }
 
         /**
+         * Makes the island straight away. Chunks may be loaded on the main thread if blocks have to be checked
+         * to find a free spot for it, so use {@link #buildAsync()} where possible.
          * @return Island
-         * @throws Exception
+         * @throws IOException - if an island cannot be made. Message is the tag to show the user.
          */
         public Island build() throws IOException {
             if (user2 != null) {
@@ -151,6 +173,27 @@ public class NewIsland {
             }
             throw new IOException("Insufficient parameters. Must have a user!");
         }
+
+        /**
+         * Makes the island, now or when a free spot for it has been found
+         * @return future that is completed with the island on the main thread, or exceptionally with an
+         * {@link IOException} whose message is the tag to show the user
+         * @since 1.14.0
+         */
+        public CompletableFuture<Island> buildAsync() {
+            if (user2 == null) {
+                CompletableFuture<Island> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new IOException("Insufficient parameters. Must have a user!"));
+                return failed;
+            }
+            try {
+                return new NewIsland(this, true).result;
+            } catch (IOException e) {
+                CompletableFuture<Island> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
     }
 
     /**
@@ -172,21 +215,59 @@ public class NewIsland {
                 plugin.logError("New island for user " + user.getName() + " was not reserved!");
             }
         }
+        if (next != null) {
+            finish(next, oldIsland);
+            return;
+        }
         // If the reservation fails, then we need to make a new island anyway
-        if (next == null) {
-            next = this.locationStrategy.getNextLocation(world);
-            if (next == null) {
-                plugin.logError("Failed to make island - no unoccupied spot found.");
-                plugin.logError("If the world was imported, try multiple times until all unowned islands are known.");
-                throw new IOException("commands.island.create.cannot-create-island");
-            }
-            // Add to the grid
-            island = plugin.getIslands().createIsland(next, user.getUniqueId());
-            if (island == null) {
-                plugin.logError("Failed to make island! Island could not be added to the grid.");
-                throw new IOException("commands.island.create.unable-create-island");
+        CompletableFuture<Location> location = async ? this.locationStrategy.getNextLocationAsync(world)
+                : CompletableFuture.completedFuture(this.locationStrategy.getNextLocation(world));
+        if (location.isDone()) {
+            // Usually a free spot is found straight away
+            makeIsland(location.join(), oldIsland);
+            return;
+        }
+        // Blocks are being checked, so the island is made when the spot is found.
+        // Until then the player cannot start making another island.
+        plugin.getIslands().setCreating(user.getUniqueId(), true);
+        location.whenComplete((l, e) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            plugin.getIslands().setCreating(user.getUniqueId(), false);
+            try {
+                if (e != null) {
+                    plugin.logError("Failed to make island - the search for a spot failed. " + e.getMessage());
+                    throw new IOException("commands.island.create.unable-create-island");
+                }
+                makeIsland(l, oldIsland);
+            } catch (IOException ex) {
+                result.completeExceptionally(ex);
             }
+        }));
+    }
+
+    /**
+     * Adds an island at this location to the grid and finishes making it
+     * @param next location of the new island, or null if no unoccupied spot was found
+     * @param oldIsland old island that is being replaced, if any
+     * @throws IOException - if an island cannot be made. Message is the tag to show the user.
+     */
+    private void makeIsland(Location next, Island oldIsland) throws IOException {
+        if (next == null) {
+            plugin.logError("Failed to make island - no unoccupied spot found.");
+            plugin.logError("If the world was imported, try multiple times until all unowned islands are known.");
+            throw new IOException("commands.island.create.cannot-create-island");
+        }
+        // Add to the grid
+        island = plugin.getIslands().createIsland(next, user.getUniqueId());
+        if (island == null) {
+            // Give back the cell so it can be handed out again
+            plugin.getIslands().getCellAllocator().free(next);
+            plugin.logError("Failed to make island! Island could not be added to the grid.");
+            throw new IOException("commands.island.create.unable-create-island");
         }
+        finish(next, oldIsland);
+    }
+
+    private void finish(Location next, Island oldIsland) {
         // Clear any old home locations (they should be clear, but just in case)
         plugin.getPlayers().clearHomeLocations(world, user.getUniqueId());
         // Set home location
@@ -210,6 +291,9 @@ public class NewIsland {
                 .oldIsland(oldIsland)
                 .build();
         if (event.isCancelled()) {
+            // The cell can be handed out again once the island is gone
+            plugin.getIslands().getCellAllocator().free(island.getCenter());
+            result.complete(island);
             return;
         }
         // Get the new BlueprintBundle if it was changed
@@ -259,6 +343,7 @@ public class NewIsland {
         plugin.getMetrics().ifPresent(BStats::increaseIslandsCreatedCount);
         // Save island
         plugin.getIslands().save(island);
+        result.complete(island);
     }
 
     private void tidyUp(Island oldIsland) {
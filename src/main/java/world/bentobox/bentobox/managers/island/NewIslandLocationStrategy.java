@@ -1,5 +1,7 @@
 package world.bentobox.bentobox.managers.island;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.bukkit.Location;
 import org.bukkit.World;
 
@@ -11,4 +13,15 @@ import org.bukkit.World;
  */
 public interface NewIslandLocationStrategy {
     Location getNextLocation(World world);
+
+    /**
+     * Finds the location for a new island without blocking the server while chunks are looked at.
+     * By default, this completes straight away with {@link #getNextLocation(World)}.
+     * @param world - world
+     * @return future location of the new island, which is completed on the main thread with null if there is no free spot
+     * @since 1.14.0
+     */
+    default CompletableFuture<Location> getNextLocationAsync(World world) {
+        return CompletableFuture.completedFuture(getNextLocation(world));
+    }
 }
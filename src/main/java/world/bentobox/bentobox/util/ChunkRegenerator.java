@@ -0,0 +1,324 @@
+package world.bentobox.bentobox.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.generator.ChunkGenerator;
+import org.bukkit.generator.ChunkGenerator.ChunkData;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.NonNull;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.database.objects.IslandDeletion;
+
+/**
+ * Regenerates the chunks of deleted islands.
+ * <p>
+ * The generator's chunk data is made off the main thread when the generator allows it, and compared off the main
+ * thread with a snapshot of the chunk, so that only the blocks that are different are written. Sections that are empty
+ * in the world are only checked for blocks that the generator puts there. The writes of all chunks are queued and made
+ * section by section on the main thread, for no longer than a set time each tick.
+ * <p>
+ * Because the comparison is made with a snapshot, a block that already matched the generator when the snapshot was
+ * taken is not written, even if it is changed before the chunk's writes are made. A block placed in that time, which
+ * is usually a few ticks, can be left behind. A chunk whose writes have waited in the queue for longer than
+ * {@link #MAX_PLAN_AGE} milliseconds is compared again with a new snapshot before it is written, so this time stays short.
+ * @author tastybento
+ * @since 1.14.0
+ */
+public class ChunkRegenerator {
+
+    /**
+     * Number of blocks written between checks of the time
+     */
+    private static final int BATCH = 64;
+    /**
+     * Set in a packed position if the block must be set to air before it is set to its new data
+     */
+    private static final int AIR_FIRST = 1 << 16;
+    /**
+     * Time in milliseconds after the snapshot was taken when a chunk is compared again before it is written
+     */
+    private static final long MAX_PLAN_AGE = 1000L;
+
+    private final BentoBox plugin;
+    private final Deque<Plan> queue = new ArrayDeque<>();
+    private BukkitTask task;
+
+    public ChunkRegenerator(@NonNull BentoBox plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * The blocks to write into a chunk, in section order
+     */
+    private static class Plan {
+        private final Chunk chunk;
+        private final boolean isLoaded;
+        private final IslandDeletion di;
+        private final boolean[] inBounds;
+        private final MyBiomeGrid grid;
+        private final CompletableFuture<Void> result;
+        private ChunkGenerator cg;
+        /**
+         * True if the generator made the chunk, false if there is no generator
+         */
+        private boolean generated;
+        /**
+         * True if the chunk is kept loaded by a plugin chunk ticket
+         */
+        private boolean ticket;
+        /**
+         * True if the chunk has been compared again because the plan waited too long
+         */
+        private boolean replanned;
+        /**
+         * Time the snapshot was taken, from {@link System#currentTimeMillis()}
+         */
+        private long snapshotTime;
+        private int[] positions = new int[256];
+        private BlockData[] data = new BlockData[256];
+        private int size;
+        private int written;
+
+        private Plan(Chunk chunk, boolean isLoaded, IslandDeletion di, boolean[] inBounds, MyBiomeGrid grid, CompletableFuture<Void> result) {
+            this.chunk = chunk;
+            this.isLoaded = isLoaded;
+            this.di = di;
+            this.inBounds = inBounds;
+            this.grid = grid;
+            this.result = result;
+        }
+
+        private void add(int x, int y, int z, BlockData blockData, boolean airFirst) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                data = Arrays.copyOf(data, size * 2);
+            }
+            positions[size] = x | (z << 4) | (y << 8) | (airFirst ? AIR_FIRST : 0);
+            data[size++] = blockData;
+        }
+
+        /**
+         * Works out which blocks to write. Can be called from any thread.
+         * @param snapshot - snapshot of the chunk
+         * @param cd - the generator's chunk data
+         * @param maxHeight - max height of the world
+         */
+        private void compare(ChunkSnapshot snapshot, ChunkData cd, int maxHeight) {
+            for (int sy = 0; sy < maxHeight >> 4; sy++) {
+                boolean empty = snapshot.isSectionEmpty(sy);
+                for (int x = 0; x < 16; x++) {
+                    for (int z = 0; z < 16; z++) {
+                        if (!inBounds[x | (z << 4)]) {
+                            continue;
+                        }
+                        for (int y = sy << 4; y < (sy + 1) << 4; y++) {
+                            if (empty) {
+                                if (cd.getType(x, y, z) != Material.AIR) {
+                                    add(x, y, z, cd.getBlockData(x, y, z), false);
+                                }
+                            } else {
+                                BlockData target = cd.getBlockData(x, y, z);
+                                BlockData existing = snapshot.getBlockData(x, y, z);
+                                if (!target.equals(existing)) {
+                                    // Setting the block to air first stops the server keeping the old tile entity
+                                    add(x, y, z, target, !existing.getMaterial().isAir() && !target.getMaterial().isAir());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Writes blocks until they are all written or the time is up
+         * @param end - time to stop, from {@link System#nanoTime()}
+         * @return true if all the blocks have been written
+         */
+        private boolean write(long end) {
+            do {
+                int batchEnd = Math.min(size, written + BATCH);
+                for (; written < batchEnd; written++) {
+                    int p = positions[written];
+                    Block block = chunk.getBlock(p & 15, (p >> 8) & 255, (p >> 4) & 15);
+                    if ((p & AIR_FIRST) != 0) {
+                        block.setType(Material.AIR, false);
+                    }
+                    block.setBlockData(data[written], false);
+                    data[written] = null;
+                }
+            } while (written < size && System.nanoTime() < end);
+            return written >= size;
+        }
+    }
+
+    /**
+     * Regenerates the part of a chunk that is in the island. The chunk must be loaded.
+     * @param gm - game mode of the island
+     * @param chunk - chunk
+     * @param di - island deletion
+     * @return future that is completed on the main thread when the chunk has been regenerated
+     */
+    @NonNull
+    public CompletableFuture<Void> regenerate(@NonNull GameModeAddon gm, @NonNull Chunk chunk, @NonNull IslandDeletion di) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        boolean isLoaded = chunk.isLoaded();
+        // Clear all inventories
+        Arrays.stream(chunk.getTileEntities()).filter(te -> (te instanceof InventoryHolder))
+        .filter(te -> di.inBounds(te.getLocation().getBlockX(), te.getLocation().getBlockZ()))
+        .forEach(te -> ((InventoryHolder)te).getInventory().clear());
+        World world = chunk.getWorld();
+        MyBiomeGrid grid = new MyBiomeGrid(world.getEnvironment());
+        boolean[] inBounds = new boolean[256];
+        int baseX = chunk.getX() << 4;
+        int baseZ = chunk.getZ() << 4;
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                inBounds[x | (z << 4)] = di.inBounds(baseX + x, baseZ + z);
+            }
+        }
+        Plan plan = new Plan(chunk, isLoaded, di, inBounds, grid, result);
+        plan.cg = gm.getDefaultWorldGenerator(world.getName(), "");
+        // Will be null if use-own-generator is set to true
+        if (plan.cg == null) {
+            finish(plan);
+            return result;
+        }
+        plan.generated = true;
+        generate(plan);
+        return result;
+    }
+
+    /**
+     * Takes a snapshot of the chunk and works out the blocks to write, off the main thread if the generator allows it
+     */
+    private void generate(Plan plan) {
+        Chunk chunk = plan.chunk;
+        World world = chunk.getWorld();
+        ChunkGenerator cg = plan.cg;
+        int x = chunk.getX();
+        int z = chunk.getZ();
+        ChunkData cd = null;
+        if (!cg.isParallelCapable()) {
+            try {
+                cd = cg.generateChunkData(world, new Random(), x, z, plan.grid);
+            } catch (Exception e) {
+                plugin.logError("Could not regenerate chunk " + x + "," + z + " in " + world.getName());
+                plugin.logStacktrace(e);
+                plan.generated = false;
+                finish(plan);
+                return;
+            }
+        }
+        if (!plan.ticket) {
+            // Keep the chunk loaded until its blocks are written
+            chunk.addPluginChunkTicket(plugin);
+            plan.ticket = true;
+        }
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
+        plan.snapshotTime = System.currentTimeMillis();
+        int maxHeight = world.getMaxHeight();
+        ChunkData data = cd;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> plan(plan, snapshot, maxHeight,
+                data != null ? () -> data : () -> cg.generateChunkData(world, new Random(), x, z, plan.grid)));
+    }
+
+    /**
+     * Works out the blocks to write off the main thread, and queues the plan on the main thread
+     */
+    private void plan(Plan plan, ChunkSnapshot snapshot, int maxHeight, Supplier<ChunkData> chunkData) {
+        try {
+            plan.compare(snapshot, chunkData.get(), maxHeight);
+        } catch (Exception e) {
+            plugin.logError("Could not regenerate chunk " + snapshot.getX() + "," + snapshot.getZ() + " in " + snapshot.getWorldName());
+            plugin.logStacktrace(e);
+            plan.size = 0;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> queue(plan));
+    }
+
+    private void queue(Plan plan) {
+        if (plan.replanned) {
+            // It has waited its turn already
+            queue.addFirst(plan);
+        } else {
+            queue.add(plan);
+        }
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::write, 0L, 1L);
+        }
+    }
+
+    /**
+     * Writes the queued blocks for as long as the settings allow this tick
+     */
+    private void write() {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(plugin.getSettings().getDeleteMillisPerTick());
+        while (!queue.isEmpty()) {
+            Plan plan = queue.peek();
+            if (plan.written == 0 && !plan.replanned && System.currentTimeMillis() - plan.snapshotTime > MAX_PLAN_AGE) {
+                // Blocks may have changed since the snapshot was taken, so compare the chunk again
+                queue.poll();
+                plan.replanned = true;
+                plan.size = 0;
+                generate(plan);
+                continue;
+            }
+            if (!plan.write(end)) {
+                return;
+            }
+            queue.poll();
+            finish(plan);
+            if (System.nanoTime() >= end) {
+                return;
+            }
+        }
+        task.cancel();
+        task = null;
+    }
+
+    /**
+     * Sets the biomes, removes the entities and unloads the chunk if needed
+     */
+    private void finish(Plan plan) {
+        Chunk chunk = plan.chunk;
+        if (plan.ticket) {
+            chunk.removePluginChunkTicket(plugin);
+            plan.ticket = false;
+        }
+        IslandDeletion di = plan.di;
+        if (plan.generated) {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    if (plan.inBounds[x | (z << 4)]) {
+                        chunk.getBlock(x, 0, z).setBiome(plan.grid.getBiome(x, z));
+                    }
+                }
+            }
+        }
+        // Remove all entities in chunk, including any dropped items as a result of clearing the blocks above
+        Arrays.stream(chunk.getEntities()).filter(e -> !(e instanceof Player) && di.inBounds(e.getLocation().getBlockX(), e.getLocation().getBlockZ())).forEach(Entity::remove);
+        if (!plan.isLoaded) {
+            chunk.unload(true);
+        }
+        plan.result.complete(null);
+    }
+}
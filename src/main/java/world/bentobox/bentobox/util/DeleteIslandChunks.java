@@ -1,17 +1,10 @@
 package world.bentobox.bentobox.util;
 
-import java.util.Arrays;
-import java.util.Random;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
-import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.Player;
-import org.bukkit.generator.ChunkGenerator;
-import org.bukkit.generator.ChunkGenerator.ChunkData;
-import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.scheduler.BukkitTask;
 
 import io.papermc.lib.PaperLib;
@@ -23,95 +16,151 @@ import world.bentobox.bentobox.database.objects.IslandDeletion;
 
 /**
  * Deletes islands chunk by chunk
+ * <p>
+ * Chunks are handed to the {@link ChunkRegenerator}, which writes them a slice at a time. Several chunks can be
+ * in hand at once. How far the deletion has got is saved in the {@link IslandDeletion}, so it carries on from there
+ * after a restart.
  *
  * @author tastybento
  */
 public class DeleteIslandChunks {
 
-    private int chunkX;
-    private int chunkZ;
+    /**
+     * Number of ticks in a second
+     */
+    private static final int TICKS_PER_SECOND = 20;
+    /**
+     * Progress is saved each time this many more chunk positions are done
+     */
+    private static final int SAVE_EVERY = 10;
+
+    private final BentoBox plugin;
+    private final IslandDeletion di;
+    /**
+     * Number of chunks along z
+     */
+    private final int depth;
+    /**
+     * Number of chunk positions
+     */
+    private final int total;
+    /**
+     * Next chunk position to start
+     */
+    private int next;
+    /**
+     * Every chunk position before this one is done
+     */
+    private int completed;
+    private int saved;
+    /**
+     * Number of chunks still being regenerated for each chunk position that has been started
+     */
+    private final Map<Integer, Integer> remaining = new HashMap<>();
     private BukkitTask task;
-    private IslandDeletion di;
-    private boolean inDelete;
+    private boolean done;
+    /**
+     * The delete speed is per second. Each tick adds it to this, and each chunk costs a second's worth of ticks.
+     */
+    private int credit;
 
     public DeleteIslandChunks(BentoBox plugin, IslandDeletion di) {
         // Fire event
         IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETE_CHUNKS).build();
 
-        this.chunkX = di.getMinXChunk();
-        this.chunkZ = di.getMinZChunk();
+        this.plugin = plugin;
         this.di = di;
+        this.depth = di.getMaxZChunk() - di.getMinZChunk() + 1;
+        this.total = (di.getMaxXChunk() - di.getMinXChunk() + 1) * depth;
+        // Carry on from where the deletion got to
+        this.next = Math.max(0, Math.min(di.getProgress(), total));
+        this.completed = next;
+        this.saved = next;
         // Run through all chunks of the islands and regenerate them.
-        task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (inDelete) return;
-            inDelete = true;
-            for (int i = 0; i < plugin.getSettings().getDeleteSpeed(); i++) {
-                plugin.getIWM().getAddon(di.getWorld()).ifPresent(gm -> {
-                    // Overworld
-                    processChunk(gm, di.getWorld(), chunkX, chunkZ);
-                    // Nether
-                    if (plugin.getIWM().isNetherGenerate(di.getWorld()) && plugin.getIWM().isNetherIslands(di.getWorld())) {
-                        processChunk(gm, plugin.getIWM().getNetherWorld(di.getWorld()), chunkX, chunkZ);
-                    }
-                    // End
-                    if (plugin.getIWM().isEndGenerate(di.getWorld()) && plugin.getIWM().isEndIslands(di.getWorld())) {
-                        processChunk(gm, plugin.getIWM().getEndWorld(di.getWorld()), chunkX, chunkZ);
-                    }
-                    chunkZ++;
-                    if (chunkZ > di.getMaxZChunk()) {
-                        chunkZ = di.getMinZChunk();
-                        chunkX++;
-                        if (chunkX > di.getMaxXChunk()) {
-                            // We're done
-                            task.cancel();
-                            // Fire event
-                            IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
-                        }
-                    }
-                });
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0L, 1L);
+    }
+
+    private void tick() {
+        int speed = plugin.getSettings().getDeleteSpeed();
+        credit = Math.min(credit + speed, Math.max(speed, TICKS_PER_SECOND));
+        // All deletions share a budget of chunks per tick
+        while (next < total && credit >= TICKS_PER_SECOND && plugin.getIslandDeletionManager().takeChunk()) {
+            credit -= TICKS_PER_SECOND;
+            start(next++);
+        }
+        checkDone();
+    }
+
+    /**
+     * Starts regenerating the chunks at a chunk position in each of the island's worlds
+     * @param position - chunk position
+     */
+    private void start(int position) {
+        int chunkX = di.getMinXChunk() + position / depth;
+        int chunkZ = di.getMinZChunk() + position % depth;
+        // Hold the position open until all its chunks have been started
+        remaining.put(position, 1);
+        plugin.getIWM().getAddon(di.getWorld()).ifPresent(gm -> {
+            // Overworld
+            processChunk(gm, di.getWorld(), chunkX, chunkZ, position);
+            // Nether
+            if (plugin.getIWM().isNetherGenerate(di.getWorld()) && plugin.getIWM().isNetherIslands(di.getWorld())) {
+                processChunk(gm, plugin.getIWM().getNetherWorld(di.getWorld()), chunkX, chunkZ, position);
             }
-            inDelete = false;
-        }, 0L, 20L);
+            // End
+            if (plugin.getIWM().isEndGenerate(di.getWorld()) && plugin.getIWM().isEndIslands(di.getWorld())) {
+                processChunk(gm, plugin.getIWM().getEndWorld(di.getWorld()), chunkX, chunkZ, position);
+            }
+        });
+        finish(position);
     }
 
-    private void processChunk(GameModeAddon gm, World world, int x, int z) {
+    private void processChunk(GameModeAddon gm, World world, int x, int z, int position) {
         if (PaperLib.isChunkGenerated(world, x, z)) {
-            PaperLib.getChunkAtAsync(world, x, z).thenAccept(chunk -> regenerateChunk(gm, chunk));
+            remaining.merge(position, 1, Integer::sum);
+            PaperLib.getChunkAtAsync(world, x, z)
+            .thenCompose(chunk -> plugin.getIslandDeletionManager().getRegenerator().regenerate(gm, chunk, di))
+            .whenComplete((v, e) -> {
+                if (e != null) {
+                    plugin.logError("Could not regenerate chunk " + x + "," + z + " in " + world.getName());
+                    plugin.logStacktrace(e);
+                }
+                if (Bukkit.isPrimaryThread()) {
+                    finish(position);
+                } else {
+                    Bukkit.getScheduler().runTask(plugin, () -> finish(position));
+                }
+            });
         }
     }
 
-    private void regenerateChunk(GameModeAddon gm, Chunk chunk) {
-        boolean isLoaded = chunk.isLoaded();
-        // Clear all inventories
-        Arrays.stream(chunk.getTileEntities()).filter(te -> (te instanceof InventoryHolder))
-        .filter(te -> di.inBounds(te.getLocation().getBlockX(), te.getLocation().getBlockZ()))
-        .forEach(te -> ((InventoryHolder)te).getInventory().clear());
-        // Reset blocks
-        MyBiomeGrid grid = new MyBiomeGrid(chunk.getWorld().getEnvironment());
-        ChunkGenerator cg = gm.getDefaultWorldGenerator(chunk.getWorld().getName(), "");
-        // Will be null if use-own-generator is set to true
-        if (cg != null) {
-            ChunkData cd = cg.generateChunkData(chunk.getWorld(), new Random(), chunk.getX(), chunk.getZ(), grid);
-            int baseX = chunk.getX() << 4;
-            int baseZ = chunk.getZ() << 4;
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    if (di.inBounds(baseX + x, baseZ + z)) {
-                        chunk.getBlock(x, 0, z).setBiome(grid.getBiome(x, z));
-                        for (int y = 0; y < chunk.getWorld().getMaxHeight(); y++) {
-                            // Note: setting block to air before setting it to something else stops a bug in the server
-                            // where it reports a "
-                            chunk.getBlock(x, y, z).setType(Material.AIR, false);
-                            chunk.getBlock(x, y, z).setBlockData(cd.getBlockData(x, y, z), false);
-                        }
-                    }
-                }
-            }
+    /**
+     * Marks one chunk at a chunk position as done
+     * @param position - chunk position
+     */
+    private void finish(int position) {
+        if (remaining.merge(position, -1, Integer::sum) > 0) {
+            return;
+        }
+        remaining.remove(position);
+        while (completed < next && !remaining.containsKey(completed)) {
+            completed++;
         }
-        // Remove all entities in chunk, including any dropped items as a result of clearing the blocks above
-        Arrays.stream(chunk.getEntities()).filter(e -> !(e instanceof Player) && di.inBounds(e.getLocation().getBlockX(), e.getLocation().getBlockZ())).forEach(Entity::remove);
-        if (!isLoaded) {
-            chunk.unload(true);
+        if (completed - saved >= SAVE_EVERY && completed < total) {
+            saved = completed;
+            di.setProgress(completed);
+            plugin.getIslandDeletionManager().saveProgress(di);
+        }
+        checkDone();
+    }
+
+    private void checkDone() {
+        if (!done && completed >= total) {
+            // We're done
+            done = true;
+            task.cancel();
+            // Fire event
+            IslandEvent.builder().deletedIslandInfo(di).reason(Reason.DELETED).build();
         }
     }
 }
@@ -12,13 +12,16 @@ import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.scheduler.BukkitScheduler;
 import org.eclipse.jdt.annotation.NonNull;
 import org.junit.After;
 import org.junit.Before;
@@ -32,11 +35,13 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.commands.CompositeCommand;
 import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.database.objects.IslandDeletion;
 import world.bentobox.bentobox.managers.CommandsManager;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
@@ -69,6 +74,8 @@ public class AdminPurgeCommandTest {
     private World world;
     @Mock
     private PlayersManager pm;
+    @Mock
+    private Location location;
 
     /**
      * @throws java.lang.Exception
@@ -98,11 +105,30 @@ public class AdminPurgeCommandTest {
 
         // Island
         when(island.isOwned()).thenReturn(true); // Default owned
+        when(island.getCenter()).thenReturn(location);
+        when(island.isDeleted()).thenReturn(true); // Deletions go ahead
 
         // Player manager
         when(plugin.getPlayers()).thenReturn(pm);
         when(pm.getName(any())).thenReturn("name");
 
+        // Settings
+        Settings settings = mock(Settings.class);
+        when(plugin.getSettings()).thenReturn(settings);
+
+        // Scheduler runs tasks straight away
+        PowerMockito.mockStatic(Bukkit.class);
+        BukkitScheduler sch = mock(BukkitScheduler.class);
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        when(sch.runTaskAsynchronously(any(), any(Runnable.class))).thenAnswer(i -> {
+            i.getArgument(1, Runnable.class).run();
+            return null;
+        });
+        when(sch.runTask(any(), any(Runnable.class))).thenAnswer(i -> {
+            i.getArgument(1, Runnable.class).run();
+            return null;
+        });
+
         // Command
         apc = new AdminPurgeCommand(ac);
     }
@@ -259,10 +285,7 @@ public class AdminPurgeCommandTest {
         team.put(UUID.randomUUID(), RanksManager.OWNER_RANK);
         when(island.getMembers()).thenReturn(team);
         when(im.getIslands()).thenReturn(Collections.singleton(island));
-        PowerMockito.mockStatic(Bukkit.class);
-        OfflinePlayer op = mock(OfflinePlayer.class);
-        when(op.getLastPlayed()).thenReturn(System.currentTimeMillis());
-        when(Bukkit.getOfflinePlayer(any(UUID.class))).thenReturn(op);
+        when(pm.getLastLogin(any())).thenReturn(System.currentTimeMillis());
         assertTrue(apc.execute(user, "", Collections.singletonList("10")));
         verify(user).sendMessage(eq("commands.admin.purge.purgable-islands"), eq("[number]"), eq("0"));
     }
@@ -280,11 +303,8 @@ public class AdminPurgeCommandTest {
         team.put(UUID.randomUUID(), RanksManager.OWNER_RANK);
         when(island.getMembers()).thenReturn(team);
         when(im.getIslands()).thenReturn(Collections.singleton(island));
-        PowerMockito.mockStatic(Bukkit.class);
-        OfflinePlayer op = mock(OfflinePlayer.class);
-        when(op.getLastPlayed()).thenReturn(0L);
-        when(Bukkit.getOfflinePlayer(any(UUID.class))).thenReturn(op);
-        assertFalse(apc.execute(user, "", Collections.singletonList("10")));
+        when(pm.getLastLogin(any())).thenReturn(0L);
+        assertTrue(apc.execute(user, "", Collections.singletonList("10")));
         verify(user).sendMessage(eq("commands.admin.purge.purgable-islands"), eq("[number]"), eq("1"));
         verify(user).sendMessage(eq("commands.admin.purge.confirm"), eq("[label]"), eq("bsb"));
     }
@@ -305,6 +325,91 @@ public class AdminPurgeCommandTest {
         verify(user).sendMessage(eq("commands.admin.purge.see-console-for-status"), eq("[label]"), eq("bsb"));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.admin.purge.AdminPurgeCommand#removeIslands()}.
+     */
+    @Test
+    public void testRemoveIslandsPipelines() {
+        when(plugin.getSettings().getPurgePipelines()).thenReturn(2);
+        Location[] centers = purgeIslands("island1", "island2", "island3");
+        apc.removeIslands();
+        // Two at a time
+        verify(im, times(2)).deleteIsland(any(), eq(true), eq(null));
+        apc.onIslandDeleted(deleted(centers[0]));
+        verify(im, times(3)).deleteIsland(any(), eq(true), eq(null));
+        apc.onIslandDeleted(deleted(centers[1]));
+        assertTrue(apc.isInPurge());
+        apc.onIslandDeleted(deleted(centers[2]));
+        assertFalse(apc.isInPurge());
+        verify(user).sendMessage(eq("commands.admin.purge.completed"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.admin.purge.AdminPurgeCommand#onIslandDeleted(world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent)}
+     * when an island that is not being purged is deleted.
+     */
+    @Test
+    public void testOnIslandDeletedNotPurged() {
+        when(plugin.getSettings().getPurgePipelines()).thenReturn(1);
+        purgeIslands("island1", "island2");
+        apc.removeIslands();
+        verify(im).deleteIsland(any(), eq(true), eq(null));
+        // Another island is deleted
+        apc.onIslandDeleted(deleted(mock(Location.class)));
+        verify(im).deleteIsland(any(), eq(true), eq(null));
+        assertTrue(apc.isInPurge());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.admin.purge.AdminPurgeCommand#removeIslands()}
+     * when the deletion of an island is cancelled.
+     */
+    @Test
+    public void testRemoveIslandsCancelled() {
+        when(plugin.getSettings().getPurgePipelines()).thenReturn(1);
+        purgeIslands("island1");
+        when(island.isDeleted()).thenReturn(false);
+        when(im.getIslandById(eq("island1"))).thenReturn(Optional.of(island));
+        apc.removeIslands();
+        // Nothing is left to wait for
+        assertFalse(apc.isInPurge());
+        assertEquals(0, apc.getPurgedIslandsCount());
+        verify(user).sendMessage(eq("commands.admin.purge.completed"));
+    }
+
+    /**
+     * Makes islands to purge, each with its own center
+     * @param ids - unique ids of the islands, in the order they are purged
+     * @return centers of the islands
+     */
+    private Location[] purgeIslands(String... ids) {
+        Set<String> islands = new LinkedHashSet<>();
+        Location[] centers = new Location[ids.length];
+        for (int n = 0; n < ids.length; n++) {
+            Island i = mock(Island.class);
+            centers[n] = mock(Location.class);
+            when(i.getCenter()).thenReturn(centers[n]);
+            when(i.isDeleted()).thenReturn(true);
+            when(im.getIslandById(eq(ids[n]))).thenReturn(Optional.of(i));
+            islands.add(ids[n]);
+        }
+        apc.setUser(user);
+        apc.setIslands(islands);
+        return centers;
+    }
+
+    /**
+     * @param center - center of the deleted island
+     * @return event for the end of the deletion
+     */
+    private IslandDeletedEvent deleted(Location center) {
+        IslandDeletion di = mock(IslandDeletion.class);
+        when(di.getLocation()).thenReturn(center);
+        IslandDeletedEvent e = mock(IslandDeletedEvent.class);
+        when(e.getDeletedIslandInfo()).thenReturn(di);
+        return e;
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.api.commands.admin.purge.AdminPurgeCommand#onIslandDeleted(world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent)}.
      */
@@ -322,8 +427,7 @@ public class AdminPurgeCommandTest {
     @Test
     public void testOnIslandDeletedPurgeCompleted() {
         testRemoveIslands();
-        IslandDeletedEvent e = mock(IslandDeletedEvent.class);
-        apc.onIslandDeleted(e);
+        apc.onIslandDeleted(deleted(location));
         verify(user).sendMessage(eq("commands.admin.purge.completed"));
         verify(plugin, Mockito.never()).log("");
     }
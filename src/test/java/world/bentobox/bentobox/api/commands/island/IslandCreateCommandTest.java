@@ -16,6 +16,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -147,7 +148,7 @@ public class IslandCreateCommandTest {
         when(builder.name(Mockito.anyString())).thenReturn(builder);
         when(builder.addon(addon)).thenReturn(builder);
         when(builder.reason(any())).thenReturn(builder);
-        when(builder.build()).thenReturn(mock(Island.class));
+        when(builder.buildAsync()).thenReturn(CompletableFuture.completedFuture(mock(Island.class)));
 
         // Bundles manager
         when(plugin.getBlueprintsManager()).thenReturn(bpm);
@@ -200,6 +201,16 @@ public class IslandCreateCommandTest {
         verify(user).sendMessage(eq("general.errors.already-have-island"));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#canExecute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
+     */
+    @Test
+    public void testCanExecuteUserStringListOfStringCreating() {
+        when(im.isCreating(any())).thenReturn(true);
+        assertFalse(cc.canExecute(user, "", Collections.emptyList()));
+        verify(user).sendMessage(eq("commands.island.create.creating-island"));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#canExecute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
      */
@@ -244,7 +255,7 @@ public class IslandCreateCommandTest {
         verify(builder).addon(any());
         verify(builder).reason(eq(Reason.CREATE));
         verify(builder).name(eq("custom"));
-        verify(builder).build();
+        verify(builder).buildAsync();
         verify(user).sendMessage("commands.island.create.creating-island");
     }
 
@@ -259,13 +270,31 @@ public class IslandCreateCommandTest {
         // Has permission
         when(bpm.checkPerm(any(), any(), any())).thenReturn(true);
 
-        when(builder.build()).thenThrow(new IOException("commands.island.create.unable-create-island"));
+        CompletableFuture<Island> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("commands.island.create.unable-create-island"));
+        when(builder.buildAsync()).thenReturn(failed);
         assertFalse(cc.execute(user, "", Collections.singletonList("custom")));
         verify(user).sendMessage("commands.island.create.creating-island");
         verify(user).sendMessage("commands.island.create.unable-create-island");
         verify(plugin).logError("Could not create island for player. commands.island.create.unable-create-island");
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#execute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}
+     * when a free spot has to be looked for first.
+     */
+    @Test
+    public void testExecuteUserStringListOfStringDeferred() {
+        when(settings.isResetCooldownOnCreate()).thenReturn(true);
+        CompletableFuture<Island> created = new CompletableFuture<>();
+        when(builder.buildAsync()).thenReturn(created);
+        assertTrue(cc.execute(user, "", Collections.emptyList()));
+        // The cooldown is only set once the island is made
+        verify(ic, never()).getSubCommand(eq("reset"));
+        created.complete(mock(Island.class));
+        verify(ic).getSubCommand(eq("reset"));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.api.commands.island.IslandCreateCommand#execute(world.bentobox.bentobox.api.user.User, java.lang.String, java.util.List)}.
      */
@@ -314,7 +343,7 @@ public class IslandCreateCommandTest {
         verify(builder).addon(any());
         verify(builder).reason(eq(Reason.CREATE));
         verify(builder).name(eq("custom"));
-        verify(builder).build();
+        verify(builder).buildAsync();
         verify(user).sendMessage("commands.island.create.creating-island");
     }
 
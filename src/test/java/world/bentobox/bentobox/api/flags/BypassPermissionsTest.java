@@ -0,0 +1,65 @@
+package world.bentobox.bentobox.api.flags;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author tastybento
+ *
+ */
+public class BypassPermissionsTest {
+
+    private Flag flag;
+
+    @Before
+    public void setUp() {
+        flag = mock(Flag.class);
+        when(flag.getID()).thenReturn("BREAK_BLOCKS");
+    }
+
+    /**
+     * Test method for {@link BypassPermissions#prefix(String)}.
+     */
+    @Test
+    public void testPrefix() {
+        assertEquals("bskyblock.", BypassPermissions.prefix("bskyblock"));
+        assertSame(BypassPermissions.prefix("bskyblock"), BypassPermissions.prefix("bskyblock"));
+    }
+
+    /**
+     * Test method for {@link BypassPermissions#getBypassProtect(String)}.
+     */
+    @Test
+    public void testGetBypassProtect() {
+        assertEquals("bskyblock.mod.bypassprotect", BypassPermissions.getBypassProtect("bskyblock."));
+        assertEquals("mod.bypassprotect", BypassPermissions.getBypassProtect(""));
+    }
+
+    /**
+     * Test method for {@link BypassPermissions#getBypassBan(String)} and {@link BypassPermissions#getBypassLock(String)}.
+     */
+    @Test
+    public void testGetBypassBanLock() {
+        assertEquals("acidisland.mod.bypassban", BypassPermissions.getBypassBan("acidisland."));
+        assertEquals("acidisland.mod.bypasslock", BypassPermissions.getBypassLock("acidisland."));
+    }
+
+    /**
+     * Test method for {@link BypassPermissions#register(String, java.util.Collection)}.
+     */
+    @Test
+    public void testRegister() {
+        BypassPermissions.register("caveblock.", Collections.singletonList(flag));
+        String node = BypassPermissions.getBypassEverywhere("caveblock.", flag);
+        assertEquals("caveblock.mod.bypass.BREAK_BLOCKS.everywhere", node);
+        assertSame(node, BypassPermissions.getBypassEverywhere("caveblock.", flag));
+        assertEquals("caveblock.mod.bypass.BREAK_BLOCKS.island", BypassPermissions.getBypassIsland("caveblock.", flag));
+    }
+}
@@ -0,0 +1,176 @@
+package world.bentobox.bentobox.api.flags;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.ServerCommandEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.api.flags.FlagListener.Why;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class FlagDecisionCacheTest {
+
+    @Mock
+    private User user;
+    @Mock
+    private Island island;
+    @Mock
+    private World world;
+    @Mock
+    private Flag flag;
+
+    private UUID uuid = UUID.randomUUID();
+    private FlagDecisionCache cache;
+
+    @Before
+    public void setUp() {
+        when(user.getUniqueId()).thenReturn(uuid);
+        cache = new FlagDecisionCache(60);
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#get(User, Island, World, Flag)}.
+     */
+    @Test
+    public void testPutGet() {
+        assertNull(cache.get(user, island, world, flag));
+        cache.put(user, island, world, flag, Why.RANK_ALLOWED);
+        assertEquals(Why.RANK_ALLOWED, cache.get(user, island, world, flag));
+        // Different flag
+        assertNull(cache.get(user, island, world, mock(Flag.class)));
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#get(User, Island, World, Flag)} when the player moves.
+     */
+    @Test
+    public void testDifferentPlace() {
+        cache.put(user, island, world, flag, Why.RANK_ALLOWED);
+        assertNull(cache.get(user, null, world, flag));
+        assertNull(cache.get(user, island, mock(World.class), flag));
+        // Going to another island drops the outcomes for the first island
+        cache.put(user, null, world, flag, Why.NOT_ALLOWED_IN_WORLD);
+        assertNull(cache.get(user, island, world, flag));
+        assertEquals(Why.NOT_ALLOWED_IN_WORLD, cache.get(user, null, world, flag));
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#invalidateAll()}.
+     */
+    @Test
+    public void testInvalidateAll() {
+        cache.put(user, island, world, flag, Why.RANK_ALLOWED);
+        FlagDecisionCache.invalidateAll();
+        assertNull(cache.get(user, island, world, flag));
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#onPlayerQuit(PlayerQuitEvent)}.
+     */
+    @Test
+    public void testOnPlayerQuit() {
+        cache.put(user, island, world, flag, Why.BYPASS_ISLAND);
+        assertEquals(1, cache.size());
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(uuid);
+        cache.onPlayerQuit(new PlayerQuitEvent(player, "bye"));
+        assertEquals(0, cache.size());
+        assertNull(cache.get(user, island, world, flag));
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#get(User, Island, World, Flag)} when the player is opped.
+     */
+    @Test
+    public void testOpChanged() {
+        cache.put(user, island, world, flag, Why.NOT_ALLOWED_ON_ISLAND);
+        when(user.isOp()).thenReturn(true);
+        assertNull(cache.get(user, island, world, flag));
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#onPlayerCommand(PlayerCommandPreprocessEvent)}.
+     */
+    @Test
+    public void testOnPlayerCommand() {
+        cache.put(user, island, world, flag, Why.NOT_ALLOWED_ON_ISLAND);
+        // Another player's command only drops that player's outcomes
+        Player other = mock(Player.class);
+        when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+        cache.onPlayerCommand(new PlayerCommandPreprocessEvent(other, "/spawn"));
+        assertEquals(Why.NOT_ALLOWED_ON_ISLAND, cache.get(user, island, world, flag));
+        // The player's own command drops their outcomes
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(uuid);
+        cache.onPlayerCommand(new PlayerCommandPreprocessEvent(player, "/spawn"));
+        assertNull(cache.get(user, island, world, flag));
+        // A permissions command drops everyone's outcomes
+        cache.put(user, island, world, flag, Why.NOT_ALLOWED_ON_ISLAND);
+        cache.onPlayerCommand(new PlayerCommandPreprocessEvent(other, "/lp user test permission set bskyblock.mod.bypassprotect"));
+        assertNull(cache.get(user, island, world, flag));
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#onServerCommand(ServerCommandEvent)}.
+     */
+    @Test
+    public void testOnServerCommand() {
+        cache.put(user, island, world, flag, Why.NOT_ALLOWED_ON_ISLAND);
+        cache.onServerCommand(new ServerCommandEvent(mock(CommandSender.class), "say hello"));
+        assertEquals(Why.NOT_ALLOWED_ON_ISLAND, cache.get(user, island, world, flag));
+        cache.onServerCommand(new ServerCommandEvent(mock(CommandSender.class), "luckperms:lp user test parent set admin"));
+        assertNull(cache.get(user, island, world, flag));
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#isPermissionCommand(String)}.
+     */
+    @Test
+    public void testIsPermissionCommand() {
+        assertTrue(FlagDecisionCache.isPermissionCommand("/pex user test add bskyblock.island"));
+        assertTrue(FlagDecisionCache.isPermissionCommand("LP user test"));
+        assertTrue(FlagDecisionCache.isPermissionCommand("/luckperms:lp"));
+        assertFalse(FlagDecisionCache.isPermissionCommand("/island go"));
+        assertFalse(FlagDecisionCache.isPermissionCommand("/lpx"));
+        assertFalse(FlagDecisionCache.isPermissionCommand(""));
+    }
+
+    /**
+     * Test method for {@link FlagDecisionCache#get(User, Island, World, Flag)} when outcomes expire.
+     */
+    @Test
+    public void testExpiry() {
+        cache = new FlagDecisionCache(0);
+        cache.put(user, island, world, flag, Why.OP);
+        assertNull(cache.get(user, island, world, flag));
+    }
+}
@@ -0,0 +1,178 @@
+package world.bentobox.bentobox.api.flags;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.Material;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class FlagRankMapTest {
+
+    @Mock
+    private Flag breakBlocks;
+    @Mock
+    private Flag placeBlocks;
+    @Mock
+    private Flag unregistered;
+
+    private FlagRankMap map;
+
+    @Before
+    public void setUp() {
+        when(breakBlocks.getOrdinal()).thenReturn(0);
+        when(placeBlocks.getOrdinal()).thenReturn(40);
+        when(unregistered.getOrdinal()).thenReturn(-1);
+        map = new FlagRankMap();
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link AbstractFlagMap#put(Flag, Object)} and {@link AbstractFlagMap#get(Object)}.
+     */
+    @Test
+    public void testPutGet() {
+        assertNull(map.put(breakBlocks, 500));
+        assertNull(map.put(placeBlocks, 0));
+        assertNull(map.put(unregistered, -1));
+        assertEquals(500, (int)map.put(breakBlocks, 1000));
+        assertEquals(1000, (int)map.get(breakBlocks));
+        assertEquals(0, (int)map.get(placeBlocks));
+        assertEquals(-1, (int)map.get(unregistered));
+        assertNull(map.get("BREAK_BLOCKS"));
+        assertEquals(3, map.size());
+        assertTrue(map.containsKey(placeBlocks));
+        // Same as a hash map
+        Map<Flag, Integer> expected = new HashMap<>();
+        expected.put(breakBlocks, 1000);
+        expected.put(placeBlocks, 0);
+        expected.put(unregistered, -1);
+        assertEquals(expected, map);
+        assertEquals(map, new FlagRankMap(expected));
+    }
+
+    /**
+     * Test method for {@link FlagRankMap#getOrPut(Flag, int)}.
+     */
+    @Test
+    public void testGetOrPut() {
+        assertEquals(500, map.getOrPut(breakBlocks, 500));
+        assertEquals(500, map.getOrPut(breakBlocks, 0));
+        assertEquals(-1, map.getOrPut(unregistered, -1));
+        assertEquals(-1, map.getOrPut(unregistered, 1));
+        assertEquals(2, map.size());
+    }
+
+    /**
+     * Test method for {@link AbstractFlagMap#remove(Object)} and {@link AbstractFlagMap#entrySet()}.
+     */
+    @Test
+    public void testRemove() {
+        map.put(breakBlocks, 500);
+        map.put(placeBlocks, 0);
+        map.put(unregistered, -1);
+        assertEquals(500, (int)map.remove(breakBlocks));
+        assertNull(map.remove(breakBlocks));
+        assertEquals(2, map.size());
+        map.keySet().removeIf(f -> f == unregistered);
+        assertEquals(1, map.size());
+        assertFalse(map.containsKey(unregistered));
+        map.entrySet().iterator().next().setValue(1000);
+        assertEquals(1000, (int)map.get(placeBlocks));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Test method for {@link AbstractFlagMap#ordinalChanged()}.
+     */
+    @Test
+    public void testOrdinalChanged() {
+        map.put(breakBlocks, 500);
+        map.put(unregistered, -1);
+        // Flags registered again in another order
+        when(breakBlocks.getOrdinal()).thenReturn(-1);
+        when(unregistered.getOrdinal()).thenReturn(0);
+        AbstractFlagMap.ordinalChanged();
+        assertEquals(500, (int)map.get(breakBlocks));
+        assertEquals(-1, (int)map.get(unregistered));
+        assertEquals(2, map.size());
+        map.put(unregistered, 1);
+        assertEquals(2, map.size());
+        assertEquals(1, (int)map.get(unregistered));
+    }
+
+    /**
+     * Test method for {@link AbstractFlagMap#get(Object)} and {@link AbstractFlagMap#put(Flag, Object)} with a flag
+     * that equals a registered flag but does not have its ordinal.
+     */
+    @Test
+    public void testEqualFlag() {
+        Flag registered = new Flag.Builder("ORDINAL_TEST", Material.STONE).build();
+        registered.setOrdinal(3);
+        Flag copy = new Flag.Builder("ORDINAL_TEST", Material.STONE).build();
+        map.put(registered, 500);
+        assertEquals(500, (int)map.get(copy));
+        assertTrue(map.containsKey(copy));
+        assertEquals(500, (int)map.put(copy, 1000));
+        assertEquals(1, map.size());
+        assertEquals(1000, (int)map.get(registered));
+        assertEquals(1000, (int)map.remove(copy));
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Test method for {@link AbstractFlagMap#relayout()}.
+     */
+    @Test
+    public void testRelayout() {
+        map.put(breakBlocks, 500);
+        when(breakBlocks.getOrdinal()).thenReturn(5);
+        AbstractFlagMap.ordinalChanged();
+        // Reads do not move the entry
+        assertEquals(500, (int)map.get(breakBlocks));
+        Flag[] keys = Whitebox.getInternalState(map, "keys");
+        assertSame(breakBlocks, keys[0]);
+        map.relayout();
+        keys = Whitebox.getInternalState(map, "keys");
+        assertNull(keys[0]);
+        assertSame(breakBlocks, keys[5]);
+        assertEquals(500, (int)map.get(breakBlocks));
+        assertEquals(1, map.size());
+    }
+
+    /**
+     * Test method for {@link FlagCooldownMap#getTime(Flag)}.
+     */
+    @Test
+    public void testCooldownTime() {
+        FlagCooldownMap cooldowns = new FlagCooldownMap();
+        assertEquals(0L, cooldowns.getTime(breakBlocks));
+        cooldowns.put(breakBlocks, 1234L);
+        cooldowns.put(unregistered, 5678L);
+        assertEquals(1234L, cooldowns.getTime(breakBlocks));
+        assertEquals(5678L, cooldowns.getTime(unregistered));
+    }
+}
@@ -0,0 +1,95 @@
+package world.bentobox.bentobox.api.flags;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.api.configuration.WorldSettings;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class WorldFlagTableTest {
+
+    @Mock
+    private GameModeAddon gameMode;
+    @Mock
+    private WorldSettings ws;
+
+    private Map<String, Boolean> worldFlags = new HashMap<>();
+    private WorldFlagTable table;
+
+    @Before
+    public void setUp() {
+        when(gameMode.getWorldSettings()).thenReturn(ws);
+        when(ws.getWorldFlags()).thenReturn(worldFlags);
+        table = new WorldFlagTable(gameMode);
+        table.check();
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link WorldFlagTable#get(int)} and {@link WorldFlagTable#put(int, boolean)}.
+     */
+    @Test
+    public void testPutGet() {
+        assertEquals(WorldFlagTable.UNKNOWN, table.get(0));
+        assertEquals(WorldFlagTable.UNKNOWN, table.get(-1));
+        assertEquals(WorldFlagTable.UNKNOWN, table.get(1000));
+        table.put(0, true);
+        table.put(1, false);
+        table.put(31, true);
+        table.put(32, false);
+        // Grows
+        table.put(1000, true);
+        assertEquals(WorldFlagTable.SET, table.get(0));
+        assertEquals(WorldFlagTable.NOT_SET, table.get(1));
+        assertEquals(WorldFlagTable.UNKNOWN, table.get(2));
+        assertEquals(WorldFlagTable.SET, table.get(31));
+        assertEquals(WorldFlagTable.NOT_SET, table.get(32));
+        assertEquals(WorldFlagTable.SET, table.get(1000));
+        // Changed
+        table.put(0, false);
+        assertEquals(WorldFlagTable.NOT_SET, table.get(0));
+        assertEquals(WorldFlagTable.NOT_SET, table.get(1));
+    }
+
+    /**
+     * Test method for {@link WorldFlagTable#check()}.
+     */
+    @Test
+    public void testCheck() {
+        worldFlags.put("PVP", true);
+        table.put(0, true);
+        table.check();
+        assertEquals(WorldFlagTable.SET, table.get(0));
+        // Flag added to the world flags behind the table's back
+        worldFlags.put("FIRE", false);
+        table.check();
+        assertEquals(WorldFlagTable.UNKNOWN, table.get(0));
+        // World settings reloaded
+        table.put(0, true);
+        WorldSettings reloaded = Mockito.mock(WorldSettings.class);
+        when(reloaded.getWorldFlags()).thenReturn(new HashMap<>(worldFlags));
+        when(gameMode.getWorldSettings()).thenReturn(reloaded);
+        table.check();
+        assertEquals(WorldFlagTable.UNKNOWN, table.get(0));
+    }
+}
@@ -0,0 +1,91 @@
+package world.bentobox.bentobox.api.localization;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.function.UnaryOperator;
+
+import org.junit.Test;
+
+/**
+ * @author tastybento
+ *
+ */
+public class TranslationTemplateTest {
+
+    private static final String[][] VARIABLES = {
+            {},
+            {TextVariables.NAME, "tastybento"},
+            {TextVariables.NAME, "&ctastybento", TextVariables.NUMBER, "3"},
+            {TextVariables.NUMBER, "c 4", TextVariables.NAME, " x&"},
+            {"[unknown]", "something"}
+    };
+
+    private static final String[] TRANSLATIONS = {
+            "",
+            "Hello",
+            "&aHello [name]!",
+            "&a [name] has &b [number] islands",
+            "[name]&[number]",
+            "&[name]",
+            "[name] &aname",
+            "&c[name] [name] [notused] [ not a variable ]",
+            "[[name]] [name"
+    };
+
+    /**
+     * Test method for {@link TranslationTemplate#render(UnaryOperator, String...)}.
+     */
+    @Test
+    public void testRenderSameAsTranslate() {
+        for (String translation : TRANSLATIONS) {
+            TranslationTemplate template = TranslationTemplate.compile(translation);
+            for (String[] variables : VARIABLES) {
+                assertEquals(translation, template.translate(null, variables), template.render(null, variables));
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link TranslationTemplate#render(UnaryOperator, String...)}.
+     */
+    @Test
+    public void testRender() {
+        TranslationTemplate template = TranslationTemplate.compile("&aHello [name]!");
+        assertEquals("§aHello tastybento!", template.render(null, TextVariables.NAME, "tastybento"));
+        assertEquals("§aHello [name]!", template.render(null));
+    }
+
+    /**
+     * Test method for {@link TranslationTemplate#render(UnaryOperator, String...)}.
+     */
+    @Test
+    public void testRenderPlaceholders() {
+        UnaryOperator<String> placeholders = t -> t.replace("%player%", "&btastybento");
+        TranslationTemplate template = TranslationTemplate.compile("&aHello %player% [number]");
+        assertEquals("§aHello §btastybento 3", template.render(placeholders, TextVariables.NUMBER, "3"));
+        // Placeholders are only replaced if there is a player
+        assertEquals("§aHello %player% 3", template.render(null, TextVariables.NUMBER, "3"));
+        // Placeholders in variables
+        template = TranslationTemplate.compile("Hello [name]");
+        assertEquals("Hello §btastybento", template.render(placeholders, TextVariables.NAME, "%player%"));
+    }
+
+    /**
+     * Test method for {@link TranslationTemplate#render(UnaryOperator, String...)}.
+     */
+    @Test
+    public void testRenderOtherVariables() {
+        TranslationTemplate template = TranslationTemplate.compile("Hello {name}");
+        assertEquals("Hello tastybento", template.render(null, "{name}", "tastybento"));
+    }
+
+    /**
+     * Test method for {@link TranslationTemplate#of(String)}.
+     */
+    @Test
+    public void testOf() {
+        TranslationTemplate template = TranslationTemplate.of("&areference [name]");
+        assertEquals("&areference [name]", template.render(t -> "placeholder", TextVariables.NAME, "tastybento"));
+        assertEquals("&areference [name]", template.translate(t -> "placeholder", TextVariables.NAME, "tastybento"));
+    }
+}
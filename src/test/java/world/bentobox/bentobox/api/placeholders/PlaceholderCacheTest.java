@@ -0,0 +1,109 @@
+package world.bentobox.bentobox.api.placeholders;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.api.events.island.IslandEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.objects.Island;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+public class PlaceholderCacheTest {
+
+    @Mock
+    private User user;
+    @Mock
+    private User other;
+    @Mock
+    private Island island;
+
+    private UUID uuid = UUID.randomUUID();
+    private UUID otherUUID = UUID.randomUUID();
+    private PlaceholderCache cache;
+    private AtomicInteger calls = new AtomicInteger();
+    private PlaceholderReplacer replacer = u -> "value" + calls.incrementAndGet();
+
+    @Before
+    public void setUp() {
+        when(user.getUniqueId()).thenReturn(uuid);
+        when(other.getUniqueId()).thenReturn(otherUUID);
+        Map<UUID, Integer> members = new HashMap<>();
+        members.put(uuid, 1000);
+        when(island.getMembers()).thenReturn(members);
+        Map<String, Integer> ttls = new HashMap<>();
+        ttls.put("island_owner", 60);
+        ttls.put("island_name", 0);
+        cache = new PlaceholderCache(ttls);
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link PlaceholderCache#cached(String, String, PlaceholderReplacer)}.
+     */
+    @Test
+    public void testCached() {
+        PlaceholderReplacer cached = cache.cached("bskyblock_island_owner", "island_owner", replacer);
+        assertEquals("value1", cached.onReplace(user));
+        assertEquals("value1", cached.onReplace(user));
+        // Each player has their own values
+        assertEquals("value2", cached.onReplace(other));
+        assertEquals(2, cache.size());
+        // Not cached without a player
+        assertEquals("value3", cached.onReplace(null));
+    }
+
+    /**
+     * Test method for {@link PlaceholderCache#cached(String, String, PlaceholderReplacer)}.
+     */
+    @Test
+    public void testNotCached() {
+        assertSame(replacer, cache.cached("bskyblock_island_name", "island_name", replacer));
+        assertSame(replacer, cache.cached("bskyblock_rank", "rank", replacer));
+        assertSame(replacer, new PlaceholderCache(Collections.emptyMap()).cached("bskyblock_island_owner", "island_owner", replacer));
+    }
+
+    /**
+     * Test method for {@link PlaceholderCache#onIslandEvent(world.bentobox.bentobox.api.events.IslandBaseEvent)}.
+     */
+    @Test
+    public void testOnIslandEvent() {
+        PlaceholderReplacer cached = cache.cached("bskyblock_island_owner", "island_owner", replacer);
+        cached.onReplace(user);
+        cached.onReplace(other);
+        // Event on the user's island
+        cache.onIslandEvent(new IslandEvent(island, UUID.randomUUID(), false, null, Reason.RANK_CHANGE));
+        assertEquals("value3", cached.onReplace(user));
+        assertEquals("value2", cached.onReplace(other));
+        // Island event involving the other player
+        cache.onIslandEvent(new IslandEvent(null, otherUUID, false, null, Reason.ENTER));
+        assertEquals("value3", cached.onReplace(user));
+        assertEquals("value4", cached.onReplace(other));
+        // New island
+        cache.onIslandEvent(new IslandEvent(null, null, false, null, Reason.CREATED));
+        assertEquals(0, cache.size());
+    }
+}
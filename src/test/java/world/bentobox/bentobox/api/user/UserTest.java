@@ -20,6 +20,7 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -110,6 +111,7 @@ public class UserTest {
         when(plugin.getLocalesManager()).thenReturn(lm);
         when(lm.get(any(), any())).thenReturn(TEST_TRANSLATION);
         when(lm.get(any())).thenReturn(TEST_TRANSLATION);
+        when(lm.getTemplate(any(), any(), any())).thenAnswer(invocation -> invocation.getArgument(2, Supplier.class).get());
 
         // Placeholders
         PlaceholdersManager placeholdersManager = mock(PlaceholdersManager.class);
@@ -0,0 +1,128 @@
+package world.bentobox.bentobox.blueprints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.Bukkit;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.blueprints.dataobjects.BlueprintBlock;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest( {Bukkit.class, BentoBox.class} )
+public class BlueprintPastePlanTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private BlockData blockData;
+
+    private Blueprint blueprint;
+
+    @Before
+    public void setUp() {
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.createBlockData(anyString())).thenReturn(blockData);
+        blueprint = new Blueprint();
+        Map<Vector, BlueprintBlock> blocks = new HashMap<>();
+        // Two chunks apart along x, and two sections apart along y
+        blocks.put(new Vector(20, 40, 0), new BlueprintBlock("minecraft:stone"));
+        blocks.put(new Vector(0, 40, 0), new BlueprintBlock("minecraft:stone"));
+        blocks.put(new Vector(1, 0, 0), new BlueprintBlock("minecraft:stone"));
+        blocks.put(new Vector(21, 0, 0), new BlueprintBlock("minecraft:stone"));
+        BlueprintBlock sign = new BlueprintBlock("minecraft:oak_sign");
+        sign.setSignLines(Collections.singletonList("line"));
+        blocks.put(new Vector(0, 1, 0), sign);
+        blueprint.setBlocks(blocks);
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link Blueprint#getPastePlan(BentoBox)}.
+     */
+    @Test
+    public void testPlanIsCached() {
+        BlueprintPastePlan plan = blueprint.getPastePlan(plugin);
+        assertSame(plan, blueprint.getPastePlan(plugin));
+        assertEquals(5, plan.getBlocks().size());
+        assertEquals(0, plan.getAttached().size());
+        // Block data is only parsed once
+        PowerMockito.verifyStatic(Bukkit.class, times(5));
+        Bukkit.createBlockData(anyString());
+        // Setting the blocks again makes a new plan
+        blueprint.setBlocks(new HashMap<>());
+        assertNotSame(plan, blueprint.getPastePlan(plugin));
+    }
+
+    /**
+     * Test method for {@link BlueprintPastePlan.Part#getLayout(int, int)}.
+     */
+    @Test
+    public void testLayoutChunkOrder() {
+        BlueprintPastePlan.Part part = blueprint.getPastePlan(plugin).getBlocks();
+        BlueprintPastePlan.Layout layout = part.getLayout(0, 0);
+        assertEquals(2, layout.getChunks());
+        assertEquals(0, layout.getChunkX(0));
+        assertEquals(1, layout.getChunkX(1));
+        assertEquals(3, layout.getChunkEnd(0));
+        assertEquals(5, layout.getChunkEnd(1));
+        // Lowest section first in each chunk
+        int[] expectedX = {1, 0, 0, 21, 20};
+        int[] expectedY = {0, 1, 40, 0, 40};
+        for (int n = 0; n < part.size(); n++) {
+            assertEquals(expectedX[n], part.getX(layout.get(n)));
+            assertEquals(expectedY[n], part.getY(layout.get(n)));
+        }
+        // Only the sign has a state to set
+        assertEquals("minecraft:oak_sign", part.getState(layout.get(1)).getBlockData());
+        assertNull(part.getState(layout.get(0)));
+        assertSame(blockData, part.getBlockData(layout.get(0)));
+        // Layouts are kept
+        assertSame(layout, part.getLayout(16, -32));
+    }
+
+    /**
+     * Test method for {@link BlueprintPastePlan.Part#getLayout(int, int)} when the paste is not chunk aligned.
+     */
+    @Test
+    public void testLayoutOffset() {
+        BlueprintPastePlan.Part part = blueprint.getPastePlan(plugin).getBlocks();
+        // Pasted at x = 12, so blocks at 0 and 1 are in chunk 0 and blocks at 20 and 21 are in chunk 2
+        BlueprintPastePlan.Layout layout = part.getLayout(12, 0);
+        assertEquals(2, layout.getChunks());
+        assertEquals(0, layout.getChunkX(0));
+        assertEquals(2, layout.getChunkX(1));
+        // Pasted at x = -8, so blocks at 0 and 1 are in chunk 0 and blocks at 20 and 21 are in chunk 1
+        layout = part.getLayout(-8, 0);
+        assertEquals(0, layout.getChunkX(0));
+        assertEquals(1, layout.getChunkX(1));
+    }
+}
@@ -9,6 +9,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.framework;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,6 +23,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -34,6 +39,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.database.objects.Island;
 
@@ -42,7 +48,7 @@ import world.bentobox.bentobox.database.objects.Island;
  *
  */
 @RunWith(PowerMockRunner.class)
-@PrepareForTest( {BentoBox.class, DatabaseSetup.class} )
+@PrepareForTest( {Bukkit.class, BentoBox.class, DatabaseSetup.class} )
 public class DatabaseTest {
 
     @Mock
@@ -96,6 +102,7 @@ public class DatabaseTest {
     @After
     public void tearDown() throws Exception {
         dbSetup = null;
+        Whitebox.setInternalState(Database.class, "disabling", false);
         framework().clearInlineMocks();
     }
 
@@ -209,6 +216,103 @@ public class DatabaseTest {
         checkSevereLog("Could not save object to database! Error: No means no!");
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#saveObjectAsync(java.lang.Object)}.
+     * @throws IntrospectionException
+     * @throws InvocationTargetException
+     * @throws IllegalAccessException
+     */
+    @Test
+    public void testSaveObjectAsyncCoalesced() throws IllegalAccessException, InvocationTargetException, IntrospectionException {
+        BukkitScheduler sch = setUpSaveWindow();
+        when(island.getUniqueId()).thenReturn("xyz");
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        CompletableFuture<Boolean> first = db.saveObjectAsync(island);
+        CompletableFuture<Boolean> second = db.saveObjectAsync(island);
+        // Nothing written yet
+        verify(handler, never()).saveObject(any());
+        verify(sch).runTaskLater(eq(plugin), any(Runnable.class), eq(20L));
+        db.flush();
+        // Written once
+        verify(handler).saveObject(eq(island));
+        assertTrue(first.join());
+        assertTrue(second.join());
+        // Nothing left to write
+        db.flush();
+        verify(handler, times(1)).saveObject(any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#deleteID(java.lang.String)}.
+     * @throws IntrospectionException
+     * @throws InvocationTargetException
+     * @throws IllegalAccessException
+     */
+    @Test
+    public void testDeleteIDDropsPendingSave() throws IllegalAccessException, InvocationTargetException, IntrospectionException {
+        setUpSaveWindow();
+        when(island.getUniqueId()).thenReturn("xyz");
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        CompletableFuture<Boolean> future = db.saveObjectAsync(island);
+        db.deleteID("xyz");
+        assertTrue(future.isDone());
+        db.close();
+        verify(handler, never()).saveObject(any());
+        verify(handler).deleteID(eq("xyz"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#loadObject(java.lang.String)} and
+     * {@link world.bentobox.bentobox.database.Database#objectExists(java.lang.String)} while a save is pending.
+     */
+    @Test
+    public void testPendingSaveIsRead() {
+        setUpSaveWindow();
+        Island newIsland = mock(Island.class);
+        when(newIsland.getUniqueId()).thenReturn("new");
+        when(handler.objectExists(eq("new"))).thenReturn(false);
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        db.saveObjectAsync(newIsland);
+        assertTrue(db.objectExists("new"));
+        assertEquals(newIsland, db.loadObject("new"));
+        db.flush();
+        assertFalse(db.objectExists("new"));
+        assertEquals(island, db.loadObject("new"));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.Database#flushAll()}.
+     * @throws IntrospectionException
+     * @throws InvocationTargetException
+     * @throws IllegalAccessException
+     */
+    @Test
+    public void testFlushAll() throws IllegalAccessException, InvocationTargetException, IntrospectionException {
+        setUpSaveWindow();
+        when(island.getUniqueId()).thenReturn("xyz");
+        Database<Island> db = new Database<Island>(plugin, Island.class);
+        CompletableFuture<Boolean> future = db.saveObjectAsync(island);
+        verify(handler, never()).saveObject(any());
+        Database.flushAll();
+        verify(handler).saveObject(eq(island));
+        assertTrue(future.join());
+        // Saves made while disabling are written straight away
+        db.saveObjectAsync(island);
+        verify(handler, times(2)).saveObject(eq(island));
+    }
+
+    private BukkitScheduler setUpSaveWindow() {
+        Settings settings = mock(Settings.class);
+        when(settings.getDatabaseSaveWindow()).thenReturn(20);
+        when(plugin.getSettings()).thenReturn(settings);
+        when(plugin.isEnabled()).thenReturn(true);
+        PowerMockito.mockStatic(Bukkit.class);
+        BukkitScheduler sch = mock(BukkitScheduler.class);
+        when(sch.runTaskLater(any(), any(Runnable.class), any(Long.class))).thenReturn(mock(BukkitTask.class));
+        when(Bukkit.getScheduler()).thenReturn(sch);
+        return sch;
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.database.Database#objectExists(java.lang.String)}.
      */
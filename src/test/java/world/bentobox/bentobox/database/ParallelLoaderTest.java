@@ -0,0 +1,80 @@
+package world.bentobox.bentobox.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+
+/**
+ * @author tastybento
+ *
+ */
+public class ParallelLoaderTest {
+
+    /**
+     * Test method for {@link ParallelLoader#add(Object)}.
+     */
+    @Test
+    public void testOrder() {
+        List<String> result = new ArrayList<>();
+        try (ParallelLoader<Integer, String> loader = new ParallelLoader<>(i -> {
+            try {
+                // Finish in a random order
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Odd numbers cannot be decoded
+            return i % 2 == 0 ? String.valueOf(i) : null;
+        }, result::add)) {
+            for (int i = 0; i < 1000; i++) {
+                loader.add(i);
+            }
+            loader.finish();
+        }
+        assertEquals(500, result.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(String.valueOf(i * 2), result.get(i));
+        }
+    }
+
+    /**
+     * Test method for {@link ParallelLoader#add(Object)} with many loaders, which share their threads.
+     */
+    @Test
+    public void testSharedThreads() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        for (int n = 0; n < 20; n++) {
+            List<String> result = new ArrayList<>();
+            try (ParallelLoader<Integer, String> loader = new ParallelLoader<>(i -> {
+                threads.add(Thread.currentThread());
+                return String.valueOf(i);
+            }, result::add)) {
+                for (int i = 0; i < 100; i++) {
+                    loader.add(i);
+                }
+                loader.finish();
+            }
+            assertEquals(100, result.size());
+        }
+        assertTrue(threads.size() <= Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 8)));
+    }
+
+    /**
+     * Test method for {@link ParallelLoader#finish()} when nothing was added.
+     */
+    @Test
+    public void testEmpty() {
+        List<String> result = new ArrayList<>();
+        try (ParallelLoader<Integer, String> loader = new ParallelLoader<>(String::valueOf, result::add)) {
+            loader.finish();
+        }
+        assertEquals(0, result.size());
+    }
+}
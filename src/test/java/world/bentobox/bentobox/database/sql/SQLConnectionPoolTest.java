@@ -0,0 +1,102 @@
+package world.bentobox.bentobox.database.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * @author tastybento
+ *
+ */
+public class SQLConnectionPoolTest {
+
+    private SQLConnectionPool pool;
+    private int opened;
+
+    @Before
+    public void setUp() {
+        opened = 0;
+        pool = new SQLConnectionPool(() -> {
+            opened++;
+            return mock(Connection.class);
+        }, 2, 5, 600);
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link SQLConnectionPool#borrow()}.
+     * @throws SQLException
+     */
+    @Test
+    public void testBorrowRelease() throws SQLException {
+        Connection c1 = pool.borrow();
+        Connection c2 = pool.borrow();
+        assertNotEquals(c1, c2);
+        assertEquals(2, opened);
+        pool.release(c1);
+        assertEquals(1, pool.getIdleCount());
+        // The released connection is used again
+        assertSame(c1, pool.borrow());
+        assertEquals(2, opened);
+    }
+
+    /**
+     * Test method for {@link SQLConnectionPool#borrow()} when the connection is no longer alive.
+     * @throws SQLException
+     */
+    @Test
+    public void testBorrowClosedConnection() throws SQLException {
+        Connection c1 = pool.borrow();
+        when(c1.isClosed()).thenReturn(true);
+        when(c1.isValid(anyInt())).thenReturn(false);
+        pool.release(c1);
+        Connection c2 = pool.borrow();
+        assertNotEquals(c1, c2);
+        verify(c1).close();
+        assertEquals(2, opened);
+    }
+
+    /**
+     * Test method for {@link SQLConnectionPool#close()}.
+     * @throws SQLException
+     */
+    @Test
+    public void testClose() throws SQLException {
+        Connection c1 = pool.borrow();
+        Connection c2 = pool.borrow();
+        pool.release(c1);
+        pool.close();
+        verify(c1).close();
+        pool.release(c2);
+        verify(c2).close();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    /**
+     * Test method for {@link SQLConnectionPool#borrow()} when no connection can be made.
+     * @throws SQLException
+     */
+    @Test(expected = SQLException.class)
+    public void testBorrowFail() throws SQLException {
+        pool = new SQLConnectionPool(() -> {
+            throw new SQLException("no connection");
+        }, 1, 5, 600);
+        pool.borrow();
+    }
+}
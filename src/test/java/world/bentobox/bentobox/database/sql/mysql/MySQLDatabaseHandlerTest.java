@@ -8,6 +8,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -17,6 +18,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.PluginManager;
@@ -147,11 +150,36 @@ public class MySQLDatabaseHandlerTest {
         when(resultSet.next()).thenReturn(true, true, true, false);
         when(ps.executeQuery(Mockito.anyString())).thenReturn(resultSet);
         List<Island> objects = handler.loadObjects();
-        verify(ps).executeQuery("SELECT `json` FROM `Islands`");
+        verify(ps).executeQuery("SELECT `json` FROM `Islands` ORDER BY `uniqueId`");
         assertTrue(objects.size() == 3);
         assertEquals("xyz", objects.get(2).getUniqueId());
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#loadObjects()}.
+     * @throws SQLException
+     */
+    @Test
+    public void testLoadObjectsSharedConnectionNotStreamed() throws SQLException {
+        handler.loadObjects();
+        verify(ps, never()).setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#loadObjects()}.
+     * @throws SQLException
+     */
+    @Test
+    public void testLoadObjectsPooledConnectionStreamed() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(pooled.createStatement()).thenReturn(ps);
+        when(dbConn.isPooled()).thenReturn(true);
+        when(dbConn.getConnection()).thenReturn(pooled);
+        handler.loadObjects();
+        verify(ps).setFetchSize(Integer.MIN_VALUE);
+        verify(dbConn).releaseConnection(pooled);
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#loadObjects()}.
      * @throws SQLException
@@ -166,7 +194,7 @@ public class MySQLDatabaseHandlerTest {
         when(resultSet.next()).thenReturn(true, true, true, false);
         when(ps.executeQuery(Mockito.anyString())).thenReturn(resultSet);
         List<Island> objects = handler.loadObjects();
-        verify(ps).executeQuery("SELECT `json` FROM `aIslands`");
+        verify(ps).executeQuery("SELECT `json` FROM `aIslands` ORDER BY `uniqueId`");
         assertTrue(objects.size() == 3);
         assertEquals("xyz", objects.get(2).getUniqueId());
     }
@@ -183,7 +211,7 @@ public class MySQLDatabaseHandlerTest {
         when(resultSet.next()).thenReturn(true, true, true, false);
         when(ps.executeQuery(Mockito.anyString())).thenReturn(resultSet);
         List<Island> objects = handler.loadObjects();
-        verify(ps).executeQuery("SELECT `json` FROM `Islands`");
+        verify(ps).executeQuery("SELECT `json` FROM `Islands` ORDER BY `uniqueId`");
         assertTrue(objects.isEmpty());
         verify(plugin, Mockito.times(3)).logError("Could not load object java.lang.IllegalStateException: Expected BEGIN_OBJECT but was STRING at line 1 column 1 path $");
     }
@@ -200,7 +228,7 @@ public class MySQLDatabaseHandlerTest {
         when(resultSet.next()).thenReturn(true, true, true, false);
         when(ps.executeQuery(Mockito.anyString())).thenReturn(resultSet);
         List<Island> objects = handler.loadObjects();
-        verify(ps).executeQuery("SELECT `json` FROM `Islands`");
+        verify(ps).executeQuery("SELECT `json` FROM `Islands` ORDER BY `uniqueId`");
         assertTrue(objects.isEmpty());
         verify(plugin).logError("Could not load objects SQL error");
 
@@ -331,6 +359,59 @@ public class MySQLDatabaseHandlerTest {
 
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#saveObject(java.lang.Object)}.
+     * @throws SQLException
+     */
+    @Test
+    public void testSaveObjectBatch() throws SQLException {
+        Queue<Runnable> processQueue = Whitebox.getInternalState(handler, "processQueue");
+        Island other = new Island();
+        other.setUniqueId("abc");
+        CompletableFuture<Boolean> first = handler.saveObject(instance);
+        instance.setRange(50);
+        CompletableFuture<Boolean> second = handler.saveObject(instance);
+        CompletableFuture<Boolean> third = handler.saveObject(other);
+        // One flush for all the saves
+        assertEquals(1, processQueue.size());
+        processQueue.poll().run();
+        // Only the last save of the same object is written
+        verify(ps, Mockito.times(2)).addBatch();
+        verify(ps).executeBatch();
+        verify(connection).commit();
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertTrue(third.join());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#saveObject(java.lang.Object)}.
+     * @throws SQLException
+     */
+    @Test
+    public void testSaveObjectBatchFail() throws SQLException {
+        Queue<Runnable> processQueue = Whitebox.getInternalState(handler, "processQueue");
+        when(ps.executeBatch()).thenThrow(new SQLException("fail!"));
+        CompletableFuture<Boolean> future = handler.saveObject(instance);
+        processQueue.poll().run();
+        verify(connection).rollback();
+        verify(plugin).logError(eq("Could not save objects world.bentobox.bentobox.database.objects.Island fail!"));
+        assertFalse(future.join());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#deleteID(java.lang.String)}.
+     */
+    @Test
+    public void testDeleteIDClosesBatch() {
+        Queue<Runnable> processQueue = Whitebox.getInternalState(handler, "processQueue");
+        handler.saveObject(instance);
+        handler.deleteID(UNIQUE_ID);
+        handler.saveObject(instance);
+        // Save, delete, then save again
+        assertEquals(3, processQueue.size());
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.database.sql.mysql.MySQLDatabaseHandler#deleteObject(java.lang.Object)}.
      */
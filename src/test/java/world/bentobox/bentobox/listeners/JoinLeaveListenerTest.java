@@ -10,6 +10,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -21,8 +23,10 @@ import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.PlayerInventory;
@@ -216,6 +220,53 @@ public class JoinLeaveListenerTest {
         Mockito.framework().clearInlineMocks();
     }
 
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerPreLogin(AsyncPlayerPreLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerPreLogin() throws UnknownHostException {
+        UUID uuid = UUID.randomUUID();
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent("tastybento", InetAddress.getLocalHost(), uuid);
+        jll.onPlayerPreLogin(event);
+        verify(pm).prefetch(eq(uuid));
+    }
+
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerPreLogin(AsyncPlayerPreLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerPreLoginDisallowed() throws UnknownHostException {
+        AsyncPlayerPreLoginEvent event = new AsyncPlayerPreLoginEvent("tastybento", InetAddress.getLocalHost(), UUID.randomUUID());
+        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED, "banned");
+        jll.onPlayerPreLogin(event);
+        verify(pm, never()).prefetch(any());
+    }
+
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLogin() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        jll.onPlayerLogin(event);
+        verify(pm, never()).cancelPrefetch(any());
+    }
+
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLoginDenied() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        event.disallow(PlayerLoginEvent.Result.KICK_WHITELIST, "not whitelisted");
+        jll.onPlayerLogin(event);
+        verify(pm).cancelPrefetch(eq(player.getUniqueId()));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerJoin(org.bukkit.event.player.PlayerJoinEvent)}.
      */
@@ -231,6 +282,29 @@ public class JoinLeaveListenerTest {
         verify(pm).setResets(eq(world), any(), eq(0));
     }
 
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLogin() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        jll.onPlayerLogin(event);
+        verify(pm, never()).cancelPrefetch(any());
+    }
+
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLoginDenied() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        event.disallow(PlayerLoginEvent.Result.KICK_WHITELIST, "not whitelisted");
+        jll.onPlayerLogin(event);
+        verify(pm).cancelPrefetch(eq(player.getUniqueId()));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerJoin(org.bukkit.event.player.PlayerJoinEvent)}.
      */
@@ -250,6 +324,29 @@ public class JoinLeaveListenerTest {
         verify(plugin).log("Island protection range changed from 50 to 100 for tastybento due to permission.");
     }
 
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLogin() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        jll.onPlayerLogin(event);
+        verify(pm, never()).cancelPrefetch(any());
+    }
+
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLoginDenied() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        event.disallow(PlayerLoginEvent.Result.KICK_WHITELIST, "not whitelisted");
+        jll.onPlayerLogin(event);
+        verify(pm).cancelPrefetch(eq(player.getUniqueId()));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerJoin(org.bukkit.event.player.PlayerJoinEvent)}.
      */
@@ -269,6 +366,29 @@ public class JoinLeaveListenerTest {
         verify(plugin).log("Island protection range changed from 50 to 10 for tastybento due to permission.");
     }
 
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLogin() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        jll.onPlayerLogin(event);
+        verify(pm, never()).cancelPrefetch(any());
+    }
+
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLoginDenied() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        event.disallow(PlayerLoginEvent.Result.KICK_WHITELIST, "not whitelisted");
+        jll.onPlayerLogin(event);
+        verify(pm).cancelPrefetch(eq(player.getUniqueId()));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerJoin(org.bukkit.event.player.PlayerJoinEvent)}.
      */
@@ -288,6 +408,29 @@ public class JoinLeaveListenerTest {
         verify(plugin).log("Island protection range changed from 50 to 55 for tastybento due to permission.");
     }
 
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLogin() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        jll.onPlayerLogin(event);
+        verify(pm, never()).cancelPrefetch(any());
+    }
+
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLoginDenied() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        event.disallow(PlayerLoginEvent.Result.KICK_WHITELIST, "not whitelisted");
+        jll.onPlayerLogin(event);
+        verify(pm).cancelPrefetch(eq(player.getUniqueId()));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerJoin(org.bukkit.event.player.PlayerJoinEvent)}.
      */
@@ -307,6 +450,29 @@ public class JoinLeaveListenerTest {
         verify(plugin, never()).log("Island protection range changed from 50 to 10 for tastybento due to permission.");
     }
 
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLogin() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        jll.onPlayerLogin(event);
+        verify(pm, never()).cancelPrefetch(any());
+    }
+
+    /**
+     * Test method for {@link JoinLeaveListener#onPlayerLogin(PlayerLoginEvent)}.
+     * @throws UnknownHostException
+     */
+    @Test
+    public void testOnPlayerLoginDenied() throws UnknownHostException {
+        PlayerLoginEvent event = new PlayerLoginEvent(player, "localhost", InetAddress.getLocalHost());
+        event.disallow(PlayerLoginEvent.Result.KICK_WHITELIST, "not whitelisted");
+        jll.onPlayerLogin(event);
+        verify(pm).cancelPrefetch(eq(player.getUniqueId()));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.listeners.JoinLeaveListener#onPlayerJoin(org.bukkit.event.player.PlayerJoinEvent)}.
      */
@@ -45,6 +45,7 @@ import world.bentobox.bentobox.managers.IslandsManager;
 import world.bentobox.bentobox.managers.LocalesManager;
 import world.bentobox.bentobox.managers.PlaceholdersManager;
 import world.bentobox.bentobox.managers.PlayersManager;
+import world.bentobox.bentobox.managers.island.IslandOccupancy;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({Bukkit.class, BentoBox.class, User.class })
@@ -99,6 +100,7 @@ public class LockAndBanListenerTest {
         when(player.isOp()).thenReturn(false);
         // No special perms
         when(player.hasPermission(Mockito.anyString())).thenReturn(false);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
         uuid = UUID.randomUUID();
         when(user.getUniqueId()).thenReturn(uuid);
         when(user.getPlayer()).thenReturn(player);
@@ -176,6 +178,7 @@ public class LockAndBanListenerTest {
         when(im.getProtectedIslandAt(Mockito.eq(inside))).thenReturn(opIsland);
         when(im.getProtectedIslandAt(Mockito.eq(inside2))).thenReturn(opIsland);
         when(im.getProtectedIslandAt(Mockito.eq(outside))).thenReturn(Optional.empty());
+        when(im.getOccupancy()).thenReturn(new IslandOccupancy(im::getProtectedIslandAt));
 
         // Addon
         when(iwm.getAddon(Mockito.any())).thenReturn(Optional.empty());
@@ -364,6 +367,7 @@ public class LockAndBanListenerTest {
         // Create vehicle and put two players in it. One is banned, the other is not
         Vehicle vehicle = mock(Vehicle.class);
         Player player2 = mock(Player.class);
+        when(player2.getUniqueId()).thenReturn(UUID.randomUUID());
         List<Entity> passengers = new ArrayList<>();
         passengers.add(player);
         passengers.add(player2);
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -18,9 +19,13 @@ import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Vehicle;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
+import org.bukkit.event.vehicle.VehicleEnterEvent;
+import org.bukkit.event.vehicle.VehicleExitEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.util.Vector;
 import org.junit.After;
@@ -51,6 +56,7 @@ import world.bentobox.bentobox.managers.IslandsManager;
 import world.bentobox.bentobox.managers.LocalesManager;
 import world.bentobox.bentobox.managers.PlaceholdersManager;
 import world.bentobox.bentobox.managers.PlayersManager;
+import world.bentobox.bentobox.managers.island.IslandOccupancy;
 import world.bentobox.bentobox.util.Util;
 
 /**
@@ -111,6 +117,7 @@ public class EnterExitListenerTest {
         UUID uuid = UUID.randomUUID();
         when(user.getUniqueId()).thenReturn(uuid);
         when(user.getPlayer()).thenReturn(p);
+        when(p.getUniqueId()).thenReturn(uuid);
         when(user.getName()).thenReturn("tastybento");
 
         // No island for player to begin with (set it later in the tests)
@@ -174,6 +181,8 @@ public class EnterExitListenerTest {
         when(im.getProtectedIslandAt(eq(inside))).thenReturn(opIsland);
         when(im.getProtectedIslandAt(eq(inside2))).thenReturn(opIsland);
         when(im.getProtectedIslandAt(eq(outside))).thenReturn(Optional.empty());
+        // Occupancy
+        when(im.getOccupancy()).thenReturn(new IslandOccupancy(im::getProtectedIslandAt));
 
         // Island World Manager
         IslandWorldManager iwm = mock(IslandWorldManager.class);
@@ -379,5 +388,56 @@ public class EnterExitListenerTest {
         verify(pim).callEvent(any(IslandExitEvent.class));
     }
 
+    /**
+     * Test method for {@link EnterExitListener#onVehicleMove(org.bukkit.event.vehicle.VehicleMoveEvent)}.
+     */
+    @Test
+    public void testOnVehicleMoveIntoIsland() {
+        Vehicle vehicle = mock(Vehicle.class);
+        when(vehicle.getPassengers()).thenReturn(Collections.singletonList(user.getPlayer()));
+        listener.onVehicleMove(new VehicleMoveEvent(vehicle, outside, inside));
+        verify(notifier).notify(any(User.class), eq("protection.flags.ENTER_EXIT_MESSAGES.now-entering"));
+        verify(pim).callEvent(any(IslandEnterEvent.class));
+        verify(pim, never()).callEvent(any(IslandExitEvent.class));
+    }
+
+    /**
+     * Test method for {@link EnterExitListener#onVehicleMove(org.bukkit.event.vehicle.VehicleMoveEvent)}.
+     */
+    @Test
+    public void testOnVehicleMoveNoPlayers() {
+        Vehicle vehicle = mock(Vehicle.class);
+        when(vehicle.getPassengers()).thenReturn(Collections.emptyList());
+        listener.onVehicleMove(new VehicleMoveEvent(vehicle, outside, inside));
+        verify(notifier, never()).notify(any(), any());
+        verify(pim, never()).callEvent(any(IslandEnterEvent.class));
+    }
+
+    /**
+     * Test method for {@link EnterExitListener#onVehicleEnter(org.bukkit.event.vehicle.VehicleEnterEvent)}.
+     */
+    @Test
+    public void testOnVehicleEnterOnIsland() {
+        Vehicle vehicle = mock(Vehicle.class);
+        when(vehicle.getLocation()).thenReturn(inside);
+        when(user.getPlayer().getLocation()).thenReturn(outside);
+        listener.onVehicleEnter(new VehicleEnterEvent(vehicle, user.getPlayer()));
+        verify(pim).callEvent(any(IslandEnterEvent.class));
+        verify(pim, never()).callEvent(any(IslandExitEvent.class));
+    }
+
+    /**
+     * Test method for {@link EnterExitListener#onVehicleExit(org.bukkit.event.vehicle.VehicleExitEvent)}.
+     */
+    @Test
+    public void testOnVehicleExitOffIsland() {
+        Vehicle vehicle = mock(Vehicle.class);
+        when(vehicle.getLocation()).thenReturn(inside);
+        when(user.getPlayer().getLocation()).thenReturn(outside);
+        listener.onVehicleExit(new VehicleExitEvent(vehicle, user.getPlayer()));
+        verify(pim).callEvent(any(IslandExitEvent.class));
+        verify(pim, never()).callEvent(any(IslandEnterEvent.class));
+    }
+
     // TODO add tests to make sure the enter/exit messages work properly when on an island the player is part of.
 }
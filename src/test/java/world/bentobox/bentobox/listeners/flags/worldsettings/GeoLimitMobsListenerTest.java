@@ -0,0 +1,216 @@
+package world.bentobox.bentobox.listeners.flags.worldsettings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.ExplosionPrimeEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.managers.IslandWorldManager;
+import world.bentobox.bentobox.managers.IslandsManager;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({BentoBox.class})
+public class GeoLimitMobsListenerTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private IslandWorldManager iwm;
+    @Mock
+    private IslandsManager im;
+    @Mock
+    private Island island;
+    @Mock
+    private World world;
+    @Mock
+    private LivingEntity zombie;
+    @Mock
+    private LivingEntity cow;
+
+    private Location zombieLocation;
+    private List<String> geoLimited;
+    private GeoLimitMobsListener gl;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        when(plugin.getIWM()).thenReturn(iwm);
+        when(plugin.getIslands()).thenReturn(im);
+
+        // World
+        when(world.getName()).thenReturn("bskyblock_world");
+        when(iwm.inWorld(any(Location.class))).thenReturn(true);
+        geoLimited = new ArrayList<>();
+        geoLimited.add(EntityType.ZOMBIE.name());
+        when(iwm.getGeoLimitSettings(eq(world))).thenReturn(geoLimited);
+
+        // Island from -50 to 49
+        when(island.getUniqueId()).thenReturn("island");
+        when(island.getWorld()).thenReturn(world);
+        when(island.getMinProtectedX()).thenReturn(-50);
+        when(island.getMinProtectedZ()).thenReturn(-50);
+        when(island.getProtectionRange()).thenReturn(50);
+        when(im.getIslandAt(any())).thenReturn(Optional.of(island));
+
+        // Mobs
+        zombieLocation = new Location(world, 10, 64, 10);
+        when(zombie.getType()).thenReturn(EntityType.ZOMBIE);
+        when(zombie.getLocation()).thenAnswer(i -> zombieLocation.clone());
+        when(zombie.getLocation(any())).thenAnswer(i -> zombieLocation.clone());
+        when(zombie.isValid()).thenReturn(true);
+        when(cow.getType()).thenReturn(EntityType.COW);
+        when(cow.getLocation()).thenReturn(new Location(world, 0, 64, 0));
+
+        gl = new GeoLimitMobsListener();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link GeoLimitMobsListener#onMobSpawn(CreatureSpawnEvent)}.
+     */
+    @Test
+    public void testOnMobSpawn() {
+        gl.onMobSpawn(new CreatureSpawnEvent(zombie, SpawnReason.NATURAL));
+        assertEquals(1, gl.size());
+        gl.onMobSpawn(new CreatureSpawnEvent(cow, SpawnReason.NATURAL));
+        assertEquals(1, gl.size());
+    }
+
+    /**
+     * Test method for {@link GeoLimitMobsListener#onMobSpawn(CreatureSpawnEvent)}.
+     */
+    @Test
+    public void testOnMobSpawnNotInWorld() {
+        when(iwm.inWorld(any(Location.class))).thenReturn(false);
+        gl.onMobSpawn(new CreatureSpawnEvent(zombie, SpawnReason.NATURAL));
+        assertEquals(0, gl.size());
+    }
+
+    /**
+     * Test method for {@link GeoLimitMobsListener#invalidateEntityTypes()}.
+     */
+    @Test
+    public void testInvalidateEntityTypes() {
+        gl.onMobSpawn(new CreatureSpawnEvent(cow, SpawnReason.NATURAL));
+        assertEquals(0, gl.size());
+        // Same number of settings
+        geoLimited.set(0, EntityType.COW.name());
+        GeoLimitMobsListener.invalidateEntityTypes();
+        gl.onMobSpawn(new CreatureSpawnEvent(cow, SpawnReason.NATURAL));
+        assertEquals(1, gl.size());
+        // Other settings
+        when(iwm.getGeoLimitSettings(eq(world))).thenReturn(Collections.emptyList());
+        gl.onMobSpawn(new CreatureSpawnEvent(zombie, SpawnReason.NATURAL));
+        assertEquals(1, gl.size());
+    }
+
+    /**
+     * Test method for {@link GeoLimitMobsListener#sweep()}.
+     */
+    @Test
+    public void testSweep() {
+        gl.onMobSpawn(new CreatureSpawnEvent(zombie, SpawnReason.NATURAL));
+        gl.sweep();
+        verify(zombie, never()).remove();
+        assertEquals(1, gl.size());
+        // Edge of the island
+        zombieLocation = new Location(world, 49.5, 64, -50);
+        gl.sweep();
+        verify(zombie, never()).remove();
+        // Outside
+        zombieLocation = new Location(world, 50, 64, 0);
+        gl.sweep();
+        verify(zombie).remove();
+        assertEquals(0, gl.size());
+    }
+
+    /**
+     * Test method for {@link GeoLimitMobsListener#sweep()}.
+     */
+    @Test
+    public void testSweepInvalid() {
+        gl.onMobSpawn(new CreatureSpawnEvent(zombie, SpawnReason.NATURAL));
+        when(zombie.isValid()).thenReturn(false);
+        zombieLocation = new Location(world, 50, 64, 0);
+        gl.sweep();
+        verify(zombie, never()).remove();
+        assertEquals(0, gl.size());
+    }
+
+    /**
+     * Test method for {@link GeoLimitMobsListener#onMobDeath(EntityDeathEvent)}.
+     */
+    @Test
+    public void testOnMobDeath() {
+        gl.onMobSpawn(new CreatureSpawnEvent(zombie, SpawnReason.NATURAL));
+        gl.onMobDeath(new EntityDeathEvent(zombie, new ArrayList<>()));
+        assertEquals(0, gl.size());
+        zombieLocation = new Location(world, 50, 64, 0);
+        gl.sweep();
+        verify(zombie, never()).remove();
+    }
+
+    /**
+     * Test method for {@link GeoLimitMobsListener#onProjectileExplode(ExplosionPrimeEvent)}.
+     */
+    @Test
+    public void testOnProjectileExplode() {
+        gl.onMobSpawn(new CreatureSpawnEvent(zombie, SpawnReason.NATURAL));
+        Projectile projectile = mock(Projectile.class);
+        when(projectile.getShooter()).thenReturn(zombie);
+        when(projectile.getLocation()).thenReturn(new Location(world, 0, 64, 0));
+        ExplosionPrimeEvent e = new ExplosionPrimeEvent(projectile, 0, false);
+        gl.onProjectileExplode(e);
+        assertFalse(e.isCancelled());
+        // Outside the island
+        when(projectile.getLocation()).thenReturn(new Location(world, 0, 64, 100));
+        gl.onProjectileExplode(e);
+        assertTrue(e.isCancelled());
+        verify(projectile).remove();
+    }
+}
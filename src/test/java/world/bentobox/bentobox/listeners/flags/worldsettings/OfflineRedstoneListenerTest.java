@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -19,6 +20,7 @@ import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -41,6 +43,7 @@ import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.managers.IslandWorldManager;
 import world.bentobox.bentobox.managers.IslandsManager;
+import world.bentobox.bentobox.managers.RanksManager;
 import world.bentobox.bentobox.util.Util;
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({BentoBox.class, Util.class, Bukkit.class })
@@ -60,6 +63,7 @@ public class OfflineRedstoneListenerTest {
     private IslandWorldManager iwm;
     @Mock
     private Island island;
+    private final UUID member = UUID.randomUUID();
 
     @Before
     public void setUp() throws Exception {
@@ -74,16 +78,19 @@ public class OfflineRedstoneListenerTest {
         when(island.getOwner()).thenReturn(uuid);
         // Add members
         Builder<UUID> set = new ImmutableSet.Builder<>();
-        set.add(UUID.randomUUID());
+        set.add(member);
         set.add(UUID.randomUUID());
         set.add(UUID.randomUUID());
         set.add(UUID.randomUUID());
         when(island.getMemberSet(Mockito.anyInt())).thenReturn(set.build());
+        when(island.getMembers()).thenReturn(new HashMap<>());
+        when(island.getRank(member)).thenReturn(RanksManager.MEMBER_RANK);
 
 
         // Island Manager
         when(plugin.getIslands()).thenReturn(im);
         when(im.getIsland(any(), any(UUID.class))).thenReturn(island);
+        when(im.getIslands()).thenReturn(Collections.singletonList(island));
         Optional<Island> opIsland = Optional.ofNullable(island);
         when(im.getProtectedIslandAt(eq(inside))).thenReturn(opIsland);
 
@@ -208,6 +215,9 @@ public class OfflineRedstoneListenerTest {
         when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
         // On island
         when(island.onIsland(any())).thenReturn(true);
+        Player op = mock(Player.class);
+        when(op.isOp()).thenReturn(true);
+        when(island.getPlayersOnIsland()).thenReturn(Collections.singletonList(op));
 
         orl.onBlockRedstone(e);
         // Current remains 10
@@ -264,4 +274,75 @@ public class OfflineRedstoneListenerTest {
         assertEquals(10, e.getNewCurrent());
     }
 
+    /**
+     * Test method for {@link OfflineRedstoneListener#onPlayerJoin(PlayerJoinEvent)}.
+     */
+    @Test
+    public void testOnBlockRedstoneMemberJoins() {
+        OfflineRedstoneListener orl = new OfflineRedstoneListener();
+        // Offline redstone not allowed
+        Flags.OFFLINE_REDSTONE.setSetting(world, false);
+        // Members are offline
+        when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
+        BlockRedstoneEvent e = new BlockRedstoneEvent(block, 0, 10);
+        orl.onBlockRedstone(e);
+        assertEquals(0, e.getNewCurrent());
+        // A member joins
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(member);
+        when(Bukkit.getPlayer(any(UUID.class))).thenReturn(player);
+        orl.onPlayerJoin(new PlayerJoinEvent(player, "join message"));
+        e = new BlockRedstoneEvent(block, 0, 10);
+        orl.onBlockRedstone(e);
+        // Current remains 10
+        assertEquals(10, e.getNewCurrent());
+    }
+
+    /**
+     * Test method for {@link OfflineRedstoneListener#onPlayerJoin(PlayerJoinEvent)}.
+     */
+    @Test
+    public void testOnBlockRedstoneOtherPlayerJoins() {
+        OfflineRedstoneListener orl = new OfflineRedstoneListener();
+        // Offline redstone not allowed
+        Flags.OFFLINE_REDSTONE.setSetting(world, false);
+        // Members are offline
+        when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
+        BlockRedstoneEvent e = new BlockRedstoneEvent(block, 0, 10);
+        orl.onBlockRedstone(e);
+        assertEquals(0, e.getNewCurrent());
+        // A player who is not a member joins, so the island is not checked again
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(Bukkit.getPlayer(any(UUID.class))).thenReturn(player);
+        orl.onPlayerJoin(new PlayerJoinEvent(player, "join message"));
+        e = new BlockRedstoneEvent(block, 0, 10);
+        orl.onBlockRedstone(e);
+        assertEquals(0, e.getNewCurrent());
+    }
+
+    /**
+     * Test method for {@link OfflineRedstoneListener#onBlockRedstone(BlockRedstoneEvent)} when an online player is
+     * made a coop without an event.
+     */
+    @Test
+    public void testOnBlockRedstoneMembersChanged() {
+        OfflineRedstoneListener orl = new OfflineRedstoneListener();
+        // Offline redstone not allowed
+        Flags.OFFLINE_REDSTONE.setSetting(world, false);
+        // Members are offline
+        when(Bukkit.getPlayer(any(UUID.class))).thenReturn(null);
+        BlockRedstoneEvent e = new BlockRedstoneEvent(block, 0, 10);
+        orl.onBlockRedstone(e);
+        assertEquals(0, e.getNewCurrent());
+        // An online player is made a coop, which replaces the members
+        UUID coop = UUID.randomUUID();
+        when(Bukkit.getPlayer(coop)).thenReturn(mock(Player.class));
+        when(island.getMemberSet(Mockito.anyInt())).thenReturn(ImmutableSet.of(coop));
+        when(island.getMembers()).thenReturn(Collections.singletonMap(coop, RanksManager.COOP_RANK));
+        e = new BlockRedstoneEvent(block, 0, 10);
+        orl.onBlockRedstone(e);
+        assertEquals(10, e.getNewCurrent());
+    }
+
 }
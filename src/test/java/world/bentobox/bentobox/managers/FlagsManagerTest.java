@@ -3,6 +3,7 @@ package world.bentobox.bentobox.managers;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,6 +35,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.flags.Flag;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.util.Util;
@@ -137,6 +139,9 @@ public class FlagsManagerTest {
         FlagsManager fm = new FlagsManager(plugin);
         assertTrue(Flags.values().containsAll(fm.getFlags()));
         assertTrue(fm.getFlags().containsAll(Flags.values()));
+        // Each call gives a new list that can be changed
+        fm.getFlags().clear();
+        assertTrue(fm.getFlags().containsAll(Flags.values()));
     }
 
     /**
@@ -151,4 +156,40 @@ public class FlagsManagerTest {
 
     }
 
+    /**
+     * Test for {@link FlagsManager#getFlagByOrdinal(int)}
+     */
+    @Test
+    public void testGetFlagByOrdinal() {
+        FlagsManager fm = new FlagsManager(plugin);
+        assertEquals(Flags.values().size(), fm.getOrdinalCount());
+        fm.getFlags().forEach(flag -> assertEquals(flag, fm.getFlagByOrdinal(flag.getOrdinal())));
+        assertNull(fm.getFlagByOrdinal(-1));
+        assertNull(fm.getFlagByOrdinal(fm.getOrdinalCount()));
+    }
+
+    /**
+     * Test for {@link FlagsManager#unregister(Addon)}
+     */
+    @Test
+    public void testUnregister() {
+        FlagsManager fm = new FlagsManager(plugin);
+        Addon addon = mock(Addon.class);
+        Flag flag = new Flag.Builder("ORIGINAL", Material.EMERALD_BLOCK).build();
+        assertTrue(fm.registerFlag(addon, flag));
+        int ordinal = flag.getOrdinal();
+        assertEquals(Flags.values().size(), ordinal);
+        fm.unregister(addon);
+        assertFalse(fm.getFlag("ORIGINAL").isPresent());
+        assertFalse(fm.getFlags().contains(flag));
+        assertNull(fm.getFlagByOrdinal(ordinal));
+        assertEquals(-1, flag.getOrdinal());
+        // Registered again, the flag gets the same ordinal
+        Flag again = new Flag.Builder("ORIGINAL", Material.EMERALD_BLOCK).build();
+        assertTrue(fm.registerFlag(addon, again));
+        assertEquals(ordinal, again.getOrdinal());
+        assertEquals(again, fm.getFlagByOrdinal(ordinal));
+        assertEquals(Flags.values().size() + 1, fm.getOrdinalCount());
+    }
+
 }
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -13,6 +14,7 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Comparator;
 
 import org.bukkit.Bukkit;
@@ -21,6 +23,7 @@ import org.bukkit.Server;
 import org.bukkit.World;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -77,6 +80,7 @@ public class IslandDeletionManagerTest {
         PowerMockito.mockStatic(Bukkit.class);
         Server server = mock(Server.class);
         when(server.getWorld(anyString())).thenReturn(world);
+        when(server.getWorlds()).thenReturn(Collections.singletonList(world));
         when(Bukkit.getServer()).thenReturn(server);
         when(Bukkit.getPluginManager()).thenReturn(pim);
         when(server.getPluginManager()).thenReturn(pim);
@@ -196,4 +200,30 @@ public class IslandDeletionManagerTest {
         assertFalse(idm.inDeletion(location));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.IslandDeletionManager#takeChunk()}.
+     */
+    @Test
+    public void testTakeChunk() {
+        when(plugin.getSettings().getDeleteChunksPerTick()).thenReturn(3);
+        BukkitTask task = mock(BukkitTask.class);
+        Runnable[] tick = new Runnable[1];
+        when(scheduler.runTaskTimer(eq(plugin), any(Runnable.class), eq(1L), eq(1L))).thenAnswer(invocation -> {
+            tick[0] = invocation.getArgument(1, Runnable.class);
+            return task;
+        });
+        for (int i = 0; i < 3; i++) {
+            assertTrue(idm.takeChunk());
+        }
+        // The budget of this tick runs out
+        assertFalse(idm.takeChunk());
+        // and comes back in the next tick
+        tick[0].run();
+        assertTrue(idm.takeChunk());
+        // Only one task is started
+        verify(scheduler).runTaskTimer(eq(plugin), any(Runnable.class), eq(1L), eq(1L));
+        idm.shutdown();
+        verify(task).cancel();
+    }
+
 }
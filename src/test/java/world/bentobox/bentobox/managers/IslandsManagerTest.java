@@ -1013,7 +1013,7 @@ public class IslandsManagerTest {
 
         im.shutdown();
 
-        assertEquals(10, members.size());
+        verify(is).removeRank(RanksManager.COOP_RANK);
         verify(islandCache).clear();
     }
 
@@ -1052,11 +1052,13 @@ public class IslandsManagerTest {
         // Add specific coop
         UUID coopUUID = UUID.randomUUID();
         members.put(coopUUID, RanksManager.COOP_RANK);
+        when(is.getRank(any(UUID.class))).thenAnswer(i -> members.getOrDefault(i.getArgument(0, UUID.class), RanksManager.VISITOR_RANK));
         // Clear a random user
-        im.clearRank(RanksManager.COOP_RANK, UUID.randomUUID());
-        assertEquals(14, members.size());
+        UUID randomUUID = UUID.randomUUID();
+        im.clearRank(RanksManager.COOP_RANK, randomUUID);
+        verify(is, never()).removeMember(randomUUID);
         im.clearRank(RanksManager.COOP_RANK, coopUUID);
-        assertEquals(13, members.size());
+        verify(is).removeMember(coopUUID);
     }
 
     /**
@@ -2,6 +2,7 @@ package world.bentobox.bentobox.managers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -36,6 +37,7 @@ import world.bentobox.bentobox.BentoBox;
 import world.bentobox.bentobox.Settings;
 import world.bentobox.bentobox.api.addons.Addon;
 import world.bentobox.bentobox.api.addons.AddonDescription;
+import world.bentobox.bentobox.api.localization.TranslationTemplate;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.util.Util;
 
@@ -188,6 +190,50 @@ public class LocalesManagerTest {
         assertEquals("test string", lm.get(user, "test.test"));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.LocalesManager#getTemplate(User, String, java.util.function.Supplier)}.
+     * @throws IOException
+     */
+    @Test
+    public void testGetTemplate() throws IOException {
+        makeFakeLocaleFile();
+        LocalesManager lm = new LocalesManager(plugin);
+        User user = mock(User.class);
+        when(user.getLocale()).thenReturn(Locale.US);
+        TranslationTemplate template = TranslationTemplate.compile("test string");
+        TranslationTemplate other = TranslationTemplate.compile("other string");
+        assertSame(template, lm.getTemplate(user, "test.test", () -> template));
+        // Cached
+        assertSame(template, lm.getTemplate(user, "test.test", () -> other));
+        // Other locale
+        when(user.getLocale()).thenReturn(Locale.FRANCE);
+        assertSame(other, lm.getTemplate(user, "test.test", () -> other));
+        // Cleared
+        when(user.getLocale()).thenReturn(Locale.US);
+        lm.clearTemplates();
+        assertSame(other, lm.getTemplate(user, "test.test", () -> other));
+        // Cleared when the default language changes
+        when(plugin.getSettings().getDefaultLanguage()).thenReturn(Locale.FRANCE.toLanguageTag());
+        assertSame(template, lm.getTemplate(user, "test.test", () -> template));
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.LocalesManager#getTemplate(User, String, java.util.function.Supplier)}
+     * for a reference that has no translation.
+     * @throws IOException
+     */
+    @Test
+    public void testGetTemplateNoTranslation() throws IOException {
+        makeFakeLocaleFile();
+        LocalesManager lm = new LocalesManager(plugin);
+        User user = mock(User.class);
+        when(user.getLocale()).thenReturn(Locale.US);
+        assertNull(lm.getTemplate(user, "not.a.reference", () -> null));
+        // Not cached
+        TranslationTemplate template = TranslationTemplate.compile("test string");
+        assertSame(template, lm.getTemplate(user, "not.a.reference", () -> template));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.LocalesManager#getOrDefault(world.bentobox.bentobox.api.user.User, java.lang.String, java.lang.String)}.
      * @throws IOException
@@ -240,6 +286,28 @@ public class LocalesManagerTest {
         assertEquals("", lm.getOrDefault(user, "test.test.test", ""));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.LocalesManager#get(world.bentobox.bentobox.api.user.User, java.lang.String)}.
+     * @throws IOException
+     */
+    @Test
+    public void testGetUserStringFallback() throws IOException {
+        makeFakeLocaleFile();
+        LocalesManager lm = new LocalesManager(plugin);
+        lm.getLanguages().get(Locale.US).set("test.english", "english only");
+        lm.clearTemplates();
+        User user = mock(User.class);
+        when(user.getLocale()).thenReturn(Locale.FRANCE);
+        assertEquals("chaîne de test", lm.get(user, "test.test"));
+        assertEquals("english only", lm.get(user, "test.english"));
+        // Translations set later are used once the chains are cleared
+        lm.getLanguages().get(Locale.FRANCE).set("test.english", "français");
+        assertEquals("english only", lm.get(user, "test.english"));
+        lm.clearTemplates();
+        assertEquals("français", lm.get(user, "test.english"));
+        assertEquals("english only", lm.get("test.english"));
+    }
+
 
     /**
      * Test method for {@link world.bentobox.bentobox.managers.LocalesManager#getAvailableLocales(boolean)}.
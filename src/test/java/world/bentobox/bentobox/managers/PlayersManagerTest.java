@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.Map;
 import java.util.UUID;
 import java.util.logging.Logger;
 
@@ -222,6 +223,50 @@ public class PlayersManagerTest {
         pm.addPlayer(uuid);
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#prefetch(java.util.UUID)}.
+     */
+    @Test
+    public void testPrefetch() {
+        PlayersManager pm = new PlayersManager(plugin);
+        pm.prefetch(uuid);
+        // Not in the database
+        assertFalse(pm.isKnown(uuid));
+        assertTrue(pm.getPlayers().isEmpty());
+        pm.addPlayer(uuid);
+        assertTrue(pm.isKnown(uuid));
+        assertEquals(1, pm.getPlayers().size());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#cancelPrefetch(java.util.UUID)}.
+     */
+    @Test
+    public void testCancelPrefetch() {
+        PlayersManager pm = new PlayersManager(plugin);
+        pm.prefetch(uuid);
+        Map<UUID, Long> unknownPlayers = Whitebox.getInternalState(pm, "unknownPlayers");
+        assertTrue(unknownPlayers.containsKey(uuid));
+        pm.cancelPrefetch(uuid);
+        assertTrue(unknownPlayers.isEmpty());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#prefetch(java.util.UUID)} when players
+     * that were looked up before never joined.
+     */
+    @Test
+    public void testPrefetchExpiry() {
+        PlayersManager pm = new PlayersManager(plugin);
+        pm.prefetch(uuid);
+        Map<UUID, Long> unknownPlayers = Whitebox.getInternalState(pm, "unknownPlayers");
+        // Looked up two minutes ago
+        unknownPlayers.put(uuid, System.currentTimeMillis() - 120000L);
+        pm.prefetch(notUUID);
+        assertFalse(unknownPlayers.containsKey(uuid));
+        assertTrue(unknownPlayers.containsKey(notUUID));
+    }
+
     /**
      * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#isKnown(java.util.UUID)}.
      */
@@ -352,4 +397,19 @@ public class PlayersManagerTest {
         //pm.save(uuid);
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.PlayersManager#getLastLogin(UUID)}.
+     */
+    @Test
+    public void testSetGetLastLogin() {
+        PlayersManager pm = new PlayersManager(plugin);
+        pm.setHandler(db);
+        // Not seen yet, so the server's player data is used
+        assertEquals(0L, pm.getLastLogin(uuid));
+        pm.addPlayer(uuid);
+        pm.setLastLogin(uuid, 1234L);
+        assertEquals(1234L, pm.getLastLogin(uuid));
+        assertEquals(1234L, pm.getPlayer(uuid).getLastLogin());
+    }
+
 }
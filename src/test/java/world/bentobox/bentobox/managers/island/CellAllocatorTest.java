@@ -0,0 +1,221 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.database.Database;
+import world.bentobox.bentobox.database.DatabaseSetup.DatabaseType;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.database.objects.IslandCells;
+import world.bentobox.bentobox.managers.IslandDeletionManager;
+import world.bentobox.bentobox.managers.IslandWorldManager;
+import world.bentobox.bentobox.managers.IslandsManager;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class, BentoBox.class})
+public class CellAllocatorTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private World world;
+    @Mock
+    private IslandWorldManager iwm;
+    @Mock
+    private IslandsManager im;
+    @Mock
+    private IslandDeletionManager idm;
+    @Mock
+    private Database<IslandCells> db;
+
+    private CellAllocator cells;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws Exception {
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+        Whitebox.setInternalState(BentoBox.class, "instance", plugin);
+        // Settings
+        Settings s = mock(Settings.class);
+        when(plugin.getSettings()).thenReturn(s);
+        when(s.getDatabaseType()).thenReturn(DatabaseType.JSON);
+        // World
+        when(world.getName()).thenReturn("bskyblock");
+        // IWM
+        when(plugin.getIWM()).thenReturn(iwm);
+        when(iwm.getIslandDistance(eq(world))).thenReturn(100);
+        when(iwm.getIslandHeight(eq(world))).thenReturn(120);
+        when(iwm.getIslandStartX(eq(world))).thenReturn(1000);
+        when(iwm.getIslandStartZ(eq(world))).thenReturn(-1000);
+        // No islands
+        when(plugin.getIslands()).thenReturn(im);
+        when(im.getIslandAt(any())).thenReturn(Optional.empty());
+        when(plugin.getIslandDeletionManager()).thenReturn(idm);
+        // Nothing saved yet
+        when(db.objectExists(anyString())).thenReturn(false);
+
+        cells = new CellAllocator(plugin);
+        Whitebox.setInternalState(cells, "handler", db);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    private Location cell(int x, int z) {
+        return new Location(world, 1000 + x * 200, 120, -1000 + z * 200);
+    }
+
+    /**
+     * Test method for {@link CellAllocator#getCell(long)} and {@link CellAllocator#getIndex(int, int)}.
+     */
+    @Test
+    public void testSpiral() {
+        assertEquals(0, CellAllocator.getIndex(0, 0));
+        Set<Long> ring = new HashSet<>();
+        for (long n = 0; n < 100000; n++) {
+            int[] c = CellAllocator.getCell(n);
+            assertEquals(n, CellAllocator.getIndex(c[0], c[1]));
+            if (n > 0 && n < 9) {
+                assertEquals(1, Math.max(Math.abs(c[0]), Math.abs(c[1])));
+                ring.add(n);
+            }
+        }
+        assertEquals(8, ring.size());
+        // Far out
+        int[] c = CellAllocator.getCell(5_000_000_000L);
+        assertEquals(5_000_000_000L, CellAllocator.getIndex(c[0], c[1]));
+    }
+
+    /**
+     * Test method for {@link CellAllocator#allocate(World)}.
+     */
+    @Test
+    public void testAllocate() {
+        assertEquals(cell(0, 0), cells.allocate(world));
+        assertEquals(cell(1, 0), cells.allocate(world));
+        assertEquals(cell(1, 1), cells.allocate(world));
+    }
+
+    /**
+     * Test method for {@link CellAllocator#allocate(World)}.
+     */
+    @Test
+    public void testAllocateSkipsIslandsAndDeletions() {
+        when(im.getIslandAt(eq(cell(0, 0)))).thenReturn(Optional.of(mock(Island.class)));
+        when(idm.inDeletion(eq(cell(1, 0)))).thenReturn(true);
+        assertEquals(cell(1, 1), cells.allocate(world));
+    }
+
+    /**
+     * Test method for {@link CellAllocator#free(Location)}.
+     */
+    @Test
+    public void testFreeReused() {
+        Location first = cells.allocate(world);
+        Location second = cells.allocate(world);
+        cells.allocate(world);
+        cells.occupy(first);
+        cells.occupy(second);
+        // Deleting the second island lets it be used again before the spiral grows
+        cells.free(second);
+        assertEquals(second, cells.allocate(world));
+        assertEquals(cell(0, 1), cells.allocate(world));
+    }
+
+    /**
+     * Test method for {@link CellAllocator#free(Location)}.
+     */
+    @Test
+    public void testFreeNotHandedOut() {
+        cells.free(cell(5, 5));
+        cells.free(new Location(world, 1001, 120, -1000));
+        assertEquals(cell(0, 0), cells.allocate(world));
+    }
+
+    /**
+     * Test method for {@link CellAllocator#allocate(World)}.
+     */
+    @Test
+    public void testAllocateSaved() {
+        IslandCells data = new IslandCells("bskyblock", 100, 1000, -1000);
+        data.setNext(5);
+        data.setFree(Collections.singletonList(3L));
+        data.setReserved(Collections.singletonList(2L));
+        when(db.objectExists(eq("bskyblock"))).thenReturn(true);
+        when(db.loadObject(eq("bskyblock"))).thenReturn(data);
+        // Reserved before the restart, so it is free
+        int[] c = CellAllocator.getCell(2);
+        assertEquals(cell(c[0], c[1]), cells.allocate(world));
+        c = CellAllocator.getCell(3);
+        assertEquals(cell(c[0], c[1]), cells.allocate(world));
+        c = CellAllocator.getCell(5);
+        assertEquals(cell(c[0], c[1]), cells.allocate(world));
+        assertEquals(6, data.getNext());
+        assertTrue(data.getFree().isEmpty());
+        assertEquals(3, data.getReserved().size());
+    }
+
+    /**
+     * Test method for {@link CellAllocator#allocate(World)}.
+     */
+    @Test
+    public void testAllocateDistanceChanged() {
+        IslandCells data = new IslandCells("bskyblock", 50, 1000, -1000);
+        data.setNext(5);
+        when(db.objectExists(eq("bskyblock"))).thenReturn(true);
+        when(db.loadObject(eq("bskyblock"))).thenReturn(data);
+        assertEquals(cell(0, 0), cells.allocate(world));
+        Mockito.verify(plugin).log("Island distance or start location of bskyblock has changed. Island cells will be looked for again from the start.");
+    }
+
+    /**
+     * Test method for {@link CellAllocator#close()}.
+     */
+    @Test
+    public void testClose() {
+        cells.allocate(world);
+        cells.close();
+        verify(db).close();
+    }
+}
@@ -0,0 +1,91 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author tastybento
+ *
+ */
+public class CellMapTest {
+
+    private CellMap<String> map;
+
+    @Before
+    public void setUp() {
+        map = new CellMap<>();
+    }
+
+    /**
+     * Test method for {@link CellMap#key(int, int)}.
+     */
+    @Test
+    public void testKey() {
+        assertNotEquals(CellMap.key(0, -1), CellMap.key(-1, 0));
+        assertNotEquals(CellMap.key(1, 0), CellMap.key(0, 1));
+        assertEquals(CellMap.key(-5, 7), CellMap.key(-5, 7));
+    }
+
+    /**
+     * Test method for {@link CellMap#put(long, Object)}.
+     */
+    @Test
+    public void testPutGet() {
+        assertNull(map.get(CellMap.key(0, 0)));
+        map.put(CellMap.key(0, 0), "a");
+        map.put(CellMap.key(-1, 3), "b");
+        assertEquals("a", map.get(CellMap.key(0, 0)));
+        assertEquals("b", map.get(CellMap.key(-1, 3)));
+        map.put(CellMap.key(0, 0), "c");
+        assertEquals("c", map.get(CellMap.key(0, 0)));
+        assertEquals(2, map.size());
+    }
+
+    /**
+     * Test method for {@link CellMap#remove(long)}.
+     */
+    @Test
+    public void testRemove() {
+        map.put(CellMap.key(2, 2), "a");
+        assertEquals("a", map.remove(CellMap.key(2, 2)));
+        assertNull(map.remove(CellMap.key(2, 2)));
+        assertNull(map.get(CellMap.key(2, 2)));
+        assertEquals(0, map.size());
+    }
+
+    /**
+     * Test method for {@link CellMap#put(long, Object)} when the table has to grow.
+     */
+    @Test
+    public void testManyEntries() {
+        for (int x = -100; x < 100; x++) {
+            for (int z = -100; z < 100; z++) {
+                map.put(CellMap.key(x, z), x + "," + z);
+            }
+        }
+        for (int x = -100; x < 100; x += 2) {
+            for (int z = -100; z < 100; z++) {
+                map.remove(CellMap.key(x, z));
+            }
+        }
+        assertEquals(20000, map.size());
+        assertNull(map.get(CellMap.key(-100, 5)));
+        assertEquals("-99,5", map.get(CellMap.key(-99, 5)));
+        assertEquals("99,-100", map.get(CellMap.key(99, -100)));
+    }
+
+    /**
+     * Test method for {@link CellMap#clear()}.
+     */
+    @Test
+    public void testClear() {
+        map.put(CellMap.key(1, 1), "a");
+        map.clear();
+        assertNull(map.get(CellMap.key(1, 1)));
+        assertEquals(0, map.size());
+    }
+}
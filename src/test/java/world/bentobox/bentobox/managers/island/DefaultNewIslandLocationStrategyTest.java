@@ -1,19 +1,26 @@
 package world.bentobox.bentobox.managers.island;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitScheduler;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,7 +46,7 @@ import world.bentobox.bentobox.util.Util;
  *
  */
 @RunWith(PowerMockRunner.class)
-@PrepareForTest(Util.class)
+@PrepareForTest({Util.class, Bukkit.class})
 public class DefaultNewIslandLocationStrategyTest {
 
     private DefaultNewIslandLocationStrategy dnils;
@@ -57,9 +64,13 @@ public class DefaultNewIslandLocationStrategyTest {
     @Mock
     private IslandDeletionManager idm;
     @Mock
-    private Block block;
+    private CellAllocator cells;
     @Mock
-    private Block adjBlock;
+    private Chunk chunk;
+    @Mock
+    private ChunkSnapshot snapshot;
+    @Mock
+    private BukkitScheduler scheduler;
 
     private int count;
 
@@ -73,13 +84,11 @@ public class DefaultNewIslandLocationStrategyTest {
         when(location.getWorld()).thenReturn(world);
         when(location.getX()).thenReturn(100D);
         when(location.getZ()).thenReturn(-100D);
-        when(location.getBlock()).thenReturn(block);
-        // Block
-        when(block.getRelative(any())).thenReturn(adjBlock);
-        when(block.getType()).thenReturn(Material.AIR);
-        when(block.isEmpty()).thenReturn(true);
-        when(adjBlock.getType()).thenReturn(Material.AIR);
-        when(adjBlock.isEmpty()).thenReturn(true);
+        when(location.getBlockY()).thenReturn(120);
+        // Chunk
+        when(world.getChunkAt(anyInt(), anyInt())).thenReturn(chunk);
+        when(chunk.getChunkSnapshot()).thenReturn(snapshot);
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenReturn(Material.AIR);
         // Islands manager
         when(plugin.getIslands()).thenReturn(im);
         when(im.getIslandAt(any())).thenReturn(Optional.empty());
@@ -100,8 +109,17 @@ public class DefaultNewIslandLocationStrategyTest {
         when(Util.getClosestIsland(any())).thenAnswer((Answer<Location>) invocation -> invocation.getArgument(0, Location.class));
         // Default is that chunks have been generated
         when(Util.isChunkGenerated(any())).thenReturn(true);
-        // Last island location
-        when(im.getLast(eq(world))).thenReturn(location);
+        // Next island cell
+        when(im.getCellAllocator()).thenReturn(cells);
+        when(cells.allocate(eq(world))).thenReturn(location);
+        // Scheduler runs tasks straight away
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getVersion()).thenReturn("git-Spigot-1.15.2 (MC: 1.15.2)");
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+        when(scheduler.runTask(any(), any(Runnable.class))).thenAnswer(i -> {
+            i.getArgument(1, Runnable.class).run();
+            return null;
+        });
         // Class under test
         dnils = new DefaultNewIslandLocationStrategy();
     }
@@ -128,8 +146,7 @@ public class DefaultNewIslandLocationStrategyTest {
      */
     @Test
     public void testGetNextLocationFailBlocks() {
-        when(adjBlock.getType()).thenReturn(Material.STONE);
-        when(adjBlock.isEmpty()).thenReturn(false);
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenReturn(Material.STONE);
         assertNull(dnils.getNextLocation(world));
         verify(plugin).logError("Could not find a free spot for islands! Is this world empty?");
         verify(plugin).logError("Blocks around center locations: 20 max 20");
@@ -215,8 +232,7 @@ public class DefaultNewIslandLocationStrategyTest {
      */
     @Test
     public void testIsIslandFreeWaterBlocks() {
-        when(adjBlock.getType()).thenReturn(Material.WATER);
-        when(adjBlock.isEmpty()).thenReturn(false);
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenReturn(Material.WATER);
         assertEquals(Result.FREE, dnils.isIsland(location));
     }
 
@@ -225,9 +241,51 @@ public class DefaultNewIslandLocationStrategyTest {
      */
     @Test
     public void testIsIslandBlocksInArea() {
-        when(adjBlock.getType()).thenReturn(Material.STONE);
-        when(adjBlock.isEmpty()).thenReturn(false);
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenReturn(Material.STONE);
         assertEquals(Result.BLOCKS_IN_AREA, dnils.isIsland(location));
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.DefaultNewIslandLocationStrategy#getNextLocationAsync(org.bukkit.World)}.
+     * @throws Exception
+     */
+    @Test
+    public void testGetNextLocationAsync() throws Exception {
+        assertEquals(location, dnils.getNextLocationAsync(world).get(5, TimeUnit.SECONDS));
+        verify(im).setLast(location);
+        verify(im, never()).createIsland(any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.DefaultNewIslandLocationStrategy#getNextLocationAsync(org.bukkit.World)}.
+     */
+    @Test
+    public void testGetNextLocationAsyncChunkNotGenerated() {
+        when(Util.isChunkGenerated(any())).thenReturn(false);
+        assertEquals(location, dnils.getNextLocationAsync(world).getNow(null));
+        verify(world, never()).getChunkAt(anyInt(), anyInt());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.DefaultNewIslandLocationStrategy#getNextLocationAsync(org.bukkit.World)}.
+     * @throws Exception
+     */
+    @Test
+    public void testGetNextLocationAsyncFailBlocks() throws Exception {
+        when(snapshot.getBlockType(anyInt(), anyInt(), anyInt())).thenReturn(Material.STONE);
+        assertNull(dnils.getNextLocationAsync(world).get(5, TimeUnit.SECONDS));
+        verify(plugin).logError("Blocks around center locations: 20 max 20");
+        verify(im, never()).setLast(any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.DefaultNewIslandLocationStrategy#hasBlocks(ChunkSnapshot, int, int, int)}.
+     */
+    @Test
+    public void testHasBlocksEdgeOfChunk() {
+        assertFalse(DefaultNewIslandLocationStrategy.hasBlocks(snapshot, 15, 120, 8));
+        when(snapshot.getBlockType(eq(14), eq(120), eq(8))).thenReturn(Material.STONE);
+        assertTrue(DefaultNewIslandLocationStrategy.hasBlocks(snapshot, 15, 120, 8));
+    }
+
 }
@@ -11,8 +11,15 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -228,6 +235,22 @@ public class IslandCacheTest {
         assertNull(ic.getIslandAt(location2));
     }
 
+    /**
+     * Test for {@link IslandCache#getIslands(World)}
+     */
+    @Test
+    public void testGetIslandsWorld() {
+        assertTrue(ic.getIslands(world).isEmpty());
+        ic.addIsland(island);
+        Collection<Island> islands = ic.getIslands(world);
+        assertEquals(1, islands.size());
+        assertTrue(islands.contains(island));
+        ic.deleteIslandFromCache(island);
+        assertTrue(ic.getIslands(world).isEmpty());
+        // The collection that was returned does not change
+        assertEquals(1, islands.size());
+    }
+
     /**
      * Test for {@link IslandCache#getMembers(World, UUID, int)}
      */
@@ -281,6 +304,73 @@ public class IslandCacheTest {
         assertFalse(ic.hasIsland(world, owner));
     }
 
+    /**
+     * Test for {@link IslandCache#removePlayer(World, UUID)} while other threads read the members of the island
+     * @throws InterruptedException - if interrupted
+     */
+    @Test
+    public void testRemovePlayerConcurrentReads() throws InterruptedException {
+        Island real = new Island();
+        real.setCenter(location);
+        real.setOwner(owner);
+        ic.addIsland(real);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        ic.getMembers(world, owner, RanksManager.MEMBER_RANK);
+                        real.getMemberSet();
+                        real.getRank(owner);
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        try {
+            for (int i = 0; i < 500; i++) {
+                Map<UUID, Integer> team = new HashMap<>();
+                team.put(owner, RanksManager.OWNER_RANK);
+                List<UUID> members = new ArrayList<>();
+                for (int m = 0; m < 10; m++) {
+                    UUID member = UUID.randomUUID();
+                    members.add(member);
+                    team.put(member, RanksManager.MEMBER_RANK);
+                }
+                real.setMembers(team);
+                real.setOwner(owner);
+                ic.setOwner(real, owner);
+                members.forEach(m -> ic.addPlayer(m, real));
+                members.forEach(m -> ic.removePlayer(world, m));
+                assertEquals(Collections.singleton(owner), real.getMemberSet());
+                ic.removePlayer(world, owner);
+                assertTrue(real.getMembers().isEmpty());
+                assertNull(real.getOwner());
+            }
+        } finally {
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+        assertNull(error.get());
+    }
+
+    /**
+     * Test for {@link IslandCache#addPlayer(UUID, Island)} with an island that is not in a world
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddPlayerNullWorld() {
+        when(Util.getWorld(Mockito.any())).thenReturn(null);
+        when(island.getWorld()).thenReturn(null);
+        ic.addPlayer(UUID.randomUUID(), island);
+    }
+
     /**
      * Test for {@link IslandCache#size()}
      */
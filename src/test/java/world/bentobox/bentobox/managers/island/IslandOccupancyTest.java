@@ -0,0 +1,180 @@
+package world.bentobox.bentobox.managers.island;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.managers.island.IslandOccupancy.Transition;
+
+/**
+ * @author tastybento
+ *
+ */
+public class IslandOccupancyTest {
+
+    private IslandOccupancy occupancy;
+    private Island island;
+    private Island island2;
+    private Player player;
+    private UUID uuid;
+    private World world;
+    private Location onIsland;
+    private Location onIsland2;
+    private Location outside;
+    private int lookups;
+
+    @Before
+    public void setUp() {
+        world = mock(World.class);
+        island = mock(Island.class);
+        when(island.getUniqueId()).thenReturn("island1");
+        island2 = mock(Island.class);
+        when(island2.getUniqueId()).thenReturn("island2");
+        uuid = UUID.randomUUID();
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(uuid);
+        onIsland = location(0);
+        onIsland2 = location(1000);
+        outside = location(500);
+        when(island.onIsland(onIsland)).thenReturn(true);
+        when(island2.onIsland(onIsland2)).thenReturn(true);
+        lookups = 0;
+        occupancy = new IslandOccupancy(l -> {
+            lookups++;
+            if (l == onIsland) {
+                return Optional.of(island);
+            }
+            return l == onIsland2 ? Optional.of(island2) : Optional.empty();
+        });
+    }
+
+    private Location location(int x) {
+        Location l = mock(Location.class);
+        when(l.getWorld()).thenReturn(world);
+        when(l.getBlockX()).thenReturn(x);
+        return l;
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link IslandOccupancy#move(Player, Location, Location)}.
+     */
+    @Test
+    public void testMove() {
+        // Enter
+        Transition t = occupancy.move(player, outside, onIsland);
+        assertNull(t.getFrom());
+        assertSame(island, t.getTo());
+        assertSame(island, occupancy.getIsland(uuid));
+        assertTrue(occupancy.getOccupants(island).contains(uuid));
+        // Move to another island
+        t = occupancy.move(player, onIsland, onIsland2);
+        assertSame(island, t.getFrom());
+        assertSame(island2, t.getTo());
+        assertTrue(occupancy.getOccupants(island).isEmpty());
+        assertTrue(occupancy.getOccupants(island2).contains(uuid));
+        // Leave
+        t = occupancy.move(player, onIsland2, outside);
+        assertSame(island2, t.getFrom());
+        assertNull(t.getTo());
+        assertNull(occupancy.getIsland(uuid));
+        assertTrue(occupancy.getOccupants(island2).isEmpty());
+        // Stay outside
+        assertNull(occupancy.move(player, outside, outside));
+    }
+
+    /**
+     * Test method for {@link IslandOccupancy#getIslandAt(Player, Location)}.
+     */
+    @Test
+    public void testGetIslandAtCached() {
+        assertSame(island, occupancy.getIslandAt(player, onIsland).get());
+        assertEquals(1, lookups);
+        // Same block
+        assertSame(island, occupancy.getIslandAt(player, onIsland).get());
+        // Moving does not look up the island again
+        assertNull(occupancy.move(player, onIsland, onIsland));
+        assertEquals(1, lookups);
+        // Another block on the same island
+        Location l = location(1);
+        when(island.onIsland(l)).thenReturn(true);
+        assertSame(island, occupancy.getIslandAt(player, l).get());
+        assertEquals(1, lookups);
+        // Off the island
+        assertFalse(occupancy.getIslandAt(player, outside).isPresent());
+        assertEquals(2, lookups);
+    }
+
+    /**
+     * Test method for {@link IslandOccupancy#place(Player, Location)}.
+     */
+    @Test
+    public void testPlace() {
+        occupancy.place(player, onIsland);
+        assertSame(island, occupancy.getIsland(uuid));
+        // No transition when moving on the same island
+        assertNull(occupancy.move(player, onIsland, onIsland));
+    }
+
+    /**
+     * Test method for {@link IslandOccupancy#remove(UUID)}.
+     */
+    @Test
+    public void testRemove() {
+        Player other = mock(Player.class);
+        UUID otherUUID = UUID.randomUUID();
+        when(other.getUniqueId()).thenReturn(otherUUID);
+        occupancy.place(player, onIsland);
+        occupancy.place(other, onIsland);
+        assertEquals(2, occupancy.getOccupants(island).size());
+        occupancy.remove(uuid);
+        assertEquals(1, occupancy.getOccupants(island).size());
+        assertTrue(occupancy.getOccupants(island).contains(otherUUID));
+        assertNull(occupancy.getIsland(uuid));
+    }
+
+    /**
+     * Test method for {@link IslandOccupancy#forget(Island)}.
+     */
+    @Test
+    public void testForget() {
+        occupancy.place(player, onIsland);
+        occupancy.forget(island);
+        assertNull(occupancy.getIsland(uuid));
+        assertTrue(occupancy.getOccupants(island).isEmpty());
+        // The island is looked up again
+        occupancy.getIslandAt(player, onIsland);
+        assertEquals(2, lookups);
+    }
+
+    /**
+     * Test method for {@link IslandOccupancy#clear()}.
+     */
+    @Test
+    public void testClear() {
+        occupancy.place(player, onIsland);
+        occupancy.clear();
+        assertNull(occupancy.getIsland(uuid));
+        assertTrue(occupancy.getOccupants(island).isEmpty());
+    }
+}
@@ -1,17 +1,24 @@
 package world.bentobox.bentobox.managers.island;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -95,6 +102,8 @@ public class NewIslandTest {
     private UUID uuid = UUID.randomUUID();
     @Mock
     private BlueprintsManager bpm;
+    @Mock
+    private CellAllocator cells;
 
     /**
      * @throws java.lang.Exception
@@ -105,7 +114,8 @@ public class NewIslandTest {
         // Islands manager
         when(plugin.getIslands()).thenReturn(im);
         when(im.createIsland(any(), any())).thenReturn(island);
-        when(im.getLast(any())).thenReturn(location);
+        when(im.getCellAllocator()).thenReturn(cells);
+        when(cells.allocate(any())).thenReturn(location);
         when(im.getIsland(any(), any(User.class))).thenReturn(island);
         when(island.isReserved()).thenReturn(true);
         // Player's manager
@@ -181,6 +191,7 @@ public class NewIslandTest {
     public void testBuilderNoUser(){
         try {
             NewIsland.builder().build();
+            fail("Island should not be made");
         } catch (Exception e) {
             assertEquals("Insufficient parameters. Must have a user!", e.getMessage());
         }
@@ -333,4 +344,49 @@ public class NewIslandTest {
         verify(plugin).logError("New island for user tastybento was not reserved!");
     }
 
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.NewIsland.Builder#buildAsync()} when the search
+     * for a free spot fails.
+     */
+    @Test
+    public void testBuildAsyncSearchFails() {
+        // Run tasks straight away
+        when(scheduler.runTask(any(BentoBox.class), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        });
+        NewIslandLocationStrategy strategy = mock(NewIslandLocationStrategy.class);
+        CompletableFuture<Location> search = new CompletableFuture<>();
+        when(strategy.getNextLocationAsync(any())).thenReturn(search);
+        CompletableFuture<Island> result = NewIsland.builder().addon(addon).name(NAME).player(user)
+                .reason(Reason.CREATE).locationStrategy(strategy).buildAsync();
+        assertFalse(result.isDone());
+        verify(im).setCreating(eq(uuid), eq(true));
+        search.completeExceptionally(new IllegalStateException("chunk load failed"));
+        verify(im).setCreating(eq(uuid), eq(false));
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            assertEquals("commands.island.create.unable-create-island", e.getCause().getMessage());
+        }
+        verify(im, never()).createIsland(any(), any());
+    }
+
+    /**
+     * Test method for {@link world.bentobox.bentobox.managers.island.NewIsland#builder()} when the island cannot be
+     * added to the grid.
+     */
+    @Test
+    public void testBuilderCreateIslandFails() {
+        when(im.createIsland(any(), any())).thenReturn(null);
+        try {
+            NewIsland.builder().addon(addon).name(NAME).player(user).reason(Reason.CREATE).build();
+            fail("Island should not be made");
+        } catch (IOException e) {
+            assertEquals("commands.island.create.unable-create-island", e.getMessage());
+        }
+        // The reserved cell is given back
+        verify(cells).free(eq(location));
+    }
 }
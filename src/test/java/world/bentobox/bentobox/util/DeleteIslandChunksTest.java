@@ -0,0 +1,197 @@
+package world.bentobox.bentobox.util;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import io.papermc.lib.PaperLib;
+import world.bentobox.bentobox.BentoBox;
+import world.bentobox.bentobox.Settings;
+import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.api.events.island.IslandEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandDeletedEvent;
+import world.bentobox.bentobox.api.events.island.IslandEvent.IslandEventBuilder;
+import world.bentobox.bentobox.api.events.island.IslandEvent.Reason;
+import world.bentobox.bentobox.database.objects.IslandDeletion;
+import world.bentobox.bentobox.managers.IslandDeletionManager;
+import world.bentobox.bentobox.managers.IslandWorldManager;
+
+/**
+ * @author tastybento
+ *
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Bukkit.class, IslandEvent.class, PaperLib.class})
+public class DeleteIslandChunksTest {
+
+    @Mock
+    private BentoBox plugin;
+    @Mock
+    private Settings settings;
+    @Mock
+    private IslandWorldManager iwm;
+    @Mock
+    private IslandDeletionManager idm;
+    @Mock
+    private ChunkRegenerator regenerator;
+    @Mock
+    private GameModeAddon addon;
+    @Mock
+    private World world;
+    @Mock
+    private Chunk chunk;
+    @Mock
+    private IslandDeletion di;
+    @Mock
+    private BukkitScheduler scheduler;
+    @Mock
+    private BukkitTask task;
+    @Mock
+    private IslandEventBuilder builder;
+
+    private Runnable tick;
+
+    @Before
+    public void setUp() {
+        // One chunk a tick
+        when(plugin.getSettings()).thenReturn(settings);
+        when(settings.getDeleteSpeed()).thenReturn(20);
+        when(plugin.getIslandDeletionManager()).thenReturn(idm);
+        when(idm.takeChunk()).thenReturn(true);
+        when(idm.getRegenerator()).thenReturn(regenerator);
+        when(regenerator.regenerate(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(plugin.getIWM()).thenReturn(iwm);
+        when(iwm.getAddon(any())).thenReturn(Optional.of(addon));
+        // Island is 2 x 2 chunks
+        when(di.getWorld()).thenReturn(world);
+        when(di.getMinXChunk()).thenReturn(0);
+        when(di.getMaxXChunk()).thenReturn(1);
+        when(di.getMinZChunk()).thenReturn(0);
+        when(di.getMaxZChunk()).thenReturn(1);
+        when(world.getName()).thenReturn("bskyblock_world");
+        // Chunks
+        PowerMockito.mockStatic(PaperLib.class);
+        when(PaperLib.isChunkGenerated(any(World.class), anyInt(), anyInt())).thenReturn(true);
+        when(PaperLib.getChunkAtAsync(any(World.class), anyInt(), anyInt())).thenReturn(CompletableFuture.completedFuture(chunk));
+        // Scheduler
+        PowerMockito.mockStatic(Bukkit.class);
+        when(Bukkit.getScheduler()).thenReturn(scheduler);
+        when(Bukkit.isPrimaryThread()).thenReturn(true);
+        when(scheduler.runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong())).thenAnswer(invocation -> {
+            tick = invocation.getArgument(1, Runnable.class);
+            return task;
+        });
+        // Events
+        PowerMockito.mockStatic(IslandEvent.class);
+        when(IslandEvent.builder()).thenReturn(builder);
+        when(builder.deletedIslandInfo(any())).thenReturn(builder);
+        when(builder.reason(any())).thenReturn(builder);
+        when(builder.build()).thenReturn(mock(IslandDeletedEvent.class));
+    }
+
+    @After
+    public void tearDown() {
+        Mockito.framework().clearInlineMocks();
+    }
+
+    /**
+     * Test method for {@link DeleteIslandChunks#DeleteIslandChunks(BentoBox, IslandDeletion)}.
+     */
+    @Test
+    public void testDeleteAll() {
+        new DeleteIslandChunks(plugin, di);
+        for (int i = 0; i < 4; i++) {
+            tick.run();
+        }
+        verify(regenerator, times(4)).regenerate(eq(addon), eq(chunk), eq(di));
+        verify(builder).reason(eq(Reason.DELETED));
+        verify(task).cancel();
+    }
+
+    /**
+     * Test method for {@link DeleteIslandChunks#DeleteIslandChunks(BentoBox, IslandDeletion)} when the deletion
+     * was stopped part way through.
+     */
+    @Test
+    public void testResumeFromProgress() {
+        when(di.getProgress()).thenReturn(2);
+        new DeleteIslandChunks(plugin, di);
+        tick.run();
+        tick.run();
+        // Chunk positions 0 and 1 were done before, so only the chunks at x = 1 are regenerated
+        PowerMockito.verifyStatic(PaperLib.class, never());
+        PaperLib.getChunkAtAsync(any(World.class), eq(0), anyInt());
+        PowerMockito.verifyStatic(PaperLib.class);
+        PaperLib.getChunkAtAsync(any(World.class), eq(1), eq(0));
+        PowerMockito.verifyStatic(PaperLib.class);
+        PaperLib.getChunkAtAsync(any(World.class), eq(1), eq(1));
+        verify(regenerator, times(2)).regenerate(eq(addon), eq(chunk), eq(di));
+        verify(builder).reason(eq(Reason.DELETED));
+        verify(task).cancel();
+    }
+
+    /**
+     * Test method for {@link DeleteIslandChunks#DeleteIslandChunks(BentoBox, IslandDeletion)} when a chunk cannot
+     * be regenerated.
+     */
+    @Test
+    public void testFailedChunk() {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("generator failed"));
+        when(regenerator.regenerate(any(), any(), any())).thenReturn(failed, CompletableFuture.completedFuture(null));
+        new DeleteIslandChunks(plugin, di);
+        for (int i = 0; i < 4; i++) {
+            tick.run();
+        }
+        verify(plugin).logError(eq("Could not regenerate chunk 0,0 in bskyblock_world"));
+        // The deletion carries on and finishes
+        verify(regenerator, times(4)).regenerate(eq(addon), eq(chunk), eq(di));
+        verify(builder).reason(eq(Reason.DELETED));
+        verify(task).cancel();
+    }
+
+    /**
+     * Test method for {@link DeleteIslandChunks#DeleteIslandChunks(BentoBox, IslandDeletion)} when a chunk is still
+     * being regenerated.
+     */
+    @Test
+    public void testWaitsForChunks() {
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(regenerator.regenerate(any(), any(), any())).thenReturn(pending, CompletableFuture.completedFuture(null));
+        new DeleteIslandChunks(plugin, di);
+        for (int i = 0; i < 6; i++) {
+            tick.run();
+        }
+        // Not done until the first chunk is
+        verify(builder, never()).reason(eq(Reason.DELETED));
+        pending.complete(null);
+        verify(builder).reason(eq(Reason.DELETED));
+        verify(task).cancel();
+        verify(plugin, never()).logError(anyString());
+    }
+}